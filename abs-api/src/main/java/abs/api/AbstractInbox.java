@@ -31,9 +31,14 @@ public class AbstractInbox implements Inbox {
 	@Override
 	public <V> Future<V> post(final Envelope envelope, final Object receiver) {
 		final Opener opener = opener(envelope, receiver);
-		onOpen(envelope, opener, receiver);
-		open(opener, envelope, receiver);
-		return envelope.response();
+		final Envelope previous = ContextThread.currentEnvelope();
+		try {
+			onOpen(envelope, opener, receiver);
+			open(opener, envelope, receiver);
+		} finally {
+			ContextThread.currentEnvelope(previous);
+		}
+		return SimpleEnvelope.requestedResponse(envelope);
 	}
 
 	/** {@inheritDoc} */
@@ -55,13 +60,10 @@ public class AbstractInbox implements Inbox {
 	 *            a {@link java.lang.Object} object.
 	 */
 	protected void onOpen(Envelope envelope, Opener opener, Object receiver) {
-		synchronized (envelope) {
-			Actor ref = (Actor) envelope.to();
-			if (ref instanceof ContextActor) {
-				ContextActor cref = (ContextActor) ref;
-				cref.bind(EnvelopeContext.of(envelope, context));
-			}
-		}
+		// Current on this thread for an opener that opens on the
+		// same thread; a thread that runs the message later sets
+		// it again. post() restores the previous one.
+		ContextThread.currentEnvelope(envelope);
 	}
 
 	/**
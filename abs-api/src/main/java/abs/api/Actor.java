@@ -2,8 +2,10 @@ package abs.api;
 
 import java.net.URI;
 import java.time.Duration;
-import java.util.concurrent.Callable;
-import java.util.function.Predicate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -19,8 +21,9 @@ import java.util.function.Supplier;
  * <p>
  * This interface in this version exposes methods as {@code ask} which
  * allows to capture the result of the message into a future value.
- * However, to have the model of {@code tell} in actor (fire and
- * forget), simply the result of the message can be ignored.
+ * To have the model of {@code tell} in actor (fire and forget),
+ * {@link #tell(Object, Object)} sends a message without any
+ * response.
  * 
  * @see Reference
  * @see MethodReference
@@ -129,6 +132,7 @@ public interface Actor extends Reference {
     /**
      * Sends a message to a reference.
      *
+     * @see Configuration#PROPERTY_ENVELOPE_POOLING
      * @param <V> the type of the future value of the response of
      *        the message
      * @param to the receiver of the message that can be either
@@ -136,14 +140,123 @@ public interface Actor extends Reference {
      *        itself
      * @param message the message itself
      * @return the future value to capture the result of the
-     *         message
+     *         message; with envelope pooling, its future is only
+     *         created on its first use
      */
     default <V> Response<V> send(Object to, Object message) {
       final Reference from = self();
       final Reference toRef = reference(to);
-      final Envelope envelope = new SimpleEnvelope(from, toRef, message);
-      context().execute(() -> context().router().route(envelope));
-      return envelope.response();
+      final Context context = context();
+      final Envelope envelope = context.newEnvelope(from, toRef, message);
+      // The envelope may be recycled once it is routed
+      final Response<V> response = SimpleEnvelope.senderResponse(envelope);
+      context.route(envelope);
+      return response;
+    }
+
+    /**
+     * Sends a message to a reference with a deadline on the clock
+     * of the context. The deadline only orders the envelope; it is
+     * processed even if the deadline has passed and then counted
+     * as a missed deadline of the receiver.
+     *
+     * @see Envelope#deadline()
+     * @see Mailbox#deadlines()
+     * @param <V> the type of the future value of the response of
+     *        the message
+     * @param to the receiver of the message that can be either
+     *        the {@link Reference} to the receiver or the object
+     *        itself
+     * @param message the message itself
+     * @param deadline the deadline of the message, e.g.
+     *        <code>context().now().plusMillis(10)</code>
+     * @return the future value to capture the result of the
+     *         message
+     */
+    default <V> Response<V> send(Object to, Object message, Instant deadline) {
+      final Reference from = self();
+      final Reference toRef = reference(to);
+      final Context context = context();
+      final Envelope envelope = context.newEnvelope(from, toRef, message, deadline);
+      // The envelope may be recycled once it is routed
+      final Response<V> response = SimpleEnvelope.senderResponse(envelope);
+      context.route(envelope);
+      return response;
+    }
+
+    /**
+     * Sends a message to a reference without any response (fire
+     * and forget). Different from {@link #send(Object, Object)},
+     * no response is created or completed for the message; thus,
+     * the result or a failure of the message is not available to
+     * the sender.
+     *
+     * @see Envelope#isOneWay()
+     * @param to the receiver of the message that can be either
+     *        the {@link Reference} to the receiver or the object
+     *        itself
+     * @param message the message itself
+     */
+    default void tell(Object to, Object message) {
+      final Reference from = self();
+      final Reference toRef = reference(to);
+      final Context context = context();
+      context.route(context.newEnvelope(from, toRef, message, true));
+    }
+
+    /**
+     * Sends the same message to a number of receivers in one
+     * routing operation. Every receiver gets its own envelope;
+     * thus, the message should be safe to be processed by all
+     * receivers.
+     *
+     * @see Context#route(List)
+     * @param <V> the type of the future value of the response of
+     *        the message for every receiver
+     * @param to the receivers of the message each of which can be
+     *        either the {@link Reference} to the receiver or the
+     *        object itself
+     * @param message the message itself
+     * @return the aggregated response that completes with the
+     *         values of all receivers in the order of
+     *         <code>to</code> or fails with the first failure
+     */
+    default <V> Response<List<V>> multicast(Collection<?> to, Object message) {
+      final Reference from = self();
+      final Context context = context();
+      final MulticastResponse<V> responses = new MulticastResponse<>(to.size());
+      final List<Envelope> envelopes = new ArrayList<>(to.size());
+      int index = 0;
+      for (Object receiver : to) {
+        final Envelope envelope = context.newEnvelope(from, reference(receiver), message);
+        // The envelope may be recycled once it is routed
+        responses.add(index++, envelope);
+        envelopes.add(envelope);
+      }
+      context.route(envelopes);
+      return responses;
+    }
+
+    /**
+     * Sends the same message to a number of receivers in one
+     * routing operation without any response. This is the
+     * fire-and-forget variant of
+     * {@link #multicast(Collection, Object)}.
+     *
+     * @see #tell(Object, Object)
+     * @param to the receivers of the message each of which can be
+     *        either the {@link Reference} to the receiver or the
+     *        object itself
+     * @param message the message itself
+     */
+    default void broadcast(Collection<?> to, Object message) {
+      final Reference from = self();
+      final Context context = context();
+      final List<Envelope> envelopes = new ArrayList<>(to.size());
+      for (Object receiver : to) {
+        envelopes.add(context.newEnvelope(from, reference(receiver), message, true));
+      }
+      context.route(envelopes);
     }
     
     /**
@@ -186,7 +299,7 @@ public interface Actor extends Reference {
       final Reference from = self();
       final Reference toRef = reference(to);
       final Envelope envelope = new AwaitEnvelope(from, toRef, message);
-      context().execute(() -> context().router().route(envelope));
+      context().route(envelope);
       envelope.response().await(deadline);
       return envelope.response();
     }
@@ -196,7 +309,9 @@ public interface Actor extends Reference {
      * the sense that the await property holds on a "boolean"
      * expression encapsulated as an instance of {@link Supplier}.
      * Awaits continues until the supplier provides a
-     * <code>true</code> value.
+     * <code>true</code> value. No thread is blocked while the
+     * condition does not hold; the condition is evaluated again
+     * by the receiver on completion of the previous evaluation.
      * 
      * @param to the receiver of the message
      * @param condition the supplier of a boolean condition
@@ -204,20 +319,9 @@ public interface Actor extends Reference {
      *         value
      */
     default Response<Boolean> await(Object to, Supplier<Boolean> condition) {
-      final Predicate<Supplier<Boolean>> predicate = supplier -> {
-        Boolean currentValue = supplier.get();
-        if (currentValue != null && currentValue.booleanValue()) {
-          return true;
-        }
-        return await(to, condition).getValue().booleanValue();
-      };
-      final Callable<Boolean> message = () -> Boolean.valueOf(predicate.test(condition));
       final Reference from = self();
       final Reference toRef = reference(to);
-      final Envelope envelope = new AwaitEnvelope(from, toRef, message);
-      context().execute(() -> context().router().route(envelope));
-      context().execute(() -> envelope.response().await(null));
-      return envelope.response();
+      return new AwaitCondition(context(), from, toRef, condition).send();
     }
     
     /**
@@ -248,30 +352,27 @@ public interface Actor extends Reference {
 
 	/**
 	 * Provides the sender of the <i>current</i> message that is being
-	 * invoked/processed by the receiver object.
+	 * invoked/processed by the receiver object. The current message
+	 * is kept by the thread that runs it; thus, this should be used
+	 * by the receiver on the thread that processes the message.
 	 * 
 	 * @see Context
 	 * @see ContextActor
-	 * @see EnvelopeContext
 	 * 
 	 * @return the sender of the current message or {@link #NOBODY} if
 	 *         there is no sender for this message
 	 */
 	default Reference senderReference() {
+		final Envelope envelope = ContextThread.currentEnvelope();
+		if (envelope == null || envelope.from() == null) {
+			return NOBODY;
+		}
 		try {
+			// Only the receiver of the current message has a sender
+			final Reference to = envelope.to();
 			final Reference ref = self();
-			if (ref instanceof ContextActor) {
-				ContextActor caref = (ContextActor) ref;
-				Context context = caref.context();
-				if (context != null || context instanceof EnvelopeContext) {
-					return ((EnvelopeContext) context).sender();
-				}
-			}
-			if (!NOBODY.equals(this)) {
-				Context context = context();
-				if (context != null && context instanceof EnvelopeContext) {
-					return ((EnvelopeContext) context).sender();
-				}
+			if (to != null && ref != null && (to == ref || to.name().equals(ref.name()))) {
+				return envelope.from();
 			}
 		} catch (Exception e) {
 			// Ignore
@@ -0,0 +1,90 @@
+package abs.api;
+
+/**
+ * Options of a single actor that are given when the actor is
+ * created with {@link Context#newActor(String, Object, ActorOptions)}
+ * . An option that is not set falls back to the configuration
+ * of the {@link Context}.
+ *
+ * <pre>
+ * context.newActor("hot", object, ActorOptions.newOptions().withThroughput(256));
+ * </pre>
+ */
+public final class ActorOptions {
+
+  /**
+   * The options with nothing set; i.e. the actor uses the
+   * configuration of its context.
+   */
+  public static final ActorOptions DEFAULT = new ActorOptions();
+
+  private int throughput = 0;
+  private int mailboxCapacity = 0;
+  private Backpressure backpressure = null;
+
+  private ActorOptions() {}
+
+  /**
+   * Creates a new set of options.
+   *
+   * @return the new options
+   */
+  public static ActorOptions newOptions() {
+    return new ActorOptions();
+  }
+
+  /**
+   * @see Configuration#PROPERTY_THROUGHPUT
+   * @param throughput the maximum number of envelopes the actor
+   *        processes in one scheduling turn
+   * @return these options
+   */
+  public ActorOptions withThroughput(int throughput) {
+    if (throughput < 1) {
+      throw new IllegalArgumentException("Throughput should be positive: " + throughput);
+    }
+    this.throughput = throughput;
+    return this;
+  }
+
+  /**
+   * @return the throughput of the actor or <code>0</code> if
+   *         not set
+   */
+  public int getThroughput() {
+    return throughput;
+  }
+
+  /**
+   * @see Configuration#PROPERTY_MAILBOX_CAPACITY
+   * @param capacity the maximum number of pending envelopes of
+   *        the actor
+   * @param backpressure the policy when the mailbox is full
+   * @return these options
+   */
+  public ActorOptions withMailboxCapacity(int capacity, Backpressure backpressure) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Mailbox capacity should be positive: " + capacity);
+    }
+    this.mailboxCapacity = capacity;
+    this.backpressure = backpressure;
+    return this;
+  }
+
+  /**
+   * @return the mailbox capacity of the actor or <code>0</code>
+   *         if not set
+   */
+  public int getMailboxCapacity() {
+    return mailboxCapacity;
+  }
+
+  /**
+   * @return the backpressure policy of the actor or
+   *         <code>null</code> if not set
+   */
+  public Backpressure getBackpressure() {
+    return backpressure;
+  }
+
+}
@@ -0,0 +1,148 @@
+package abs.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of a single actor in a {@link Context}.
+ * The statistics are collected from the creation of the actor's
+ * inbox and may be read from any thread.
+ *
+ * @see Context#statistics(Object)
+ */
+public final class ActorStatistics {
+
+  private final long created = System.nanoTime();
+  private final LongAdder guardEvaluations = new LongAdder();
+  private final AtomicInteger pendingGuards = new AtomicInteger(0);
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder blocked = new LongAdder();
+  private final LongAdder deadlines = new LongAdder();
+  private final LongAdder missedDeadlines = new LongAdder();
+  private final LongAccumulator maxLateness = new LongAccumulator(Math::max, 0);
+
+  ActorStatistics() {}
+
+  /**
+   * @return the number of times a pending guard of an await on
+   *         the actor has been evaluated
+   */
+  public long getGuardEvaluations() {
+    return guardEvaluations.sum();
+  }
+
+  /**
+   * @return the average number of guard evaluations per second
+   *         since the statistics were created
+   */
+  public double getGuardEvaluationsPerSecond() {
+    final long elapsed = Math.max(1, System.nanoTime() - created);
+    return (double) getGuardEvaluations() / elapsed * TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /**
+   * @return the number of guards of awaits on the actor that do
+   *         not hold yet
+   */
+  public int getPendingGuards() {
+    return pendingGuards.get();
+  }
+
+  /**
+   * @return the number of envelopes rejected by the bounded
+   *         mailbox of the actor
+   * @see Backpressure#FAIL
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * @return the number of envelopes dropped by the bounded
+   *         mailbox of the actor
+   * @see Backpressure#DROP_OLDEST
+   * @see Backpressure#DROP_NEWEST
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return the number of times a sender is blocked by the
+   *         bounded mailbox of the actor
+   * @see Backpressure#BLOCK
+   */
+  public long getBlocked() {
+    return blocked.sum();
+  }
+
+  /**
+   * @return the number of processed envelopes to the actor that
+   *         have a deadline
+   * @see Envelope#deadline()
+   */
+  public long getDeadlines() {
+    return deadlines.sum();
+  }
+
+  /**
+   * @return the number of envelopes to the actor that completed
+   *         after their deadline
+   * @see Envelope#deadline()
+   */
+  public long getMissedDeadlines() {
+    return missedDeadlines.sum();
+  }
+
+  /**
+   * @return the longest time in milliseconds by which an
+   *         envelope to the actor missed its deadline
+   */
+  public long getMaxLateness() {
+    return maxLateness.get();
+  }
+
+  void onGuardEvaluations(int count) {
+    guardEvaluations.add(count);
+  }
+
+  void onGuardAdded() {
+    pendingGuards.incrementAndGet();
+  }
+
+  void onGuardRemoved() {
+    pendingGuards.decrementAndGet();
+  }
+
+  void onRejected() {
+    rejected.increment();
+  }
+
+  void onDropped() {
+    dropped.increment();
+  }
+
+  void onBlocked() {
+    blocked.increment();
+  }
+
+  void onDeadline(long lateness) {
+    deadlines.increment();
+    if (lateness > 0) {
+      missedDeadlines.increment();
+      maxLateness.accumulate(lateness);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ActorStatistics[guardEvaluations=" + getGuardEvaluations() + ",pendingGuards="
+        + getPendingGuards() + ",rejected=" + getRejected() + ",dropped=" + getDropped()
+        + ",blocked=" + getBlocked() + ",deadlines=" + getDeadlines() + ",missedDeadlines="
+        + getMissedDeadlines() + "]";
+  }
+
+}
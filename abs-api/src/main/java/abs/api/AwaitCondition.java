@@ -0,0 +1,103 @@
+package abs.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * An await on a "boolean" condition that never blocks a thread.
+ * The condition is first evaluated as an {@link AwaitEnvelope}
+ * by the receiver. If the condition does not hold, it becomes a
+ * pending guard of the receiver's {@link ObjectInbox} which
+ * evaluates it again only after the receiver has processed
+ * other messages; see {@link ObjectInbox#addGuard(AwaitCondition)}
+ * . When the condition holds, the response of the await is
+ * completed.
+ *
+ * @see Actor#await(Object, Supplier)
+ */
+final class AwaitCondition implements Callable<Boolean>, BiConsumer<Boolean, Throwable> {
+
+  private final Context context;
+  private final Reference from;
+  private final Reference to;
+  private final Supplier<Boolean> condition;
+  private final ContextResponse<Boolean> response = new ContextResponse<>(true);
+
+  /**
+   * Ctor
+   *
+   * @param context the context to route the evaluations
+   * @param from the awaiting actor
+   * @param to the actor that evaluates the condition
+   * @param condition the condition
+   */
+  AwaitCondition(Context context, Reference from, Reference to, Supplier<Boolean> condition) {
+    this.context = context;
+    this.from = from;
+    this.to = to;
+    this.condition = condition;
+  }
+
+  /**
+   * Sends an evaluation of the condition to the receiver.
+   *
+   * @return the response that completes when the condition
+   *         holds
+   */
+  Response<Boolean> send() {
+    final Envelope envelope = new AwaitEnvelope(from, to, this);
+    final CompletableFuture<Boolean> evaluation =
+        (CompletableFuture<Boolean>) envelope.<Boolean>response();
+    evaluation.whenComplete(this);
+    context.route(envelope);
+    return response;
+  }
+
+  /**
+   * Evaluates the condition as a guard on the thread that runs
+   * the receiver and completes the response if it holds or
+   * fails.
+   *
+   * @return <code>true</code> if the guard is no longer pending
+   */
+  boolean test() {
+    try {
+      final Boolean value = condition.get();
+      if (value != null && value.booleanValue()) {
+        response.complete(Boolean.TRUE);
+        return true;
+      }
+      return false;
+    } catch (Throwable e) {
+      response.completeExceptionally(e);
+      return true;
+    }
+  }
+
+  @Override
+  public Boolean call() throws Exception {
+    return condition.get();
+  }
+
+  @Override
+  public void accept(Boolean value, Throwable error) {
+    if (error != null) {
+      response.completeExceptionally(error);
+      return;
+    }
+    if (value != null && value.booleanValue()) {
+      response.complete(Boolean.TRUE);
+      return;
+    }
+    final Inbox inbox = context.inbox(to);
+    if (inbox instanceof ContextInbox) {
+      ((ContextInbox) inbox).inbox(context.object(to)).addGuard(this);
+      return;
+    }
+    // No guard registry: evaluate again
+    send();
+  }
+
+}
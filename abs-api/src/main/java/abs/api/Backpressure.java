@@ -0,0 +1,44 @@
+package abs.api;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The policy of a bounded mailbox of an actor when an envelope
+ * is sent to it while it is full.
+ *
+ * @see ActorOptions#withMailboxCapacity(int, Backpressure)
+ * @see ConfigurationBuilder#withMailboxCapacity(int, Backpressure)
+ * @see ActorStatistics
+ */
+public enum Backpressure {
+
+  /**
+   * The sender is blocked until it reserves a slot of the
+   * mailbox; every envelope that is taken off the mailbox hands
+   * its slot to one blocked sender. A sender that is the
+   * receiver itself is never blocked. Note that actors that
+   * block on each other's mailboxes may deadlock.
+   */
+  BLOCK,
+
+  /**
+   * The response of the envelope fails right away with a
+   * {@link RejectedExecutionException}.
+   */
+  FAIL,
+
+  /**
+   * The oldest envelope in the mailbox is dropped when the actor
+   * takes its next envelope; its response is cancelled with a
+   * {@link CancellationException}.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The sent envelope is dropped; its response is cancelled with
+   * a {@link CancellationException}.
+   */
+  DROP_NEWEST
+
+}
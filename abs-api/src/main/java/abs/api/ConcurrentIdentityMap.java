@@ -0,0 +1,231 @@
+package abs.api;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map that compares its keys by identity. The map
+ * is split into stripes by the identity hash of the keys. Every
+ * stripe is an open-addressing table that keeps keys and values
+ * next to each other in one array; thus, an entry costs two
+ * array slots and no node object. Reads are lock-free; a write
+ * only locks the stripe of its key.
+ *
+ * <p>
+ * A removed entry leaves a tombstone so that a concurrent read
+ * that probes past it still finds the entries after it. A
+ * tombstone is never reused for another key; thus, a read never
+ * sees the value of another key in the slot it matched.
+ * Tombstones are dropped when the stripe is resized, which may
+ * also shrink the stripe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class ConcurrentIdentityMap<K, V> {
+
+  /**
+   * A single stripe of the map. A write is only done under the
+   * monitor of the stripe and the table is replaced as a whole
+   * on resize; a read only uses the volatile table.
+   */
+  private static final class Stripe {
+    private volatile AtomicReferenceArray<Object> table;
+    // Guarded by this
+    private int size = 0;
+    private int tombstones = 0;
+
+    Stripe(int capacity) {
+      this.table = new AtomicReferenceArray<>(2 * capacity);
+    }
+  }
+
+  private static final Object TOMBSTONE = new Object();
+  private static final int MIN_CAPACITY = 16;
+
+  private final Stripe[] stripes;
+  private final int stripeShift;
+
+  /**
+   * Ctor
+   *
+   * @param expectedSize the expected number of entries
+   */
+  ConcurrentIdentityMap(int expectedSize) {
+    final int n = Integer.highestOneBit(
+        Math.max(1, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+    this.stripes = new Stripe[n];
+    this.stripeShift = 32 - Integer.numberOfTrailingZeros(n);
+    final int capacity = capacityFor(Math.max(1, expectedSize / n));
+    for (int i = 0; i < n; ++i) {
+      stripes[i] = new Stripe(capacity);
+    }
+  }
+
+  /**
+   * @param key the key
+   * @return the value of the key or <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  V get(Object key) {
+    final int h = hash(key);
+    final AtomicReferenceArray<Object> table = stripe(h).table;
+    final int mask = (table.length() >> 1) - 1;
+    for (int i = h & mask;; i = (i + 1) & mask) {
+      final Object k = table.get(2 * i);
+      if (k == key) {
+        return (V) table.get(2 * i + 1);
+      }
+      if (k == null) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * @param key the key
+   * @param value the value; not <code>null</code>
+   * @return the previous value of the key or <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  V put(K key, V value) {
+    final int h = hash(key);
+    final Stripe stripe = stripe(h);
+    synchronized (stripe) {
+      AtomicReferenceArray<Object> table = stripe.table;
+      if (2 * (stripe.size + stripe.tombstones + 1) > table.length() >> 1) {
+        table = resize(stripe, stripe.size + 1);
+      }
+      final int mask = (table.length() >> 1) - 1;
+      for (int i = h & mask;; i = (i + 1) & mask) {
+        final Object k = table.get(2 * i);
+        if (k == key) {
+          final Object previous = table.get(2 * i + 1);
+          table.set(2 * i + 1, value);
+          return (V) previous;
+        }
+        if (k == null) {
+          // The value is visible before the key
+          table.set(2 * i + 1, value);
+          table.set(2 * i, key);
+          stripe.size++;
+          return null;
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes a key only if it is mapped to a value.
+   *
+   * @param key the key
+   * @param value the expected value compared by identity
+   * @return <code>true</code> if the entry is removed
+   */
+  boolean remove(Object key, Object value) {
+    return remove(key, value, true) != null;
+  }
+
+  /**
+   * @param key the key
+   * @return the removed value or <code>null</code>
+   */
+  V remove(Object key) {
+    return remove(key, null, false);
+  }
+
+  /**
+   * @return the number of entries
+   */
+  long size() {
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes all entries.
+   */
+  void clear() {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.table = new AtomicReferenceArray<>(2 * MIN_CAPACITY);
+        stripe.size = 0;
+        stripe.tombstones = 0;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V remove(Object key, Object expected, boolean conditional) {
+    final int h = hash(key);
+    final Stripe stripe = stripe(h);
+    synchronized (stripe) {
+      final AtomicReferenceArray<Object> table = stripe.table;
+      final int mask = (table.length() >> 1) - 1;
+      for (int i = h & mask;; i = (i + 1) & mask) {
+        final Object k = table.get(2 * i);
+        if (k == null) {
+          return null;
+        }
+        if (k == key) {
+          final Object previous = table.get(2 * i + 1);
+          if (conditional && previous != expected) {
+            return null;
+          }
+          table.set(2 * i, TOMBSTONE);
+          table.set(2 * i + 1, null);
+          stripe.size--;
+          stripe.tombstones++;
+          return (V) previous;
+        }
+      }
+    }
+  }
+
+  private AtomicReferenceArray<Object> resize(Stripe stripe, int size) {
+    final AtomicReferenceArray<Object> old = stripe.table;
+    final AtomicReferenceArray<Object> table = new AtomicReferenceArray<>(2 * capacityFor(size));
+    final int mask = (table.length() >> 1) - 1;
+    for (int j = 0; j < old.length(); j += 2) {
+      final Object k = old.get(j);
+      if (k == null || k == TOMBSTONE) {
+        continue;
+      }
+      int i = hash(k) & mask;
+      while (table.get(2 * i) != null) {
+        i = (i + 1) & mask;
+      }
+      table.lazySet(2 * i + 1, old.get(j + 1));
+      table.lazySet(2 * i, k);
+    }
+    // Published with the volatile write of the table
+    stripe.table = table;
+    stripe.tombstones = 0;
+    return table;
+  }
+
+  private Stripe stripe(int h) {
+    return stripes[h >>> stripeShift];
+  }
+
+  /**
+   * @param size the number of entries
+   * @return a power of two capacity with a load factor of at
+   *         most one half for the entries
+   */
+  private static int capacityFor(int size) {
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size) * 4 - 1));
+  }
+
+  private static int hash(Object key) {
+    // Spreads the identity hash over both the stripe (high) and
+    // the slot (low) bits
+    final int h = System.identityHashCode(key) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
@@ -1,5 +1,6 @@
 package abs.api;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
@@ -36,6 +37,86 @@ public interface Configuration {
    */
   String PROPERTY_THREAD_MANAGEMENT = PROPERTY_PREFIX + "enableThreadManagement";
 
+  /**
+   * The number of ordered routing lanes of a context. Envelopes
+   * are routed on a lane selected by their receiver and thus
+   * the order of envelopes from a sender to a receiver is
+   * preserved. By default, it is the number of available
+   * processors.
+   */
+  String PROPERTY_ROUTING_LANES = PROPERTY_PREFIX + "routingLanes";
+
+  /**
+   * If enabled, an envelope sent from a {@link ContextThread} is
+   * routed directly on the sending thread instead of a routing
+   * lane.
+   */
+  String PROPERTY_DIRECT_ROUTING = PROPERTY_PREFIX + "enableDirectRouting";
+
+  /**
+   * The maximum number of envelopes an actor processes in one
+   * scheduling turn before it yields its thread to other actors.
+   * By default, it is 64.
+   */
+  String PROPERTY_THROUGHPUT = PROPERTY_PREFIX + "throughput";
+
+  /**
+   * If enabled, envelopes and their runners are recycled from
+   * pools of the sending and running threads and the future of
+   * the response of a send is only created on its first use; the
+   * response is then not a {@link java.util.concurrent.CompletableFuture}
+   * but provides one with
+   * {@link java.util.concurrent.CompletionStage#toCompletableFuture()}.
+   * Only applies when logging and remote messaging are disabled.
+   * Note that an envelope is recycled once processed; thus, it
+   * should not be kept beyond its message.
+   */
+  String PROPERTY_ENVELOPE_POOLING = PROPERTY_PREFIX + "enableEnvelopePooling";
+
+  /**
+   * The time in milliseconds after which an actor with an empty
+   * and idle inbox is passivated. By default, it is 0 and actors
+   * are never passivated.
+   */
+  String PROPERTY_PASSIVATION_TTL = PROPERTY_PREFIX + "passivationTtl";
+
+  /**
+   * The maximum number of pending envelopes of an actor. By
+   * default, it is 0 and mailboxes are unbounded.
+   */
+  String PROPERTY_MAILBOX_CAPACITY = PROPERTY_PREFIX + "mailboxCapacity";
+
+  /**
+   * The {@link Backpressure} policy of a full mailbox. By
+   * default, it is {@link Backpressure#FAIL}.
+   */
+  String PROPERTY_BACKPRESSURE = PROPERTY_PREFIX + "backpressure";
+
+  /**
+   * The number of threads that run the actors in the order of
+   * the earliest deadline of their envelopes. By default, it is
+   * 0 and actors run on a cached thread pool without regard to
+   * deadlines.
+   */
+  String PROPERTY_DEADLINE_THREADS = PROPERTY_PREFIX + "deadlineThreads";
+
+  /**
+   * The number of workers that run the actors on work-stealing
+   * deques. By default, it is 0 and actors run on a cached
+   * thread pool. It cannot be used together with
+   * {@link #PROPERTY_DEADLINE_THREADS}.
+   */
+  String PROPERTY_WORK_STEALING_THREADS = PROPERTY_PREFIX + "workStealingThreads";
+
+  /**
+   * The number of shards each of which runs a fixed partition of
+   * the actors on its own thread. By default, it is 0 and actors
+   * are not sharded. It cannot be used together with
+   * {@link #PROPERTY_DEADLINE_THREADS} or
+   * {@link #PROPERTY_WORK_STEALING_THREADS}.
+   */
+  String PROPERTY_SHARDS = PROPERTY_PREFIX + "shards";
+
   /**
    * Provides the router of the context.
    *
@@ -111,6 +192,105 @@ public interface Configuration {
    */
   boolean isThreadManagementEnabled();
 
+  /**
+   * The number of routing lanes.
+   * 
+   * @see #PROPERTY_ROUTING_LANES
+   * @return the number of ordered routing lanes of the context
+   */
+  int getRoutingLanes();
+
+  /**
+   * Is direct routing enabled?
+   * 
+   * @see #PROPERTY_DIRECT_ROUTING
+   * @return <code>true</code> if envelopes sent from a
+   *         {@link ContextThread} are routed on the sending
+   *         thread
+   */
+  boolean isDirectRoutingEnabled();
+
+  /**
+   * The throughput of an actor.
+   * 
+   * @see #PROPERTY_THROUGHPUT
+   * @return the maximum number of envelopes an actor processes
+   *         in one scheduling turn
+   */
+  int getThroughput();
+
+  /**
+   * If envelopes are pooled.
+   * 
+   * @see #PROPERTY_ENVELOPE_POOLING
+   * @return <code>true</code> if envelopes and their runners are
+   *         recycled
+   */
+  boolean isEnvelopePoolingEnabled();
+
+  /**
+   * The passivation TTL of an idle actor.
+   * 
+   * @see #PROPERTY_PASSIVATION_TTL
+   * @return the time after which an idle actor is passivated
+   *         or {@link Duration#ZERO} if actors are never
+   *         passivated
+   */
+  Duration getPassivationTtl();
+
+  /**
+   * The passivator of idle actors.
+   * 
+   * @see #getPassivationTtl()
+   * @return the {@link Passivator} of the context
+   */
+  Passivator getPassivator();
+
+  /**
+   * The mailbox capacity of an actor.
+   * 
+   * @see #PROPERTY_MAILBOX_CAPACITY
+   * @return the maximum number of pending envelopes of an actor
+   *         or <code>0</code> if unbounded
+   */
+  int getMailboxCapacity();
+
+  /**
+   * The policy of a full mailbox.
+   * 
+   * @see #PROPERTY_BACKPRESSURE
+   * @return the {@link Backpressure} of a full mailbox
+   */
+  Backpressure getBackpressure();
+
+  /**
+   * The number of threads of deadline scheduling.
+   * 
+   * @see #PROPERTY_DEADLINE_THREADS
+   * @return the number of threads that run actors in the order
+   *         of the earliest deadline or <code>0</code> if
+   *         deadline scheduling is disabled
+   */
+  int getDeadlineThreads();
+
+  /**
+   * The number of workers of work-stealing scheduling.
+   * 
+   * @see #PROPERTY_WORK_STEALING_THREADS
+   * @return the number of workers with their own deques or
+   *         <code>0</code> if work stealing is disabled
+   */
+  int getWorkStealingThreads();
+
+  /**
+   * The number of shards of the actors.
+   * 
+   * @see #PROPERTY_SHARDS
+   * @return the number of shards or <code>0</code> if actors are
+   *         not sharded
+   */
+  int getShards();
+
   /**
    * Creates an instance of {@link abs.api.ConfigurationBuilder}
    * to build an instance of {@link abs.api.Configuration}.
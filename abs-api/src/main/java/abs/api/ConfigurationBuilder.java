@@ -1,8 +1,10 @@
 package abs.api;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 /**
  * A simple builder pattern for {@link Configuration}
@@ -16,10 +18,31 @@ public final class ConfigurationBuilder {
   private Router envelopeRouter = new LocalRouter();
   private Opener envelopeOpener = new DefaultOpener();
   private Inbox inbox;
+  private static final Supplier<Mailbox> DEFAULT_MAILBOX = Mailbox::lockFree;
+
+  private Supplier<Mailbox> mailbox = DEFAULT_MAILBOX;
   private ReferenceFactory referenceFactory = ReferenceFactory.DEFAULT;
   private boolean isLoggingEnabled = false;
   private String logPath = LoggingRouter.DEFAULT_LOG_PATH;
   private boolean isRemoteEnabled = false;
+  private int routingLanes = Integer.getInteger(Configuration.PROPERTY_ROUTING_LANES,
+      Runtime.getRuntime().availableProcessors());
+  private boolean isDirectRoutingEnabled =
+      Boolean.getBoolean(Configuration.PROPERTY_DIRECT_ROUTING);
+  private int throughput =
+      Integer.getInteger(Configuration.PROPERTY_THROUGHPUT, ObjectInbox.DEFAULT_THROUGHPUT);
+  private boolean isEnvelopePoolingEnabled =
+      Boolean.getBoolean(Configuration.PROPERTY_ENVELOPE_POOLING);
+  private Duration passivationTtl =
+      Duration.ofMillis(Long.getLong(Configuration.PROPERTY_PASSIVATION_TTL, 0));
+  private Passivator passivator = Passivator.NONE;
+  private int mailboxCapacity = Integer.getInteger(Configuration.PROPERTY_MAILBOX_CAPACITY, 0);
+  private Backpressure backpressure = Backpressure
+      .valueOf(System.getProperty(Configuration.PROPERTY_BACKPRESSURE, Backpressure.FAIL.name()));
+  private int deadlineThreads = Integer.getInteger(Configuration.PROPERTY_DEADLINE_THREADS, 0);
+  private int workStealingThreads =
+      Integer.getInteger(Configuration.PROPERTY_WORK_STEALING_THREADS, 0);
+  private int shards = Integer.getInteger(Configuration.PROPERTY_SHARDS, 0);
 
   ConfigurationBuilder() {}
 
@@ -38,6 +61,11 @@ public final class ConfigurationBuilder {
     return this;
   }
 
+  public ConfigurationBuilder withMailbox(Supplier<Mailbox> mailbox) {
+    this.mailbox = mailbox;
+    return this;
+  }
+
   public ConfigurationBuilder withReferenceFactory(ReferenceFactory referenceFactory) {
     this.referenceFactory = referenceFactory;
     return this;
@@ -74,17 +102,115 @@ public final class ConfigurationBuilder {
     return this;
   }
 
+  public ConfigurationBuilder withRoutingLanes(int routingLanes) {
+    if (routingLanes < 1) {
+      throw new IllegalArgumentException("At least one routing lane is required: " + routingLanes);
+    }
+    this.routingLanes = routingLanes;
+    return this;
+  }
+
+  public ConfigurationBuilder enableDirectRouting() {
+    this.isDirectRoutingEnabled = true;
+    return this;
+  }
+
+  public ConfigurationBuilder withThroughput(int throughput) {
+    if (throughput < 1) {
+      throw new IllegalArgumentException("Throughput should be positive: " + throughput);
+    }
+    this.throughput = throughput;
+    return this;
+  }
+
+  public ConfigurationBuilder enableEnvelopePooling() {
+    this.isEnvelopePoolingEnabled = true;
+    return this;
+  }
+
+  public ConfigurationBuilder withPassivation(Duration ttl) {
+    return withPassivation(ttl, Passivator.NONE);
+  }
+
+  public ConfigurationBuilder withPassivation(Duration ttl, Passivator passivator) {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("Passivation TTL should not be negative: " + ttl);
+    }
+    this.passivationTtl = ttl;
+    this.passivator = passivator;
+    return this;
+  }
+
+  public ConfigurationBuilder withMailboxCapacity(int capacity, Backpressure backpressure) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Mailbox capacity should be positive: " + capacity);
+    }
+    this.mailboxCapacity = capacity;
+    this.backpressure = backpressure;
+    return this;
+  }
+
+  public ConfigurationBuilder withDeadlineScheduling(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is required: " + threads);
+    }
+    this.deadlineThreads = threads;
+    return this;
+  }
+
+  public ConfigurationBuilder withWorkStealing(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is required: " + threads);
+    }
+    this.workStealingThreads = threads;
+    return this;
+  }
+
+  public ConfigurationBuilder withSharding(int shards) {
+    if (shards < 1) {
+      throw new IllegalArgumentException("At least one shard is required: " + shards);
+    }
+    this.shards = shards;
+    return this;
+  }
+
   public final Configuration build() {
+    if ((deadlineThreads > 0 ? 1 : 0) + (workStealingThreads > 0 ? 1 : 0)
+        + (shards > 0 ? 1 : 0) > 1) {
+      throw new IllegalStateException(
+          "Deadline scheduling, work stealing and sharding are exclusive");
+    }
     if (threadFactory == null) {
       threadFactory = r -> new ContextThread(r, isThreadManagementEnabled);
-      executorService = Executors.newCachedThreadPool(threadFactory);
+    }
+    if (executorService == null) {
+      if (deadlineThreads > 0) {
+        executorService = new DeadlineExecutor(deadlineThreads, threadFactory);
+      } else if (workStealingThreads > 0) {
+        executorService =
+            new WorkStealingExecutor(workStealingThreads, isThreadManagementEnabled);
+        // Signal the receiver on the worker of the sender
+        isDirectRoutingEnabled = true;
+      } else if (shards > 0) {
+        executorService = new ShardedExecutor(shards, threadFactory);
+        // Signal the receiver on the shard of the sender
+        isDirectRoutingEnabled = true;
+      } else {
+        executorService = Executors.newCachedThreadPool(threadFactory);
+      }
+    }
+    if (deadlineThreads > 0 && mailbox == DEFAULT_MAILBOX) {
+      mailbox = Mailbox::deadlines;
     }
     if (inbox == null) {
-      inbox = new ContextInbox(executorService, isThreadManagementEnabled);
+      inbox = new ContextInbox(executorService, mailbox, throughput, passivationTtl,
+          passivator, mailboxCapacity, backpressure);
     }
     return new SimpleConfiguration(envelopeRouter, envelopeOpener, inbox, referenceFactory,
         executorService, threadFactory, isLoggingEnabled, logPath, isRemoteEnabled,
-        isThreadManagementEnabled);
+        isThreadManagementEnabled, routingLanes, isDirectRoutingEnabled, throughput,
+        isEnvelopePoolingEnabled, passivationTtl, passivator, mailboxCapacity, backpressure,
+        deadlineThreads, workStealingThreads, shards);
   }
 
   /**
@@ -1,5 +1,8 @@
 package abs.api;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
@@ -50,6 +53,84 @@ public interface Context extends Lifecycle, Executor, Timed {
    */
   Actor newActor(String name, Object object);
 
+  /**
+   * Similar to {@link #newActor(String, Object)} and different in
+   * that the actor is created with its own options such as
+   * {@link ActorOptions#withThroughput(int)}. By default, the
+   * options are ignored.
+   * 
+   * @param name the name of the new actor reference
+   * @param object the binding object for the actor reference
+   * @param options the {@link ActorOptions} of the new actor
+   * @return the newly created actor reference or possibly an
+   *         unchecked exception
+   */
+  default Actor newActor(String name, Object object, ActorOptions options) {
+    return newActor(name, object);
+  }
+
+  /**
+   * Similar to {@link #newActor(String, Object)} and different in
+   * that the actor object is built from handlers of the classes of
+   * its messages.
+   * 
+   * @see MessageHandlers
+   * @param name the name of the new actor reference
+   * @param handlers the {@link MessageHandlers.Builder} of the
+   *        actor object
+   * @return the newly created actor reference or possibly an
+   *         unchecked exception
+   */
+  default Actor newActor(String name, MessageHandlers.Builder handlers) {
+    return newActor(name, handlers.build());
+  }
+
+  /**
+   * Creates a new envelope to be routed in this context. An
+   * implementation may recycle envelopes; thus, the
+   * {@link Envelope#response()} of the new envelope should be
+   * requested before it is routed and the envelope should not be
+   * used after.
+   * 
+   * @param from the sender of the envelope
+   * @param to the receiver of the envelope
+   * @param message the message
+   * @return a new envelope
+   */
+  default Envelope newEnvelope(Reference from, Reference to, Object message) {
+    return newEnvelope(from, to, message, false);
+  }
+
+  /**
+   * Similar to {@link #newEnvelope(Reference, Reference, Object)}
+   * and different in that the new envelope may be one-way.
+   * 
+   * @see Envelope#isOneWay()
+   * @param from the sender of the envelope
+   * @param to the receiver of the envelope
+   * @param message the message
+   * @param oneWay if the envelope has no response
+   * @return a new envelope
+   */
+  default Envelope newEnvelope(Reference from, Reference to, Object message, boolean oneWay) {
+    return new SimpleEnvelope(from, to, message, oneWay);
+  }
+
+  /**
+   * Similar to {@link #newEnvelope(Reference, Reference, Object)}
+   * and different in that the new envelope has a deadline.
+   * 
+   * @see Envelope#deadline()
+   * @param from the sender of the envelope
+   * @param to the receiver of the envelope
+   * @param message the message
+   * @param deadline the deadline of the envelope
+   * @return a new envelope
+   */
+  default Envelope newEnvelope(Reference from, Reference to, Object message, Instant deadline) {
+    return new SimpleEnvelope(from, to, message, deadline);
+  }
+
   /**
    * Provides the context's router instance.
    * 
@@ -57,6 +138,35 @@ public interface Context extends Lifecycle, Executor, Timed {
    */
   Router router();
 
+  /**
+   * Routes an envelope to its recipient using the
+   * {@link #router()} of this context. The default
+   * implementation delegates to {@link #execute(Runnable)}. An
+   * implementation should ensure that the envelopes from a
+   * sender to the same recipient are routed in the order they
+   * are provided.
+   * 
+   * @param envelope the envelope to be routed
+   */
+  default void route(Envelope envelope) {
+    execute(() -> router().route(envelope));
+  }
+
+  /**
+   * Routes a batch of envelopes to their recipients. The default
+   * implementation routes every envelope with
+   * {@link #route(Envelope)}. An implementation may route the
+   * batch with fewer tasks as long as the order of envelopes to
+   * the same recipient is preserved.
+   * 
+   * @param envelopes the envelopes to be routed
+   */
+  default void route(List<? extends Envelope> envelopes) {
+    for (Envelope envelope : envelopes) {
+      route(envelope);
+    }
+  }
+
   /**
    * Provides the context's notary instance.
    * 
@@ -117,6 +227,19 @@ public interface Context extends Lifecycle, Executor, Timed {
     return (T) notary().get(reference);
   }
 
+  /**
+   * Provides the runtime statistics of an actor in this
+   * context.
+   * 
+   * @param actor the actor object or its reference
+   * @return the {@link ActorStatistics} of the actor or
+   *         {@code null} if the context does not collect
+   *         statistics
+   */
+  default ActorStatistics statistics(Object actor) {
+    return null;
+  }
+
   /**
    * A facility method that allows to send a message to an actor
    * without being in a context or an actor. The sender of the
@@ -136,6 +259,70 @@ public interface Context extends Lifecycle, Executor, Timed {
     return Actor.NOBODY.send(to, message);
   }
 
+  /**
+   * A facility method that allows to send a message with a
+   * deadline to an actor without being in a context or an
+   * actor.
+   * 
+   * @see Actor#send(Object, Object, Instant)
+   * 
+   * @param to the recipient actor object
+   * @param message the message
+   * @param deadline the deadline of the message; see
+   *        {@link #now()}
+   * @param <V> the parameter type that defines the result type
+   *        of the message
+   * @return the result of the message as a future
+   */
+  default <V> Response<V> send(Object to, Object message, Instant deadline) {
+    return Actor.NOBODY.send(to, message, deadline);
+  }
+
+  /**
+   * A facility method that allows to send a message to an actor
+   * without any response and without being in a context or an
+   * actor. The sender of the message will be
+   * {@link Actor#NOBODY}.
+   * 
+   * @see Actor#tell(Object, Object)
+   * 
+   * @param to the recipient actor object
+   * @param message the message
+   */
+  default void tell(Object to, Object message) {
+    Actor.NOBODY.tell(to, message);
+  }
+
+  /**
+   * A facility method that allows to send a message to a number
+   * of actors without being in a context or an actor.
+   * 
+   * @see Actor#multicast(Collection, Object)
+   * 
+   * @param to the recipient actor objects
+   * @param message the message
+   * @param <V> the parameter type that defines the result type
+   *        of the message
+   * @return the aggregated result of the message as a future
+   */
+  default <V> Response<List<V>> multicast(Collection<?> to, Object message) {
+    return Actor.NOBODY.multicast(to, message);
+  }
+
+  /**
+   * A facility method that allows to send a message to a number
+   * of actors without any response and without being in a
+   * context or an actor.
+   * 
+   * @see Actor#broadcast(Collection, Object)
+   * 
+   * @param to the recipient actor objects
+   * @param message the message
+   */
+  default void broadcast(Collection<?> to, Object message) {
+    Actor.NOBODY.broadcast(to, message);
+  }
+
   /**
    * Sends a message to a reference with an additional property
    * that the sender of the message awaits on the response. The
@@ -1,6 +1,7 @@
 package abs.api;
 
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * An extension of actor reference that allows an instance of
@@ -38,12 +39,38 @@ interface ContextActor extends Actor, Contextual {
 
 		private static final long serialVersionUID = 5903306592703776997L;
 
+		private static final AtomicLongFieldUpdater<LocalContextActor> SEQUENCE =
+				AtomicLongFieldUpdater.newUpdater(LocalContextActor.class, "sequence");
+
 		private transient Context context;
 		private final Reference name;
+		// The sequence of the last envelope sent by this actor
+		private transient volatile long sequence = 0;
+		// NOBODY sends from any thread; see SimpleEnvelope
+		private final transient boolean nobody;
 
 		public LocalContextActor(Reference name, Context context) {
 			this.name = name;
 			this.context = context;
+			this.nobody = NOBODY.name().equals(name.name());
+		}
+
+		/**
+		 * Allocates the sequence of the next envelope sent from this
+		 * actor.
+		 * 
+		 * @return the next sequence of this actor
+		 */
+		long nextSequence() {
+			return SEQUENCE.incrementAndGet(this);
+		}
+
+		/**
+		 * @return <code>true</code> if this is the reference of
+		 *         {@link Actor#NOBODY}
+		 */
+		boolean isNobody() {
+			return nobody;
 		}
 
 		@Override
@@ -1,19 +1,39 @@
 package abs.api;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Stream;
-
-import net.openhft.affinity.Affinity;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * An {@link Inbox} implementation and manages all the
  * {@link ObjectInbox} inside one {@link LocalContext}.
+ *
+ * <p>
+ * There is no polling over the inboxes: an {@link ObjectInbox}
+ * is put on the executor only when it is signaled, i.e. when an
+ * envelope is posted to it or its owner is freed by an await.
+ * See {@link ObjectInbox#schedule()}.
+ *
+ * <p>
+ * If a passivation TTL is configured, the inboxes that have
+ * been empty and idle longer than the TTL are periodically
+ * passivated and dropped; the next envelope to such a receiver
+ * creates a new inbox. The {@link Passivator} then decides if
+ * the receiver itself is released from the {@link Notary} and
+ * if more idle inboxes should be passivated in its
+ * {@link Passivator#eviction()} order.
  */
-class ContextInbox extends AbstractInbox {
+class ContextInbox extends AbstractInbox implements Lifecycle {
 
   /**
    * We allow the receiver of an {@link Envelope} to be
@@ -22,74 +42,126 @@ class ContextInbox extends AbstractInbox {
    */
   private static final Object NULL_RECEIVER = new Object();
   private static final ObjectInbox NULL_RECEIVER_INBOX = new ObjectInbox(NULL_RECEIVER, null);
+  private static final long SWEEP_PERIOD = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final Comparator<ObjectInbox> LRU =
+      (oi1, oi2) -> Long.signum(oi1.lastActive() - oi2.lastActive());
+  private static final Comparator<ObjectInbox> LFU =
+      (oi1, oi2) -> Long.compare(oi1.processed(), oi2.processed());
+
+  private final ConcurrentMap<Object, ObjectInbox> inboxes = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+  private final Supplier<Mailbox> mailboxes;
+  private final int throughput;
+  private final long passivationTtl;
+  private final Passivator passivator;
+  private final int mailboxCapacity;
+  private final Backpressure backpressure;
+  // If any inbox may be bounded; see #admit(Envelope)
+  private volatile boolean bounded;
+  // Non-default options by name; they outlive a passivation
+  private final ConcurrentMap<URI, ActorOptions> receiverOptions = new ConcurrentHashMap<>();
+  private ScheduledExecutorService sweeper;
 
   /**
-   * A dedicated that goes through all {@link ObjectInbox} in
-   * the {@link Context} and executes the next {@link Envelope}
-   * if there's any. The {@link #run()} delegates to
-   * {@link ObjectInbox#run()}.
-   */
-  static class InboxSweeperThread extends Thread {
-    private final AtomicBoolean running = new AtomicBoolean(false);
-
-    /**
-     * Ctor
-     * 
-     * @param sweepRunnable the sweeping task
-     * @param isThreadManagementEnabled
-     */
-    public InboxSweeperThread(Runnable sweepRunnable, boolean isThreadManagementEnabled) {
-      super(sweepRunnable, "inbox-sweeper");
-      if (isThreadManagementEnabled) {
-        Affinity.setAffinity(0);
-      }
-      setDaemon(false);
-      start();
-    }
+   * Ctor
+   * 
+   * @param executor the {@link ExecutorService}
+   * @param isThreadManagementEnabled not used since the inboxes
+   *        are no longer swept by a dedicated thread
+   */
+  public ContextInbox(ExecutorService executor, boolean isThreadManagementEnabled) {
+    this(executor, Mailbox::lockFree);
+  }
 
-    @Override
-    public void run() {
-      if (!running.compareAndSet(false, true)) {
-        return;
-      }
-      while (running.get()) {
-        try {
-          sleep(0, 1);
-          super.run();
-        } catch (Throwable e) {
-        }
-      }
-    }
+  /**
+   * Ctor
+   * 
+   * @param executor the {@link ExecutorService}
+   * @param mailboxes the supplier of a {@link Mailbox} for every
+   *        new {@link ObjectInbox}
+   */
+  public ContextInbox(ExecutorService executor, Supplier<Mailbox> mailboxes) {
+    this(executor, mailboxes, ObjectInbox.DEFAULT_THROUGHPUT);
+  }
 
-    @Override
-    public void interrupt() {
-      running.getAndSet(false);
-      super.interrupt();
-    }
+  /**
+   * Ctor
+   * 
+   * @param executor the {@link ExecutorService}
+   * @param mailboxes the supplier of a {@link Mailbox} for every
+   *        new {@link ObjectInbox}
+   * @param throughput the default maximum number of envelopes an
+   *        {@link ObjectInbox} processes in one scheduling turn
+   */
+  public ContextInbox(ExecutorService executor, Supplier<Mailbox> mailboxes, int throughput) {
+    this(executor, mailboxes, throughput, Duration.ZERO, Passivator.NONE);
   }
 
-  private final ConcurrentMap<Object, ObjectInbox> inboxes = new ConcurrentHashMap<>();
-  private final ExecutorService executor;
-  private final InboxSweeperThread sweeper;
+  /**
+   * Ctor
+   * 
+   * @param executor the {@link ExecutorService}
+   * @param mailboxes the supplier of a {@link Mailbox} for every
+   *        new {@link ObjectInbox}
+   * @param throughput the default maximum number of envelopes an
+   *        {@link ObjectInbox} processes in one scheduling turn
+   * @param passivationTtl the time after which an idle
+   *        {@link ObjectInbox} is passivated; zero disables
+   *        passivation
+   * @param passivator the {@link Passivator} of the idle
+   *        receivers
+   */
+  public ContextInbox(ExecutorService executor, Supplier<Mailbox> mailboxes, int throughput,
+      Duration passivationTtl, Passivator passivator) {
+    this(executor, mailboxes, throughput, passivationTtl, passivator, 0, Backpressure.FAIL);
+  }
 
   /**
    * Ctor
    * 
    * @param executor the {@link ExecutorService}
-   * @param isThreadManagementEnabled
+   * @param mailboxes the supplier of a {@link Mailbox} for every
+   *        new {@link ObjectInbox}
+   * @param throughput the default maximum number of envelopes an
+   *        {@link ObjectInbox} processes in one scheduling turn
+   * @param passivationTtl the time after which an idle
+   *        {@link ObjectInbox} is passivated; zero disables
+   *        passivation
+   * @param passivator the {@link Passivator} of the idle
+   *        receivers
+   * @param mailboxCapacity the default maximum number of pending
+   *        envelopes of an {@link ObjectInbox}; zero for
+   *        unbounded mailboxes
+   * @param backpressure the default policy of a full mailbox
    */
-  public ContextInbox(ExecutorService executor, boolean isThreadManagementEnabled) {
+  public ContextInbox(ExecutorService executor, Supplier<Mailbox> mailboxes, int throughput,
+      Duration passivationTtl, Passivator passivator, int mailboxCapacity,
+      Backpressure backpressure) {
     this.executor = executor;
+    this.mailboxes = mailboxes;
+    this.throughput = throughput;
+    this.passivationTtl = passivationTtl.toNanos();
+    this.passivator = passivator;
+    this.mailboxCapacity = mailboxCapacity;
+    this.backpressure = backpressure;
+    this.bounded = mailboxCapacity > 0;
     this.inboxes.putIfAbsent(NULL_RECEIVER, NULL_RECEIVER_INBOX);
-    this.sweeper = new InboxSweeperThread(this::execute, isThreadManagementEnabled);
   }
 
   @Override
   public <V> Future<V> post(Envelope envelope, Object receiver) {
     // queue the message to receiver
-    ObjectInbox inbox = inbox(receiver);
-    inbox.post(envelope, receiver);
+    ObjectInbox inbox = resident(envelope, receiver);
+    if (inbox != NULL_RECEIVER_INBOX) {
+      // The actor may be activated as another object
+      receiver = inbox.receiver();
+    }
+    final Future<V> response = inbox.post(envelope, receiver);
     executeObjectInbox(inbox);
+    if (inbox.isPassivated()) {
+      // Passivated before the envelope was seen
+      repost(inbox, receiver);
+    }
 
     // if an await message, free the sender
     if (envelope instanceof AwaitEnvelope) {
@@ -99,47 +171,292 @@ class ContextInbox extends AbstractInbox {
       executeObjectInbox(senderInbox);
     }
 
-    return envelope.response();
+    return response;
   }
 
   @Override
   public void bind(Context context) {
     super.bind(context);
     NULL_RECEIVER_INBOX.bind(context);
+    if (isPassivationEnabled() && sweeper == null) {
+      sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "jabs-passivation");
+        t.setDaemon(true);
+        return t;
+      });
+      final long period = passivationTtl > 0
+          ? Math.max(TimeUnit.MILLISECONDS.toNanos(10), passivationTtl / 4) : SWEEP_PERIOD;
+      sweeper.scheduleWithFixedDelay(this::passivateIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public void stop() throws Exception {
+    if (sweeper != null) {
+      sweeper.shutdownNow();
+    }
+  }
+
+  /**
+   * Applies the backpressure of the bounded mailbox of the
+   * receiver of an envelope on the sending thread. Nothing is
+   * done if no mailbox is bounded; otherwise the inbox of the
+   * receiver is created if it does not exist yet so that the
+   * first envelopes count against its capacity too.
+   * 
+   * @see ObjectInbox#admit(Envelope)
+   * @param envelope the envelope to be routed
+   * @return <code>false</code> if the envelope is refused and
+   *         should not be routed
+   */
+  boolean admit(Envelope envelope) {
+    if (!bounded) {
+      return true;
+    }
+    final Object receiver = context.notary().get(envelope.to());
+    return receiver == null || inbox(receiver).admit(envelope);
+  }
+
+  /**
+   * @return the number of the {@link ObjectInbox} that are not
+   *         passivated
+   */
+  public int size() {
+    return inboxes.size() - 1;
+  }
+
+  /**
+   * Passivates every {@link ObjectInbox} that has been idle
+   * longer than the passivation TTL and then as many more as
+   * {@link Passivator#excess(int)} asks for.
+   * 
+   * @return the number of passivated inboxes
+   */
+  int passivateIdle() {
+    int passivated = 0;
+    if (passivationTtl > 0) {
+      final long now = System.nanoTime();
+      for (Map.Entry<Object, ObjectInbox> entry : inboxes.entrySet()) {
+        final ObjectInbox oi = entry.getValue();
+        if (oi != NULL_RECEIVER_INBOX && now - oi.lastActive() >= passivationTtl
+            && passivate(entry.getKey(), oi)) {
+          passivated++;
+        }
+      }
+    }
+    final int excess = passivator.excess(size());
+    if (excess > 0) {
+      passivated += evict(excess);
+    }
+    return passivated;
+  }
+
+  /**
+   * Passivates the first idle inboxes in the
+   * {@link Passivator#eviction()} order. The candidates are kept
+   * in a bounded heap whose head is the last of them.
+   */
+  private int evict(int excess) {
+    final Comparator<ObjectInbox> order =
+        passivator.eviction() == Passivator.Eviction.LFU ? LFU : LRU;
+    final PriorityQueue<Map.Entry<Object, ObjectInbox>> candidates = new PriorityQueue<>(
+        Math.min(excess, 1 << 16) + 1, (e1, e2) -> order.compare(e2.getValue(), e1.getValue()));
+    for (Map.Entry<Object, ObjectInbox> entry : inboxes.entrySet()) {
+      if (entry.getValue() == NULL_RECEIVER_INBOX) {
+        continue;
+      }
+      candidates.offer(entry);
+      if (candidates.size() > excess) {
+        candidates.poll();
+      }
+    }
+    int evicted = 0;
+    for (Map.Entry<Object, ObjectInbox> entry : candidates) {
+      if (passivate(entry.getKey(), entry.getValue())) {
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  private boolean isPassivationEnabled() {
+    return passivationTtl > 0 || passivator != Passivator.NONE;
+  }
+
+  private boolean passivate(Object receiver, ObjectInbox oi) {
+    if (!oi.passivate()) {
+      return false;
+    }
+    // The receiver is released only if no new inbox replaced the
+    // passivated one; see #resident(Envelope, Object)
+    inboxes.computeIfPresent(receiver, (r, current) -> {
+      if (current != oi) {
+        return current;
+      }
+      final Reference reference = context.reference(receiver);
+      if (reference != null && passivator.passivate(reference, receiver)) {
+        context.notary().remove(reference);
+      }
+      return null;
+    });
+    return true;
+  }
+
+  /**
+   * Provides the inbox that an envelope is posted to. The
+   * receiver that the envelope was routed to may be released by
+   * the {@link Passivator} in the meantime; then the envelope
+   * goes to the object that the actor is activated as rather
+   * than the released one. The inbox is taken before the
+   * registration of its receiver is checked: a release after
+   * the check finds the inbox passivated and a new inbox after
+   * a release fails the check.
+   * 
+   * @param envelope the envelope
+   * @param receiver the receiver that the envelope was routed to
+   * @return the inbox of the receiver or of the activated actor
+   *         object
+   */
+  private ObjectInbox resident(Envelope envelope, Object receiver) {
+    ObjectInbox oi = inbox(receiver);
+    if (oi == NULL_RECEIVER_INBOX || !isPassivationEnabled()
+        || context instanceof LocalContext == false) {
+      return oi;
+    }
+    while (context.notary().get(envelope.to()) != receiver) {
+      final Object activated = ((LocalContext) context).activate(envelope.to());
+      if (activated == null || activated == receiver) {
+        // Not released or activated as itself
+        break;
+      }
+      // No envelope is posted to the inbox of a released receiver
+      if (oi.passivate()) {
+        inboxes.remove(receiver, oi);
+      }
+      receiver = activated;
+      oi = inbox(receiver);
+    }
+    return oi;
+  }
+
+  /**
+   * Drops the inbox of a receiver whose registration failed.
+   * 
+   * @param receiver the receiver object
+   */
+  void discard(Object receiver) {
+    if (receiver != null) {
+      inboxes.remove(receiver);
+    }
+  }
+
+  /**
+   * Provides the {@link ObjectInbox} of a receiver without
+   * creating it.
+   * 
+   * @param receiver the receiver object
+   * @return the {@link ObjectInbox} of the receiver or
+   *         <code>null</code> if it has none
+   */
+  ObjectInbox existing(Object receiver) {
+    return receiver == null ? null : inboxes.get(receiver);
   }
 
   protected ObjectInbox inbox(Object receiver) {
+    return inbox(receiver, ActorOptions.DEFAULT);
+  }
+
+  /**
+   * Provides the {@link ObjectInbox} of a receiver and creates
+   * it with the provided options if it does not exist yet.
+   * 
+   * @param receiver the receiver object
+   * @param options the {@link ActorOptions} of the receiver
+   * @return the {@link ObjectInbox} of the receiver
+   */
+  protected ObjectInbox inbox(Object receiver, ActorOptions options) {
+    return inbox(receiver, options, null);
+  }
+
+  /**
+   * Similar to {@link #inbox(Object, ActorOptions)} for a receiver
+   * that is not registered yet.
+   * 
+   * @param receiver the receiver object
+   * @param options the {@link ActorOptions} of the receiver
+   * @param reference the reference that the receiver is about to
+   *        be registered with or <code>null</code> to look it up
+   * @return the {@link ObjectInbox} of the receiver
+   */
+  ObjectInbox inbox(Object receiver, ActorOptions options, Reference reference) {
     if (receiver == null || receiver == NULL_RECEIVER) {
       return NULL_RECEIVER_INBOX;
     }
-    if (inboxes.containsKey(receiver)) {
-      return inboxes.get(receiver);
+    final ObjectInbox existing = inboxes.get(receiver);
+    if (existing != null && !existing.isPassivated()) {
+      return existing;
+    }
+    if (isPassivationEnabled()) {
+      options = rememberOptions(receiver, reference, options);
+    }
+    final int quota = options.getThroughput() > 0 ? options.getThroughput() : throughput;
+    final int capacity =
+        options.getMailboxCapacity() > 0 ? options.getMailboxCapacity() : mailboxCapacity;
+    final Backpressure policy =
+        options.getBackpressure() != null ? options.getBackpressure() : backpressure;
+    if (capacity > 0) {
+      bounded = true;
     }
-    inboxes.putIfAbsent(receiver, new ObjectInbox(receiver, executor));
-    final ObjectInbox oi = inboxes.get(receiver);
+    final ObjectInbox created =
+        new ObjectInbox(receiver, executor, mailboxes.get(), quota, capacity, policy);
+    // Replaces a passivated inbox atomically with its release
+    final ObjectInbox oi = inboxes.compute(receiver,
+        (r, current) -> current == null || current.isPassivated() ? created : current);
     oi.bind(context);
     return oi;
   }
 
-  protected void execute() {
-    Stream<ObjectInbox> s = inboxes.values().stream();
-    if (inboxes.size() > 1000) {
-      s = s.parallel();
-    } 
-    s.filter(oi -> !oi.isProcessingEnvelope()).forEach(this::executeObjectInbox);
+  /**
+   * Keeps the options of a receiver for the inboxes that are
+   * created again after a passivation.
+   */
+  private ActorOptions rememberOptions(Object receiver, Reference registered,
+      ActorOptions options) {
+    final Reference reference = registered != null ? registered : context.reference(receiver);
+    if (reference == null) {
+      return options;
+    }
+    if (options != ActorOptions.DEFAULT) {
+      receiverOptions.put(reference.name(), options);
+      return options;
+    }
+    return receiverOptions.getOrDefault(reference.name(), options);
   }
 
-  protected synchronized void executeObjectInbox(ObjectInbox oi) {
-    try {
-      if (oi == NULL_RECEIVER_INBOX) {
-        return;
-      }
-      executor.submit(oi);
-    } catch (Throwable e) {
-      if (executor.isShutdown()) {
-        sweeper.interrupt();
+  /**
+   * Moves the envelopes that are posted to a passivated inbox to
+   * a new inbox of the receiver. Reposts are serialized on the
+   * passivated inbox so that a sender cannot overtake its own
+   * envelope that another thread is reposting.
+   */
+  private void repost(ObjectInbox passivated, Object receiver) {
+    synchronized (passivated) {
+      for (Envelope envelope : passivated.drain()) {
+        final ObjectInbox oi = resident(envelope, receiver);
+        oi.post(envelope, oi.receiver());
+        executeObjectInbox(oi);
+        if (oi.isPassivated()) {
+          repost(oi, oi.receiver());
+        }
       }
     }
   }
 
+  protected void executeObjectInbox(ObjectInbox oi) {
+    if (oi == NULL_RECEIVER_INBOX) {
+      return;
+    }
+    oi.schedule();
+  }
+
 }
@@ -1,10 +1,13 @@
 package abs.api;
 
 import java.time.Duration;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 
 /**
  * An internal implementation of {@link Response} extending over
@@ -139,4 +142,92 @@ class ContextResponse<V> extends CompletableFuture<V> implements Response<V> {
     completeExceptionally(throwable);
   }
 
+  /**
+   * Registers a continuation of a response on the actor whose
+   * message is being processed on the current thread. Once the
+   * response completes, the continuation is told to the actor as
+   * a message; i.e. it runs in the serial execution of the actor
+   * and no thread waits for the response. If the response is
+   * already complete, the continuation runs right away on the
+   * current thread which is either the actor's or not an actor's
+   * at all. Without a current actor, the continuation runs on the
+   * thread that completes the response.
+   * 
+   * @see Response#thenOnActor(java.util.function.Function)
+   * @see Response#handleOnActor(BiFunction)
+   * @param response the response to continue
+   * @param fn the continuation with the value or the failure of
+   *        the response
+   * @param always if the continuation runs on a failure too;
+   *        otherwise, the failure completes the continued
+   *        response
+   * @return the response of the continuation
+   */
+  static <V, U> Response<U> continueOnActor(Response<V> response,
+      BiFunction<? super V, Throwable, ? extends U> fn, boolean always) {
+    final ContextResponse<U> result = new ContextResponse<>();
+    final CompletableFuture<V> future = response.toCompletableFuture();
+    if (future.isDone()) {
+      V value = null;
+      Throwable error = null;
+      try {
+        value = future.join();
+      } catch (CompletionException e) {
+        error = e.getCause() == null ? e : e.getCause();
+      } catch (CancellationException e) {
+        error = e;
+      }
+      continueWith(result, fn, always, value, error);
+      return result;
+    }
+    final Envelope current = ContextThread.currentEnvelope();
+    final Reference to = current == null ? null : current.to();
+    if (to instanceof Actor == false) {
+      future.whenComplete((v, e) -> continueWith(result, fn, always, v, unwrap(e)));
+      return result;
+    }
+    final Actor self = (Actor) to;
+    future.whenComplete((v, e) -> self.tell(self,
+        new Continuation(() -> continueWith(result, fn, always, v, unwrap(e)))));
+    return result;
+  }
+
+  /**
+   * A continuation that is sent to the actor that registered it.
+   * It is never refused by the bounded mailbox of the actor; its
+   * response would otherwise never complete.
+   * 
+   * @see ObjectInbox#admit(Envelope)
+   */
+  static final class Continuation implements Runnable {
+    private final Runnable continuation;
+
+    Continuation(Runnable continuation) {
+      this.continuation = continuation;
+    }
+
+    @Override
+    public void run() {
+      continuation.run();
+    }
+  }
+
+  private static <V, U> void continueWith(ContextResponse<U> result,
+      BiFunction<? super V, Throwable, ? extends U> fn, boolean always, V value,
+      Throwable error) {
+    if (error != null && !always) {
+      result.completeExceptionally(error);
+      return;
+    }
+    try {
+      result.complete(fn.apply(value, error));
+    } catch (Throwable e) {
+      result.completeExceptionally(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
 }
@@ -7,8 +7,8 @@ import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
-import abs.api.ContextInbox.InboxSweeperThread;
 import abs.api.LoggingRouter.LoggingThread;
+import abs.api.RouterLanes.Lane;
 import net.openhft.affinity.Affinity;
 
 /**
@@ -21,7 +21,8 @@ public final class ContextThread extends Thread {
 
   private static final Set<Class<? extends Thread>> INTERRUPTIBLE_THREADS =
       new HashSet<>(Arrays.asList(ContextThread.class, LoggingThread.class,
-          InboxSweeperThread.class, ThreadInterruptWatchdog.class, ForkJoinWorkerThread.class));
+          ThreadInterruptWatchdog.class, ForkJoinWorkerThread.class, Lane.class,
+          WorkStealingExecutor.Worker.class));
 
   /**
    * Tries to {@link #interrupt()} all the live threads in the
@@ -45,6 +46,60 @@ public final class ContextThread extends Thread {
   private static final int CPUS = Runtime.getRuntime().availableProcessors();
   private static final AtomicLong COUNTER = new AtomicLong(1);
   private static final AtomicInteger CPU_AFFINITY = new AtomicInteger(1);
+  // The current envelope of threads other than ContextThread
+  private static final ThreadLocal<Envelope> CURRENT_ENVELOPE = new ThreadLocal<>();
+
+  /**
+   * Provides the envelope that is currently opened on the
+   * current thread.
+   * 
+   * @return the current envelope or <code>null</code>
+   */
+  static Envelope currentEnvelope() {
+    final Thread t = Thread.currentThread();
+    if (t instanceof ContextThread) {
+      return ((ContextThread) t).envelope;
+    }
+    if (t instanceof WorkStealingExecutor.Worker) {
+      return ((WorkStealingExecutor.Worker) t).envelope;
+    }
+    return CURRENT_ENVELOPE.get();
+  }
+
+  /**
+   * Sets the envelope that is currently opened on the current
+   * thread. The slot is owned by the current thread; thus, it
+   * needs no synchronization and a {@link ContextThread} or a
+   * worker of a {@link WorkStealingExecutor} keeps it in a plain
+   * field without any allocation.
+   * 
+   * @param envelope the current envelope or <code>null</code>
+   * @return the previous envelope of the current thread to be
+   *         restored once the current one is opened
+   */
+  static Envelope currentEnvelope(Envelope envelope) {
+    final Thread t = Thread.currentThread();
+    if (t instanceof ContextThread) {
+      final ContextThread ct = (ContextThread) t;
+      final Envelope previous = ct.envelope;
+      ct.envelope = envelope;
+      return previous;
+    }
+    if (t instanceof WorkStealingExecutor.Worker) {
+      final WorkStealingExecutor.Worker w = (WorkStealingExecutor.Worker) t;
+      final Envelope previous = w.envelope;
+      w.envelope = envelope;
+      return previous;
+    }
+    final Envelope previous = CURRENT_ENVELOPE.get();
+    if (previous != envelope) {
+      CURRENT_ENVELOPE.set(envelope);
+    }
+    return previous;
+  }
+
+  // Only accessed by this thread
+  private Envelope envelope;
 
   /**
    * Ctor
@@ -55,13 +110,20 @@ public final class ContextThread extends Thread {
   public ContextThread(Runnable target, boolean isThreadManagementEnabled) {
     super(target, createThreadName());
     if (isThreadManagementEnabled) {
-      int cpu = CPU_AFFINITY.get();
-      Affinity.setAffinity(cpu);
-      CPU_AFFINITY.getAndSet((cpu + 1) % CPUS);
+      setNextAffinity();
     }
     setDaemon(false);
   }
 
+  /**
+   * Pins the current thread to the next CPU in turn.
+   */
+  static void setNextAffinity() {
+    int cpu = CPU_AFFINITY.get();
+    Affinity.setAffinity(cpu);
+    CPU_AFFINITY.getAndSet((cpu + 1) % CPUS);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -74,7 +136,7 @@ public final class ContextThread extends Thread {
     }
   }
 
-  private static String createThreadName() {
+  static String createThreadName() {
     return "jabs-" + COUNTER.incrementAndGet();
   }
 
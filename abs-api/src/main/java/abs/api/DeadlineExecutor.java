@@ -0,0 +1,93 @@
+package abs.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An executor with a fixed number of threads that picks among
+ * the ready inboxes the one with the earliest deadline; see
+ * {@link ObjectInbox#deadline()}. Inboxes without a deadline and
+ * any other task run in the order of their submission after the
+ * ones with a deadline.
+ *
+ * <p>
+ * The deadline of an inbox is taken when it is submitted; an
+ * envelope with an earlier deadline that arrives while the inbox
+ * waits does not move it. Note that a message that blocks its
+ * thread, e.g. with {@link Response#getValue()}, holds one of the
+ * fixed threads until it returns.
+ *
+ * @see ConfigurationBuilder#withDeadlineScheduling(int)
+ */
+final class DeadlineExecutor extends ThreadPoolExecutor {
+
+  /**
+   * A submitted task with its deadline and the order of its
+   * submission.
+   */
+  static final class Scheduled implements Runnable {
+    private final Runnable task;
+    private final long deadline;
+    private final long sequence;
+
+    Scheduled(Runnable task, long deadline, long sequence) {
+      this.task = task;
+      this.deadline = deadline;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+
+  private static final Comparator<Runnable> COMPARATOR = (r1, r2) -> {
+    final Scheduled s1 = (Scheduled) r1;
+    final Scheduled s2 = (Scheduled) r2;
+    final int c = Long.compare(s1.deadline, s2.deadline);
+    return c != 0 ? c : Long.compare(s1.sequence, s2.sequence);
+  };
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Ctor
+   * 
+   * @param threads the number of threads
+   * @param threadFactory the factory of the threads
+   */
+  DeadlineExecutor(int threads, ThreadFactory threadFactory) {
+    super(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new PriorityBlockingQueue<>(256, COMPARATOR), threadFactory);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    final long deadline =
+        command instanceof ObjectInbox ? ((ObjectInbox) command).deadline() : Long.MAX_VALUE;
+    super.execute(new Scheduled(command, deadline, sequence.incrementAndGet()));
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * <p>
+   * The tasks are returned as they are submitted.
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    final List<Runnable> tasks = new ArrayList<>();
+    for (Runnable r : super.shutdownNow()) {
+      tasks.add(r instanceof Scheduled ? ((Scheduled) r).task : r);
+    }
+    return tasks;
+  }
+
+}
@@ -1,13 +1,7 @@
 package abs.api;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Future;
 
 /**
@@ -22,8 +16,20 @@ import java.util.concurrent.Future;
  * <li>if the recipient of the message is an instance of
  * {@link abs.api.Behavior} then opens the envelope by running the
  * messages inside the recipient object.
+ * <li>if the recipient of the message declares methods with
+ * {@link abs.api.Handles} then opens the envelope by the handler
+ * of the class of the message.
  * </ul>
  *
+ * <p>
+ * A method reference is dispatched through the
+ * {@link DispatchTable} of the class of the recipient by the name
+ * of the method and the number of its arguments. Only an
+ * overloaded method is resolved by the types of the arguments.
+ * Likewise, a message to a behavior or to an object with
+ * {@link MessageHandlers} is opened by the handler of its class
+ * before {@link Behavior#respond(Object)} is considered.
+ *
  * @see QueueOpener
  * 
  * @author Behrooz Nobakht
@@ -31,10 +37,7 @@ import java.util.concurrent.Future;
  */
 public class DefaultOpener implements Opener {
 
-	private final ConcurrentMap<MethodReference, Method> methodCache = new ConcurrentSkipListMap<>(
-			MethodReference.COMPARATOR);
-	private final Map<Method, MethodHandle> methodHandleCache = new LinkedHashMap<>(1024,
-			0.75f, true);
+	private static final Object[] NO_ARGS = new Object[0];
 
 	/** {@inheritDoc} */
 	@Override
@@ -53,19 +56,21 @@ public class DefaultOpener implements Opener {
 	 *            a {@link java.lang.Object} object.
 	 * @param <V>
 	 *            a V object.
-	 * @return a {@link java.util.concurrent.Future} object.
+	 * @return a {@link java.util.concurrent.Future} object or
+	 *         <code>null</code> if the envelope is one-way.
 	 */
 	protected <V> Response<V> execute(final Envelope envelope, final Object target) {
-		final Response<V> response = envelope.response();
+		// A one-way envelope has no response to create or return
+		final Response<V> response = envelope.isOneWay() ? null : envelope.response();
 		Runnable task = createEnvelopeTask(envelope, target);
 		if (task == null) {
-			response.completeExceptionally(new IllegalArgumentException("Invalid message: "
-					+ envelope.message()));
+			SimpleEnvelope.complete(envelope, null,
+					new IllegalArgumentException("Invalid message: " + envelope.message()));
 		} else {
 			try {
 				executeEnvelopeTask(task);
 			} catch (Throwable e) {
-				response.completeExceptionally(e);
+				SimpleEnvelope.complete(envelope, null, e);
 			}
 		}
 		return response;
@@ -104,6 +109,8 @@ public class DefaultOpener implements Opener {
         return fromActorEnvelope(envelope, (Behavior) target);
       } else if (msg instanceof MethodReference) {
         return fromMethodReferenceEnvelope(envelope, target);
+      } else if (target != null && MessageHandlers.of(target.getClass()) != null) {
+        return fromHandlerEnvelope(envelope, target);
       }
       return null;
     }
@@ -134,31 +141,50 @@ public class DefaultOpener implements Opener {
 	 */
 	protected Runnable fromMethodReferenceEnvelope(final Envelope envelope, final Object target) {
 		return () -> {
-			final Response<Object> future = envelope.response();
+			final Envelope previous = ContextThread.currentEnvelope(envelope);
 			try {
 				MethodReference method = (MethodReference) envelope.message();
 				if (target == null) {
 					// A method reference should be executed up a
 					// non-null object reference.
-					future.completeExceptionally(new RuntimeException(
+					SimpleEnvelope.complete(envelope, null, new RuntimeException(
 							"No object can be found with reference: " + method.owner()));
 					return;
 				}
-				MethodHandle handle = createMethodHandle(method, target);
-				handle = handle.bindTo(target);
-				Object result = handle.invokeWithArguments(method.args());
-				future.complete(result);
+				Object result = invoke(method, target);
+				SimpleEnvelope.complete(envelope, result, null);
 			} catch (Throwable e) {
-				future.completeExceptionally(e);
+				SimpleEnvelope.complete(envelope, null, e);
+			} finally {
+				ContextThread.currentEnvelope(previous);
 			}
 		};
 	}
 
+	/**
+	 * Invokes the method of a method reference on a target using
+	 * the {@link DispatchTable} of the class of the target.
+	 *
+	 * @param msg
+	 *            the method reference
+	 * @param target
+	 *            the recipient of the method
+	 * @return the result of the method
+	 * @throws Throwable
+	 *             the failure of the method or of its resolution
+	 */
+	protected Object invoke(final MethodReference msg, final Object target) throws Throwable {
+		final Object[] args = msg.args() == null ? NO_ARGS : msg.args();
+		return DispatchTable.of(target.getClass()).resolve(msg.name().toString(), args)
+				.invoke(target, args);
+	}
+
 	/**
 	 * <p>
 	 * fromActorEnvelope.
 	 * </p>
 	 *
+	 * @see #fromHandlerEnvelope(Envelope, Object)
 	 * @param envelope
 	 *            a {@link abs.api.Envelope} object.
 	 * @param target
@@ -166,76 +192,61 @@ public class DefaultOpener implements Opener {
 	 * @return a {@link java.lang.Runnable} object.
 	 */
 	protected Runnable fromActorEnvelope(final Envelope envelope, final Behavior target) {
-		return () -> {
-			final Response<Object> future = envelope.response();
-			try {
-				Object result = target.respond(envelope.message());
-				future.complete(result);
-			} catch (Exception e) {
-				future.completeExceptionally(e);
-			}
-		};
-
+		return fromHandlerEnvelope(envelope, target);
 	}
 
 	/**
 	 * <p>
-	 * createReflectionMethod.
+	 * fromHandlerEnvelope.
 	 * </p>
+	 * 
+	 * <p>
+	 * The message is opened by the handler of its class if the
+	 * target is {@link MessageHandlers} or declares methods with
+	 * {@link Handles}; otherwise, by
+	 * {@link Behavior#respond(Object)}.
 	 *
-	 * @param msg
-	 *            a {@link abs.api.MethodReference} object.
+	 * @param envelope
+	 *            a {@link abs.api.Envelope} object.
 	 * @param target
-	 *            a {@link java.lang.Object} object.
-	 * @return a {@link java.lang.reflect.Method} object.
-	 * @throws java.lang.NoSuchMethodException
-	 *             if any.
+	 *            a {@link abs.api.Behavior} object or an object with
+	 *            {@link MessageHandlers}.
+	 * @return a {@link java.lang.Runnable} object.
 	 */
-	protected Method createReflectionMethod(final MethodReference msg, final Object target)
-			throws NoSuchMethodException {
-		final Object[] args = msg.args();
-		final Class<?>[] types;
-		if (args != null) {
-			types = new Class<?>[args.length];
-			for (int i = 0; i < types.length; ++i) {
-				types[i] = args[i].getClass();
+	protected Runnable fromHandlerEnvelope(final Envelope envelope, final Object target) {
+		final MessageHandlers handlers = MessageHandlers.handlersOf(target);
+		return () -> {
+			final Envelope previous = ContextThread.currentEnvelope(envelope);
+			try {
+				Object result = handlers == null ? ((Behavior) target).respond(envelope.message())
+						: handlers.handle(target, envelope.message());
+				SimpleEnvelope.complete(envelope, result, null);
+			} catch (Throwable e) {
+				SimpleEnvelope.complete(envelope, null, e);
+			} finally {
+				ContextThread.currentEnvelope(previous);
 			}
-		} else {
-			types = null;
-		}
-		final Class<?> targetClass = target.getClass();
-		final Method reflectionMethod = targetClass.getMethod(msg.name().toString(), types);
-		return reflectionMethod;
+		};
+
 	}
 
 	/**
 	 * <p>
-	 * createMethodHandle.
+	 * createReflectionMethod.
 	 * </p>
 	 *
 	 * @param msg
 	 *            a {@link abs.api.MethodReference} object.
 	 * @param target
 	 *            a {@link java.lang.Object} object.
-	 * @return a {@link java.lang.invoke.MethodHandle} object.
+	 * @return a {@link java.lang.reflect.Method} object.
 	 * @throws java.lang.NoSuchMethodException
 	 *             if any.
-	 * @throws java.lang.IllegalAccessException
-	 *             if any.
 	 */
-	protected MethodHandle createMethodHandle(final MethodReference msg, final Object target)
-			throws NoSuchMethodException, IllegalAccessException {
-		Method method = methodCache.get(msg);
-		if (method == null) {
-			method = createReflectionMethod(msg, target);
-			methodCache.putIfAbsent(msg, method);
-		}
-		MethodHandle methodHandle = methodHandleCache.get(method);
-		if (methodHandle == null) {
-			methodHandle = MethodHandles.lookup().unreflect(method);
-			methodHandleCache.putIfAbsent(method, methodHandle);
-		}
-		return methodHandle;
+	protected Method createReflectionMethod(final MethodReference msg, final Object target)
+			throws NoSuchMethodException {
+		final Object[] args = msg.args() == null ? NO_ARGS : msg.args();
+		return DispatchTable.of(target.getClass()).resolve(msg.name().toString(), args).method();
 	}
 
 }
@@ -34,8 +34,7 @@ public class DispatchInbox extends AbstractInbox {
 	@Override
 	public <V> Future<V> post(Envelope envelope, Object receiver) {
 		Inbox inbox = getInbox(envelope.to());
-		inbox.post(envelope, receiver);
-		return envelope.response();
+		return inbox.post(envelope, receiver);
 	}
 
 	/**
@@ -0,0 +1,367 @@
+package abs.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The public methods of a class by their name and number of
+ * parameters to open a {@link MethodReference} message without
+ * reflection. A table is built once per class, eagerly when an
+ * object is registered as an actor in a {@link LocalContext},
+ * and is safe to use from any thread.
+ *
+ * <p>
+ * Every method has an invoker of the exact type
+ * <code>(Object, Object[])Object</code> that casts the receiver,
+ * spreads and unboxes the arguments and boxes the result. A name
+ * and number of parameters shared by more than one method is
+ * marked as overloaded and resolved by the classes of the
+ * arguments with {@link #resolve(String, Object[])}.
+ *
+ * @see DefaultOpener
+ */
+final class DispatchTable {
+
+  /**
+   * A method with its invoker.
+   */
+  static final class Entry {
+    private final Method method;
+    private final MethodHandle invoker;
+
+    Entry(Method method, MethodHandle invoker) {
+      this.method = method;
+      this.invoker = invoker;
+    }
+
+    /**
+     * @return the reflective method of this entry
+     */
+    Method method() {
+      return method;
+    }
+
+    /**
+     * Invokes the method on a target.
+     * 
+     * @param target the receiver of the method
+     * @param args the arguments of the method
+     * @return the result of the method or <code>null</code> if it
+     *         is <code>void</code>
+     * @throws Throwable the failure of the method or a
+     *         {@link ClassCastException} if an argument does not
+     *         fit its parameter
+     */
+    Object invoke(Object target, Object[] args) throws Throwable {
+      return (Object) invoker.invokeExact(target, args);
+    }
+  }
+
+  /**
+   * Marks a name and number of parameters of more than one
+   * method.
+   */
+  static final Entry OVERLOADED = new Entry(null, null);
+
+  private static final MethodType INVOKER_TYPE =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+  private static final Entry[] NONE = new Entry[0];
+
+  private static final ClassValue<DispatchTable> TABLES = new ClassValue<DispatchTable>() {
+    @Override
+    protected DispatchTable computeValue(Class<?> type) {
+      return new DispatchTable(type);
+    }
+  };
+
+  /**
+   * The maximum number of resolved overloads kept per class.
+   */
+  static final int MAX_RESOLVED = 1024;
+
+  /**
+   * The name of a method with the classes of its arguments; a
+   * <code>null</code> class is a <code>null</code> argument.
+   */
+  private static final class Signature {
+    private final String name;
+    private final Class<?>[] types;
+    private final int hash;
+
+    Signature(String name, Class<?>[] types) {
+      this.name = name;
+      this.types = types;
+      this.hash = 31 * name.hashCode() + Arrays.hashCode(types);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof Signature == false) {
+        return false;
+      }
+      final Signature other = (Signature) obj;
+      return hash == other.hash && name.equals(other.name) && Arrays.equals(types, other.types);
+    }
+  }
+
+  // The primitive types in the order of widening; char only
+  // widens to int and above
+  private static final List<Class<?>> WIDENING = Arrays.asList(byte.class, short.class,
+      char.class, int.class, long.class, float.class, double.class);
+  private static final Map<Class<?>, Class<?>> PRIMITIVES = new HashMap<>();
+
+  static {
+    PRIMITIVES.put(Boolean.class, boolean.class);
+    PRIMITIVES.put(Byte.class, byte.class);
+    PRIMITIVES.put(Short.class, short.class);
+    PRIMITIVES.put(Character.class, char.class);
+    PRIMITIVES.put(Integer.class, int.class);
+    PRIMITIVES.put(Long.class, long.class);
+    PRIMITIVES.put(Float.class, float.class);
+    PRIMITIVES.put(Double.class, double.class);
+  }
+
+  private final Class<?> type;
+  // The entries of a name indexed by the number of parameters
+  private final Map<String, Entry[]> entries = new HashMap<>();
+  // The overloads of a name and number of parameters
+  private final Map<String, List<Entry>> overloads = new HashMap<>();
+  // The overloads resolved for the classes of their arguments
+  private final ConcurrentMap<Signature, Entry> resolved = new ConcurrentHashMap<>();
+
+  private DispatchTable(Class<?> type) {
+    this.type = type;
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    for (Method method : type.getMethods()) {
+      if (method.isBridge() || Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      final int arity = method.getParameterCount();
+      Entry[] byArity = entries.getOrDefault(method.getName(), NONE);
+      if (byArity.length <= arity) {
+        byArity = Arrays.copyOf(byArity, arity + 1);
+        entries.put(method.getName(), byArity);
+      }
+      final Entry entry = new Entry(method, invoker(lookup, method, arity));
+      final String key = key(method.getName(), arity);
+      if (byArity[arity] != null) {
+        if (byArity[arity] != OVERLOADED) {
+          overloads.computeIfAbsent(key, k -> new ArrayList<>()).add(byArity[arity]);
+        }
+        overloads.get(key).add(entry);
+        byArity[arity] = OVERLOADED;
+        continue;
+      }
+      byArity[arity] = entry;
+    }
+  }
+
+  /**
+   * Provides the table of a class; builds it on the first use.
+   * 
+   * @param type the class
+   * @return the dispatch table of the class
+   */
+  static DispatchTable of(Class<?> type) {
+    return TABLES.get(type);
+  }
+
+  /**
+   * Finds the method of a name and number of parameters.
+   * 
+   * @param name the name of the method
+   * @param arity the number of arguments
+   * @return the entry of the method, {@link #OVERLOADED} or
+   *         <code>null</code> if there is no such public method
+   */
+  Entry find(String name, int arity) {
+    final Entry[] byArity = entries.get(name);
+    if (byArity == null || byArity.length <= arity) {
+      return null;
+    }
+    return byArity[arity];
+  }
+
+  /**
+   * Resolves the method of a name for some arguments. A method
+   * that is not overloaded by the number of the arguments is
+   * returned as is. Among overloads, the most specific one that
+   * is applicable to the classes of the arguments is chosen as
+   * the Java language would for arguments of those types: first
+   * without unboxing and then with unboxing and primitive
+   * widening; a <code>null</code> argument applies to any
+   * reference parameter. The resolution is kept for the same
+   * name and classes of arguments.
+   * 
+   * @param name the name of the method
+   * @param args the arguments
+   * @return the entry of the method
+   * @throws NoSuchMethodException if no method applies
+   * @throws IllegalArgumentException if no applicable overload is
+   *         the most specific
+   */
+  Entry resolve(String name, Object[] args) throws NoSuchMethodException {
+    final Entry entry = find(name, args.length);
+    if (entry == null) {
+      throw new NoSuchMethodException(
+          type.getName() + "." + name + " with " + args.length + " parameters");
+    }
+    if (entry != OVERLOADED) {
+      return entry;
+    }
+    final Class<?>[] types = new Class<?>[args.length];
+    for (int i = 0; i < args.length; ++i) {
+      types[i] = args[i] == null ? null : args[i].getClass();
+    }
+    final Signature signature = new Signature(name, types);
+    Entry overload = resolved.get(signature);
+    if (overload != null) {
+      return overload;
+    }
+    final List<Entry> candidates = overloads.get(key(name, args.length));
+    overload = mostSpecific(candidates, types, false);
+    if (overload == null) {
+      overload = mostSpecific(candidates, types, true);
+    }
+    if (overload == null) {
+      throw new NoSuchMethodException(
+          type.getName() + "." + name + " for " + Arrays.toString(types));
+    }
+    if (resolved.size() >= MAX_RESOLVED) {
+      // Make room for the new signature
+      final Iterator<Signature> it = resolved.keySet().iterator();
+      if (it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    }
+    resolved.putIfAbsent(signature, overload);
+    return overload;
+  }
+
+  /**
+   * @return the number of resolved overloads that are kept
+   */
+  int resolvedSize() {
+    return resolved.size();
+  }
+
+  private Entry mostSpecific(List<Entry> candidates, Class<?>[] types, boolean unboxing) {
+    final List<Entry> applicable = new ArrayList<>();
+    for (Entry candidate : candidates) {
+      if (isApplicable(candidate.method.getParameterTypes(), types, unboxing)) {
+        applicable.add(candidate);
+      }
+    }
+    if (applicable.isEmpty()) {
+      return null;
+    }
+    Entry best = null;
+    for (Entry candidate : applicable) {
+      boolean maximal = true;
+      for (Entry other : applicable) {
+        if (other != candidate && !isMoreSpecific(candidate, other)) {
+          maximal = false;
+          break;
+        }
+      }
+      if (maximal) {
+        best = candidate;
+        break;
+      }
+    }
+    if (best == null) {
+      throw new IllegalArgumentException("Ambiguous method " + type.getName() + "."
+          + applicable.get(0).method.getName() + " for " + Arrays.toString(types));
+    }
+    return best;
+  }
+
+  private static boolean isApplicable(Class<?>[] parameters, Class<?>[] types,
+      boolean unboxing) {
+    for (int i = 0; i < parameters.length; ++i) {
+      final Class<?> parameter = parameters[i];
+      final Class<?> type = types[i];
+      if (type == null) {
+        if (parameter.isPrimitive()) {
+          return false;
+        }
+      } else if (parameter.isPrimitive()) {
+        if (!unboxing || !isWidening(PRIMITIVES.get(type), parameter)) {
+          return false;
+        }
+      } else if (!parameter.isAssignableFrom(type)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isMoreSpecific(Entry e1, Entry e2) {
+    final Class<?>[] p1 = e1.method.getParameterTypes();
+    final Class<?>[] p2 = e2.method.getParameterTypes();
+    for (int i = 0; i < p1.length; ++i) {
+      if (p1[i].isPrimitive() && p2[i].isPrimitive()) {
+        if (!isWidening(p1[i], p2[i])) {
+          return false;
+        }
+      } else if (!p2[i].isAssignableFrom(p1[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return <code>true</code> if a value of primitive type
+   *         <code>from</code> converts to <code>to</code> by
+   *         identity or widening
+   */
+  private static boolean isWidening(Class<?> from, Class<?> to) {
+    if (from == null) {
+      return false;
+    }
+    if (from == to) {
+      return true;
+    }
+    if (from == boolean.class || to == boolean.class || to == char.class) {
+      return false;
+    }
+    if (from == char.class) {
+      return WIDENING.indexOf(to) >= WIDENING.indexOf(int.class);
+    }
+    return WIDENING.indexOf(from) < WIDENING.indexOf(to);
+  }
+
+  private static String key(String name, int arity) {
+    return name + '/' + arity;
+  }
+
+  private static MethodHandle invoker(MethodHandles.Lookup lookup, Method method, int arity) {
+    try {
+      return lookup.unreflect(method).asSpreader(Object[].class, arity).asType(INVOKER_TYPE);
+    } catch (IllegalAccessException e) {
+      // Fails on every invocation like a reflective call would
+      final MethodHandle thrower = MethodHandles.throwException(Object.class,
+          IllegalAccessException.class).bindTo(e);
+      return MethodHandles.dropArguments(thrower, 0, Object.class, Object[].class);
+    }
+  }
+
+}
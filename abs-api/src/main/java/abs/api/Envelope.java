@@ -1,5 +1,6 @@
 package abs.api;
 
+import java.time.Instant;
 import java.util.Objects;
 
 /**
@@ -44,13 +45,43 @@ public interface Envelope {
   <V> Response<V> response();
 
   /**
-   * Provides a unique sequence that is assigned to this
-   * envelope.
+   * Provides the sequence that is assigned to this envelope.
+   * Sequences are increasing for the envelopes of the same
+   * sender and may repeat among different senders.
    *
-   * @return the unique sequence of this envelope
+   * @return the sequence of this envelope
    */
   long sequence();
 
+  /**
+   * Checks if this envelope has no response. The outcome of a
+   * one-way message is not kept and no response needs to be
+   * completed for it.
+   *
+   * @see Actor#tell(Object, Object)
+   * @return <code>true</code> if the sender does not expect a
+   *         response; otherwise <code>false</code>
+   */
+  default boolean isOneWay() {
+    return false;
+  }
+
+  /**
+   * Provides the deadline of this envelope on the clock of the
+   * context; see {@link Timed#now()}. A deadline does not expire
+   * an envelope; it only orders the envelope in a deadline
+   * mailbox and its inbox among the ready ones, and a later
+   * completion is counted as a missed deadline.
+   *
+   * @see Mailbox#deadlines()
+   * @see ActorStatistics#getMissedDeadlines()
+   * @return the deadline of the envelope or <code>null</code>
+   *         if it has none
+   */
+  default Instant deadline() {
+    return null;
+  }
+
   /**
    * Checks if this is a message from an actor to itself.
    * 
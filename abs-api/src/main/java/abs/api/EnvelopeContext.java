@@ -1,5 +1,7 @@
 package abs.api;
 
+import java.util.List;
+
 /**
  * An envelope context provides a snapshot view of a {@link Context}
  * based on a single bound {@link Envelope} instance. The main purpose
@@ -67,10 +69,34 @@ public interface EnvelopeContext extends Context {
 			return context.newActor(name, object);
 		}
 
+		@Override
+		public Actor newActor(String name, Object object, ActorOptions options) {
+			return context.newActor(name, object, options);
+		}
+
+		@Override
+		public ActorStatistics statistics(Object actor) {
+			return context.statistics(actor);
+		}
+
+		@Override
+		public Envelope newEnvelope(Reference from, Reference to, Object message,
+				boolean oneWay) {
+			return context.newEnvelope(from, to, message, oneWay);
+		}
+
 		public Router router() {
 			return context.router();
 		}
 
+		public void route(Envelope envelope) {
+			context.route(envelope);
+		}
+
+		public void route(List<? extends Envelope> envelopes) {
+			context.route(envelopes);
+		}
+
 		public Notary notary() {
 			return context.notary();
 		}
@@ -30,7 +30,13 @@ class EnvelopeFutureTask extends FutureTask<Object> implements ComparableRunnabl
 		this.envelope = envelope;
 	}
 
-	/** {@inheritDoc} */
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * Only tasks of the same receiver and the same sender are
+	 * ordered and by {@link ObjectInbox#ENVELOPE_COMPARATOR}.
+	 */
 	@Override
 	public int compareTo(ComparableRunnableFuture c) {
 		if (c instanceof EnvelopeFutureTask == false) {
@@ -40,7 +46,10 @@ class EnvelopeFutureTask extends FutureTask<Object> implements ComparableRunnabl
 		if (envelope.to().compareTo(o.envelope.to()) != 0) {
 			return 0;
 		}
-		return Long.compare(envelope.sequence(), o.envelope.sequence());
+		if (!SimpleEnvelope.isSameSender(envelope.from(), o.envelope.from())) {
+			return 0;
+		}
+		return ObjectInbox.ENVELOPE_COMPARATOR.compare(envelope, o.envelope);
 	}
 
 }
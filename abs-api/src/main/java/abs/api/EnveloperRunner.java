@@ -6,14 +6,20 @@ import java.util.function.Consumer;
 /**
  * A {@link Runnable} to execute an instance of {@link Envelope}
  * . The runner expects either a {@link Callable} or a
- * {@link Runnable} from {@link Envelope#message()}. Execution
- * of the message is contained and no exception is propagated.
+ * {@link Runnable} from {@link Envelope#message()}; or any other
+ * message if its receiver has {@link MessageHandlers} or is a
+ * {@link Behavior}. Execution of the message is contained and no
+ * exception is propagated.
  */
 class EnveloperRunner implements Runnable, Comparable<EnveloperRunner> {
 
-  private final Envelope envelope;
-  private final Context context;
-  private final EnvelopeListener envelopeListener;
+  private static final Recycler<EnveloperRunner> POOL =
+      new Recycler<>(16, () -> new EnveloperRunner(null));
+
+  private Envelope envelope;
+  private Context context;
+  private EnvelopeListener envelopeListener;
+  private Object receiver;
 
   /**
    * Ctor
@@ -39,25 +45,70 @@ class EnveloperRunner implements Runnable, Comparable<EnveloperRunner> {
     this.envelopeListener = envelopeListener;
   }
 
+  /**
+   * Takes a runner from the pool of the current thread. The
+   * runner should be returned with {@link #release()} after it
+   * is run.
+   * 
+   * @param envelope the {@link Envelope}
+   * @param context the current {@link Context}
+   * @param envelopeListener an {@link EnvelopeListener}
+   * @param receiver the object of the receiver of the envelope
+   * @return a pooled runner
+   */
+  static EnveloperRunner acquire(Envelope envelope, Context context,
+      EnvelopeListener envelopeListener, Object receiver) {
+    final EnveloperRunner runner = POOL.acquire();
+    runner.envelope = envelope;
+    runner.context = context;
+    runner.envelopeListener = envelopeListener;
+    runner.receiver = receiver;
+    return runner;
+  }
+
+  /**
+   * Returns this runner to the pool of the current thread.
+   */
+  void release() {
+    this.envelope = null;
+    this.context = null;
+    this.envelopeListener = null;
+    this.receiver = null;
+    POOL.release(this);
+  }
+
   @Override
   public final void run() {
-    final Object msg = envelope.message();
-    final Response<Object> response = envelope.response();
-    executeMessage(msg, response);
+    final Envelope previous = ContextThread.currentEnvelope(envelope);
+    try {
+      executeMessage(envelope.message());
+    } finally {
+      ContextThread.currentEnvelope(previous);
+    }
   }
 
+  /**
+   * Only runners of envelopes from the same sender are ordered.
+   *
+   * @see ObjectInbox#ENVELOPE_COMPARATOR
+   */
   @Override
   public int compareTo(EnveloperRunner o) {
-    return Long.compare(envelope.sequence(), o.envelope.sequence());
+    return ObjectInbox.ENVELOPE_COMPARATOR.compare(envelope, o.envelope);
   }
 
-  protected void executeMessage(final Object msg, final Response<Object> response) {
+  protected void executeMessage(final Object msg) {
     if (msg instanceof Runnable) {
-      executeRunnableEnvelope(msg, response);
+      executeRunnableEnvelope(msg);
       return;
     }
     if (msg instanceof Callable) {
-      executeCallableMessage(msg, response);
+      executeCallableMessage(msg);
+      return;
+    }
+    final MessageHandlers handlers = MessageHandlers.handlersOf(receiver);
+    if (handlers != null || receiver instanceof Behavior) {
+      executeHandledMessage(handlers, msg);
       return;
     }
     throw new IllegalArgumentException("Unknown executable envelope type: " + msg);
@@ -70,30 +121,48 @@ class EnveloperRunner implements Runnable, Comparable<EnveloperRunner> {
     return envelope;
   }
 
-  private void executeCallableMessage(final Object msg, final Response<Object> response) {
+  private void executeCallableMessage(final Object msg) {
     try {
       onOpen();
       Object result = ((Callable<?>) msg).call();
-      response.complete(result);
+      complete(result, null);
     } catch (Throwable e) {
-      response.completeExceptionally(e);
+      complete(null, e);
     } finally {
       onComplete();
     }
   }
 
-  private void executeRunnableEnvelope(final Object msg, final Response<Object> response) {
+  private void executeRunnableEnvelope(final Object msg) {
     try {
       onOpen();
       ((Runnable) msg).run();
-      response.complete(null);
+      complete(null, null);
+    } catch (Throwable e) {
+      complete(null, e);
+    } finally {
+      onComplete();
+    }
+  }
+
+  private void executeHandledMessage(final MessageHandlers handlers, final Object msg) {
+    try {
+      onOpen();
+      Object result = handlers == null ? ((Behavior) receiver).respond(msg)
+          : handlers.handle(receiver, msg);
+      complete(result, null);
     } catch (Throwable e) {
-      response.completeExceptionally(e);
+      complete(null, e);
     } finally {
       onComplete();
     }
   }
 
+  private void complete(Object value, Throwable error) {
+    // Does not create the response if not requested
+    SimpleEnvelope.complete(envelope, value, error);
+  }
+
   private void onComplete() {
     if (envelopeListener != null) {
       envelopeListener.onComplete(envelope, context);
@@ -0,0 +1,37 @@
+package abs.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of an actor object as the handler of the
+ * messages of the class of its only parameter. A message that is
+ * not a {@link Runnable}, a {@link java.util.concurrent.Callable}
+ * or a {@link MethodReference} is opened by the handler of its
+ * class or, if there is none, of its closest superclass or
+ * interface. The result of the handler is the result of the
+ * message.
+ *
+ * <pre>
+ * class Account implements Actor {
+ *   &#64;Handles
+ *   long deposit(Deposit deposit) {
+ *     return balance += deposit.amount;
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>
+ * If the actor is also a {@link Behavior}, the messages without a
+ * handler are given to {@link Behavior#respond(Object)}.
+ *
+ * @see MessageHandlers
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Handles {
+}
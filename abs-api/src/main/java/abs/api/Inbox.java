@@ -27,7 +27,8 @@ public interface Inbox extends Contextual {
 	 * @param receiver
 	 *            the recipient of the envelope
 	 * @return a future value capturing the result of eventually opening
-	 *         the envelop by the receiver
+	 *         the envelop by the receiver; possibly <code>null</code>
+	 *         if the envelope is {@link Envelope#isOneWay() one-way}
 	 * @param <V>
 	 *            a V object.
 	 */
@@ -0,0 +1,394 @@
+package abs.api;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import abs.api.SimpleEnvelope.Outcome;
+
+/**
+ * The {@link Response} of a pooled envelope for its sender. It
+ * only creates its {@link ContextResponse} on its first use; if
+ * it is completed before, it only keeps the outcome. Thus, a
+ * message whose response is never used does not allocate a
+ * future. Different from {@link ContextResponse}, this is not a
+ * {@link CompletableFuture}; see {@link #toCompletableFuture()}.
+ *
+ * @see SimpleEnvelope#senderResponse(Envelope)
+ * @param <V> the type of the value of the response
+ */
+class LazyResponse<V> implements Response<V> {
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<LazyResponse, Object> STATE =
+      AtomicReferenceFieldUpdater.newUpdater(LazyResponse.class, Object.class, "state");
+
+  // null, the response once used or the outcome if completed
+  // before
+  private volatile Object state;
+
+  /**
+   * Completes this response with the outcome of its message.
+   *
+   * @param value the result of the message
+   * @param error the failure of the message or <code>null</code>
+   * @return <code>true</code> if this completed the response
+   */
+  boolean complete(V value, Throwable error) {
+    for (;;) {
+      final Object s = state;
+      if (s instanceof Response) {
+        final Response<V> response = asResponse(s);
+        return error == null ? response.complete(value) : response.completeExceptionally(error);
+      }
+      if (s != null) {
+        return false;
+      }
+      if (STATE.compareAndSet(this, null, Outcome.of(value, error))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @return the response that is created on the first use
+   */
+  private Response<V> response() {
+    for (;;) {
+      final Object s = state;
+      if (s instanceof Response) {
+        return asResponse(s);
+      }
+      final ContextResponse<V> response = new ContextResponse<>();
+      if (s != null) {
+        final Outcome outcome = (Outcome) s;
+        if (outcome.error == null) {
+          response.complete(valueOf(outcome));
+        } else {
+          response.completeExceptionally(outcome.error);
+        }
+      }
+      if (STATE.compareAndSet(this, s, response)) {
+        return response;
+      }
+    }
+  }
+
+  /**
+   * @return the outcome if completed before the first use or
+   *         <code>null</code>
+   */
+  private Outcome outcome() {
+    final Object s = state;
+    return s instanceof Outcome ? (Outcome) s : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Response<V> asResponse(Object response) {
+    // Only a response of this value type is kept
+    return (Response<V>) response;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueOf(Outcome outcome) {
+    // Only complete(V, Throwable) keeps an outcome
+    return (V) outcome.value;
+  }
+
+  @Override
+  public boolean complete(V value) {
+    return complete(value, null);
+  }
+
+  @Override
+  public boolean completeExceptionally(Throwable t) {
+    return complete(null, t);
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    complete(null, new CancellationException());
+    return isCancelled();
+  }
+
+  @Override
+  public boolean isCancelled() {
+    final Object s = state;
+    if (s instanceof Response) {
+      return asResponse(s).isCancelled();
+    }
+    return s != null && ((Outcome) s).error instanceof CancellationException;
+  }
+
+  @Override
+  public boolean isDone() {
+    final Object s = state;
+    return s instanceof Response ? asResponse(s).isDone() : s != null;
+  }
+
+  @Override
+  public boolean isCompleted() {
+    final Outcome outcome = outcome();
+    return outcome != null ? outcome.error == null : response().isCompleted();
+  }
+
+  @Override
+  public boolean isCompletedExceptionally() {
+    final Outcome outcome = outcome();
+    return outcome != null ? outcome.error != null : response().isCompletedExceptionally();
+  }
+
+  @Override
+  public V get() throws InterruptedException, ExecutionException {
+    return response().get();
+  }
+
+  @Override
+  public V get(long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return response().get(timeout, unit);
+  }
+
+  @Override
+  public V getValue() {
+    return response().getValue();
+  }
+
+  @Override
+  public void await(Duration deadline) {
+    response().await(deadline);
+  }
+
+  @Override
+  public <E extends Throwable> E getException() {
+    return response().getException();
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenApply(Function<? super V, ? extends U> fn) {
+    return response().thenApply(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenApplyAsync(Function<? super V, ? extends U> fn) {
+    return response().thenApplyAsync(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenApplyAsync(Function<? super V, ? extends U> fn,
+      Executor executor) {
+    return response().thenApplyAsync(fn, executor);
+  }
+
+  @Override
+  public CompletionStage<Void> thenAccept(Consumer<? super V> action) {
+    return response().thenAccept(action);
+  }
+
+  @Override
+  public CompletionStage<Void> thenAcceptAsync(Consumer<? super V> action) {
+    return response().thenAcceptAsync(action);
+  }
+
+  @Override
+  public CompletionStage<Void> thenAcceptAsync(Consumer<? super V> action, Executor executor) {
+    return response().thenAcceptAsync(action, executor);
+  }
+
+  @Override
+  public CompletionStage<Void> thenRun(Runnable action) {
+    return response().thenRun(action);
+  }
+
+  @Override
+  public CompletionStage<Void> thenRunAsync(Runnable action) {
+    return response().thenRunAsync(action);
+  }
+
+  @Override
+  public CompletionStage<Void> thenRunAsync(Runnable action, Executor executor) {
+    return response().thenRunAsync(action, executor);
+  }
+
+  @Override
+  public <U, R> CompletionStage<R> thenCombine(CompletionStage<? extends U> other,
+      BiFunction<? super V, ? super U, ? extends R> fn) {
+    return response().thenCombine(other, fn);
+  }
+
+  @Override
+  public <U, R> CompletionStage<R> thenCombineAsync(CompletionStage<? extends U> other,
+      BiFunction<? super V, ? super U, ? extends R> fn) {
+    return response().thenCombineAsync(other, fn);
+  }
+
+  @Override
+  public <U, R> CompletionStage<R> thenCombineAsync(CompletionStage<? extends U> other,
+      BiFunction<? super V, ? super U, ? extends R> fn, Executor executor) {
+    return response().thenCombineAsync(other, fn, executor);
+  }
+
+  @Override
+  public <U> CompletionStage<Void> thenAcceptBoth(CompletionStage<? extends U> other,
+      BiConsumer<? super V, ? super U> action) {
+    return response().thenAcceptBoth(other, action);
+  }
+
+  @Override
+  public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+      BiConsumer<? super V, ? super U> action) {
+    return response().thenAcceptBothAsync(other, action);
+  }
+
+  @Override
+  public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+      BiConsumer<? super V, ? super U> action, Executor executor) {
+    return response().thenAcceptBothAsync(other, action, executor);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterBoth(CompletionStage<?> other, Runnable action) {
+    return response().runAfterBoth(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action) {
+    return response().runAfterBothAsync(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action,
+      Executor executor) {
+    return response().runAfterBothAsync(other, action, executor);
+  }
+
+  @Override
+  public <U> CompletionStage<U> applyToEither(CompletionStage<? extends V> other,
+      Function<? super V, U> fn) {
+    return response().applyToEither(other, fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends V> other,
+      Function<? super V, U> fn) {
+    return response().applyToEitherAsync(other, fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends V> other,
+      Function<? super V, U> fn, Executor executor) {
+    return response().applyToEitherAsync(other, fn, executor);
+  }
+
+  @Override
+  public CompletionStage<Void> acceptEither(CompletionStage<? extends V> other,
+      Consumer<? super V> action) {
+    return response().acceptEither(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends V> other,
+      Consumer<? super V> action) {
+    return response().acceptEitherAsync(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends V> other,
+      Consumer<? super V> action, Executor executor) {
+    return response().acceptEitherAsync(other, action, executor);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterEither(CompletionStage<?> other, Runnable action) {
+    return response().runAfterEither(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action) {
+    return response().runAfterEitherAsync(other, action);
+  }
+
+  @Override
+  public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action,
+      Executor executor) {
+    return response().runAfterEitherAsync(other, action, executor);
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenCompose(
+      Function<? super V, ? extends CompletionStage<U>> fn) {
+    return response().thenCompose(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenComposeAsync(
+      Function<? super V, ? extends CompletionStage<U>> fn) {
+    return response().thenComposeAsync(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> thenComposeAsync(
+      Function<? super V, ? extends CompletionStage<U>> fn, Executor executor) {
+    return response().thenComposeAsync(fn, executor);
+  }
+
+  @Override
+  public CompletionStage<V> exceptionally(Function<Throwable, ? extends V> fn) {
+    return response().exceptionally(fn);
+  }
+
+  @Override
+  public CompletionStage<V> whenComplete(BiConsumer<? super V, ? super Throwable> action) {
+    return response().whenComplete(action);
+  }
+
+  @Override
+  public CompletionStage<V> whenCompleteAsync(BiConsumer<? super V, ? super Throwable> action) {
+    return response().whenCompleteAsync(action);
+  }
+
+  @Override
+  public CompletionStage<V> whenCompleteAsync(BiConsumer<? super V, ? super Throwable> action,
+      Executor executor) {
+    return response().whenCompleteAsync(action, executor);
+  }
+
+  @Override
+  public <U> CompletionStage<U> handle(BiFunction<? super V, Throwable, ? extends U> fn) {
+    return response().handle(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> handleAsync(BiFunction<? super V, Throwable, ? extends U> fn) {
+    return response().handleAsync(fn);
+  }
+
+  @Override
+  public <U> CompletionStage<U> handleAsync(BiFunction<? super V, Throwable, ? extends U> fn,
+      Executor executor) {
+    return response().handleAsync(fn, executor);
+  }
+
+  @Override
+  public CompletableFuture<V> toCompletableFuture() {
+    return response().toCompletableFuture();
+  }
+
+  @Override
+  public String toString() {
+    final Object s = state;
+    return "LazyResponse(" + (s instanceof Response ? s : isDone() ? "completed" : "pending")
+        + ")";
+  }
+
+}
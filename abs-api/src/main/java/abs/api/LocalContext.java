@@ -1,8 +1,15 @@
 package abs.api;
 
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.FutureTask;
 
 import javax.annotation.PostConstruct;
 
@@ -25,10 +32,15 @@ public class LocalContext implements Context {
 	private Router router;
 	private Opener opener;
 	private Inbox inbox;
+	private ContextInbox contextInbox;
 	private Notary notary;
 	private ExecutorService executor;
 	private ReferenceFactory referenceFactory;
-	private final ExecutorService routerExecutor = Executors.newSingleThreadExecutor();
+	private RouterLanes routerLanes;
+	private boolean isDirectRoutingEnabled;
+	private boolean isEnvelopePoolingEnabled;
+	private Passivator passivator;
+	private final ConcurrentMap<URI, FutureTask<Object>> activations = new ConcurrentHashMap<>();
 
 	/**
 	 * <p>
@@ -63,7 +75,12 @@ public class LocalContext implements Context {
 	@Override
 	public void initialize() throws Exception {
 		this.executor = configuration.getExecutorService();
-		
+		this.isDirectRoutingEnabled = configuration.isDirectRoutingEnabled();
+		// Logged or remote envelopes may be used after they are
+		// processed
+		this.isEnvelopePoolingEnabled = configuration.isEnvelopePoolingEnabled()
+				&& !configuration.isLoggingEnabled() && !configuration.isRemoteMessagingEnabled();
+
 		Router messageRouter = configuration.getRouter();
 		if (messageRouter == null) {
           throw new IllegalArgumentException("No " + Router.class + " is defined for this context");
@@ -72,6 +89,7 @@ public class LocalContext implements Context {
             new LoggingRouter(this.configuration.isLoggingEnabled(), this.configuration.getLogPath());
 		this.router = new RouterCollection(messageRouter, loggingRouter);
 		this.router.bind(this);
+		this.routerLanes = new RouterLanes(configuration.getRoutingLanes(), this.router);
 
 		this.opener = configuration.getOpener();
 		if (this.opener == null) {
@@ -83,8 +101,12 @@ public class LocalContext implements Context {
           throw new IllegalArgumentException("No " + Inbox.class + " is defined for this context");
 		}
 		this.inbox.bind(this);
+		if (this.inbox instanceof ContextInbox) {
+			this.contextInbox = (ContextInbox) this.inbox;
+		}
 
 		this.notary = new LocalNotary();
+		this.passivator = configuration.getPassivator();
 		this.referenceFactory = configuration.getReferenceFactory();
 		
 		newActor(Actor.NOBODY.simpleName(), Actor.NOBODY);
@@ -93,14 +115,216 @@ public class LocalContext implements Context {
 	/** {@inheritDoc} */
 	@Override
 	public Actor newActor(String name, Object object) {
+		return newActor(name, object, ActorOptions.DEFAULT);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * If envelope pooling is enabled, the envelope is taken from a
+	 * pool of the current thread.
+	 */
+	@Override
+	public Envelope newEnvelope(Reference from, Reference to, Object message, boolean oneWay) {
+		if (isEnvelopePoolingEnabled) {
+			return SimpleEnvelope.pooled(from, to, message, oneWay);
+		}
+		return new SimpleEnvelope(from, to, message, oneWay);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * If envelope pooling is enabled, the envelope is taken from a
+	 * pool of the current thread.
+	 */
+	@Override
+	public Envelope newEnvelope(Reference from, Reference to, Object message, Instant deadline) {
+		if (isEnvelopePoolingEnabled) {
+			return SimpleEnvelope.pooled(from, to, message, false, deadline);
+		}
+		return new SimpleEnvelope(from, to, message, deadline);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * An actor without an inbox, e.g. before its first message or
+	 * after its passivation, has empty statistics.
+	 */
+	@Override
+	public ActorStatistics statistics(Object actor) {
+		if (inbox instanceof ContextInbox == false) {
+			return null;
+		}
+		// A reference resolves to its object; an actor object is
+		// itself a reference that is not resolved
+		final boolean isReference = actor instanceof ContextActor
+				|| actor instanceof Reference && actor instanceof Actor == false;
+		final Object resolved = isReference ? object((Reference) actor) : null;
+		final Object object = resolved != null ? resolved : actor;
+		// Statistics do not create an inbox for the actor
+		final ObjectInbox oi = ((ContextInbox) inbox).existing(object);
+		return oi != null ? oi.statistics() : new ActorStatistics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The inbox of the actor is created with its options before the
+	 * actor is registered; thus, no message can reach the actor
+	 * before its options apply.
+	 */
+	@Override
+	public Actor newActor(String name, Object object, ActorOptions options) {
+		if (opener instanceof DefaultOpener && object != null) {
+			// Build the dispatch table and the handlers of the
+			// class before its first message; invalid handlers
+			// fail before the actor is registered
+			DispatchTable.of(object.getClass());
+			MessageHandlers.of(object.getClass());
+		}
+		final Reference reference = referenceFactory.create(name);
+		final Actor ref = ContextActor.of(reference, this);
+		final boolean eager = options != ActorOptions.DEFAULT && inbox instanceof ContextInbox;
+		if (eager) {
+			((ContextInbox) inbox).inbox(object, options, ref);
+		}
 		try {
-			final Reference reference = referenceFactory.create(name);
-			final Actor ref = ContextActor.of(reference, this);
 			notary.add(ref, object);
-			return ref;
 		} catch (RuntimeException e) {
+			if (eager) {
+				((ContextInbox) inbox).discard(object);
+			}
 			throw e;
 		}
+		return ref;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The envelope is routed on the routing lane of its receiver
+	 * which preserves the order of envelopes from a sender to the
+	 * same receiver. If direct routing is enabled and the sender
+	 * runs on a {@link ContextThread} or a worker of the
+	 * work-stealing executor, the envelope is routed on
+	 * the sending thread as long as the lane of the receiver is
+	 * idle; i.e. no earlier envelope can be overtaken. The
+	 * backpressure of a bounded mailbox of the receiver is applied
+	 * on the sending thread before the envelope is routed.
+	 */
+	@Override
+	public void route(Envelope envelope) {
+		if (contextInbox != null && !contextInbox.admit(envelope)) {
+			return;
+		}
+		final int key = RouterLanes.key(envelope);
+		if (isDirectRoutingEnabled && isWorkerThread() && routerLanes.isIdle(key)) {
+			RouterLanes.route(router, envelope);
+			return;
+		}
+		routerLanes.route(key, envelope);
+	}
+
+	/**
+	 * @return <code>true</code> if the current thread runs the
+	 *         actors of this context
+	 */
+	private boolean isWorkerThread() {
+		final Thread t = Thread.currentThread();
+		return t instanceof ContextThread || t instanceof ForkJoinWorkerThread
+				&& ((ForkJoinWorkerThread) t).getPool() == executor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>
+	 * The envelopes are split by their routing lanes and every
+	 * lane routes its share in one task.
+	 */
+	@Override
+	public void route(List<? extends Envelope> envelopes) {
+		if (contextInbox != null) {
+			final List<Envelope> admitted = new ArrayList<>(envelopes.size());
+			for (Envelope envelope : envelopes) {
+				if (contextInbox.admit(envelope)) {
+					admitted.add(envelope);
+				}
+			}
+			routerLanes.route(admitted);
+			return;
+		}
+		routerLanes.route(envelopes);
+	}
+
+	/**
+	 * Activates an actor that is released by the
+	 * {@link Passivator} of this context. Concurrent activations
+	 * of the same reference are coalesced into one call of
+	 * {@link Passivator#activate(Reference)}.
+	 *
+	 * @param reference
+	 *            the reference of the actor
+	 * @return the actor object or <code>null</code> if it cannot
+	 *         be activated
+	 */
+	Object activate(Reference reference) {
+		if (passivator == null || passivator == Passivator.NONE) {
+			return null;
+		}
+		final FutureTask<Object> task = new FutureTask<>(() -> {
+			final Object existing = notary.get(reference);
+			if (existing != null) {
+				return existing;
+			}
+			final Object object = passivator.activate(reference);
+			if (object != null) {
+				notary.add(reference instanceof ContextActor ? reference
+						: ContextActor.of(reference, this), object);
+			}
+			return object;
+		});
+		final FutureTask<Object> running = activations.putIfAbsent(reference.name(), task);
+		if (running != null) {
+			return await(running);
+		}
+		try {
+			task.run();
+			return await(task);
+		} finally {
+			activations.remove(reference.name(), task);
+		}
+	}
+
+	/**
+	 * Notifies the {@link Passivator} of this context that an
+	 * envelope is routed to an actor in memory.
+	 *
+	 * @param reference
+	 *            the reference of the actor
+	 */
+	void onResident(Reference reference) {
+		if (passivator != null && passivator != Passivator.NONE) {
+			passivator.onResident(reference);
+		}
+	}
+
+	private static Object await(FutureTask<Object> task) {
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Cannot activate actor", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
 	}
 
 	/** {@inheritDoc} */
@@ -132,10 +356,10 @@ public class LocalContext implements Context {
 	public void execute(Runnable command) {
       try {
       // Semantics:
-      // Every message to an object should be queued in the
-      // order that it is received. Here, #get() ensures such
-      // order of queueing.
-        routerExecutor.submit(command);
+      // Every command from the same thread should be run in the
+      // order that it is received. Here, the lane of the current
+      // thread ensures such order.
+        routerLanes.execute(Thread.currentThread().hashCode(), command);
       } catch (Exception e) {
         // Ignore: What can we do??!
       }
@@ -145,13 +369,18 @@ public class LocalContext implements Context {
 	@Override
 	public void stop() throws Exception {
 		try {
-		    routerExecutor.shutdownNow();
+		    routerLanes.stop();
+		    if (inbox instanceof Lifecycle) {
+		      ((Lifecycle) inbox).stop();
+		    }
 			List<Runnable> tasks = executor.shutdownNow();
 			for (Runnable task : tasks) {
               if (task instanceof EnveloperRunner) {
                 EnveloperRunner er = (EnveloperRunner) task;
-                Response<Object> f = er.envelope().response();
-                f.cancel(true);
+                if (!er.envelope().isOneWay()) {
+                  Response<Object> f = er.envelope().response();
+                  f.cancel(true);
+                }
               }
 			}
 			ContextThread.shutdown();
@@ -1,15 +1,16 @@
 package abs.api;
 
 import java.net.URI;
-import java.util.IdentityHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * An in-memory implementation of Notary. Note that this implementation
- * uses {@link java.util.IdentityHashMap} to implement
- * {@link #get(Reference)}. As part of the life cycle, the local
- * registry is wiped when this instance is stopped.
+ * uses a {@link ConcurrentIdentityMap} to implement
+ * {@link #get(Object)}; thus, both directions are safe to use from
+ * many threads and a reverse lookup needs no lock. A removed
+ * reference is removed in both directions. As part of the life cycle,
+ * the local registry is wiped when this instance is stopped.
  *
  * @see Notary
  * @author Behrooz Nobakht
@@ -18,7 +19,7 @@ import java.util.concurrent.ConcurrentMap;
 public class LocalNotary implements Notary {
 
 	private final ConcurrentMap<URI, Object> refs = new ConcurrentHashMap<>(8192);
-	private final IdentityHashMap<Object, Reference> ids = new IdentityHashMap<>(8192);
+	private final ConcurrentIdentityMap<Object, Reference> ids = new ConcurrentIdentityMap<>(8192);
 
 	/** {@inheritDoc} */
 	@Override
@@ -33,8 +34,17 @@ public class LocalNotary implements Notary {
 	/** {@inheritDoc} */
 	@Override
 	public boolean remove(Reference reference) {
-		Object oldValue = refs.remove(key(reference));
-		return oldValue != null;
+		final URI key = key(reference);
+		Object oldValue = refs.remove(key);
+		if (oldValue == null) {
+			return false;
+		}
+		// The object may be registered again with another reference
+		final Reference ref = ids.get(oldValue);
+		if (ref != null && key.equals(key(ref))) {
+			ids.remove(oldValue, ref);
+		}
+		return true;
 	}
 
 	/** {@inheritDoc} */
@@ -60,11 +70,8 @@ public class LocalNotary implements Notary {
 
 	@Override
 	public Reference identify(Reference reference) {
-		URI key = key(reference);
-		if (refs.containsKey(key)) {
-			return ids.get(refs.get(key));
-		}
-		return null;
+		final Object object = refs.get(key(reference));
+		return object == null ? null : ids.get(object);
 	}
 
 	/**
@@ -62,8 +62,18 @@ public class LocalRouter implements Router {
 	protected Object findTarget(Reference to) {
 		Object object = context.notary().get(to);
 		if (object != null) {
+			if (context instanceof LocalContext) {
+				((LocalContext) context).onResident(to);
+			}
 			return object;
 		}
+		// The actor may be released by passivation
+		if (context instanceof LocalContext) {
+			object = ((LocalContext) context).activate(to);
+			if (object != null) {
+				return object;
+			}
+		}
 		// The actor itself can be a reference
 		if (to instanceof Actor) {
 			Reference actor = (Actor) to;
@@ -0,0 +1,284 @@
+package abs.api;
+
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A mailbox holds the pending envelopes of one receiver object.
+ * Any number of threads may {@link #offer(Envelope)} into a
+ * mailbox but only one thread at a time, i.e. the one running
+ * the receiver, may {@link #peek()} or {@link #poll()} from
+ * it. A mailbox should keep the order of the envelopes from a
+ * sender to the receiver.
+ *
+ * @see ObjectInbox
+ * @see ConfigurationBuilder#withMailbox(java.util.function.Supplier)
+ */
+public interface Mailbox {
+
+  /**
+   * Adds an envelope to this mailbox. May be used from any
+   * thread.
+   *
+   * @param envelope the envelope
+   * @return <code>true</code> if the envelope is added
+   */
+  boolean offer(Envelope envelope);
+
+  /**
+   * Retrieves, but does not remove, the next envelope.
+   *
+   * @return the next envelope or <code>null</code> if the
+   *         mailbox is empty
+   */
+  Envelope peek();
+
+  /**
+   * Retrieves and removes the next envelope.
+   *
+   * @return the next envelope or <code>null</code> if the
+   *         mailbox is empty
+   */
+  Envelope poll();
+
+  /**
+   * @return <code>true</code> if there is no envelope in this
+   *         mailbox
+   */
+  boolean isEmpty();
+
+  /**
+   * The number of envelopes in this mailbox. This may be an
+   * estimate and is not expected to be used on a hot path.
+   *
+   * @return the number of envelopes in this mailbox
+   */
+  int size();
+
+  /**
+   * Creates a lock-free multi-producer/single-consumer mailbox
+   * that keeps the envelopes in the order of their arrival.
+   * Both {@link #offer(Envelope)} and {@link #poll()} are O(1).
+   *
+   * @return a new lock-free mailbox
+   */
+  static Mailbox lockFree() {
+    return new LockFreeMailbox();
+  }
+
+  /**
+   * Creates a mailbox that keeps the envelopes of every sender
+   * ordered by {@link Envelope#sequence()} using a
+   * {@link PriorityBlockingQueue}. Envelopes of different senders
+   * are ordered by their arrival at the mailbox; i.e. no sender
+   * overtakes another by how few envelopes it has sent.
+   *
+   * @see ObjectInbox#ENVELOPE_COMPARATOR
+   * @return a new sequenced mailbox
+   */
+  static Mailbox sequenced() {
+    return new SequencedMailbox();
+  }
+
+  /**
+   * Creates a mailbox that keeps the envelopes in the order of
+   * the earliest deadline first; see {@link Envelope#deadline()}.
+   * Envelopes without a deadline follow the ones with a deadline
+   * and, as envelopes with the same deadline, are ordered by
+   * their arrival at the mailbox; i.e. no sender overtakes
+   * another by how few envelopes it has sent. Both
+   * {@link #offer(Envelope)} and {@link #poll()} are
+   * O(log n).
+   *
+   * @see ObjectInbox#DEADLINE_COMPARATOR
+   * @return a new deadline mailbox
+   */
+  static Mailbox deadlines() {
+    return new DeadlineMailbox();
+  }
+
+  /**
+   * A linked multi-producer/single-consumer queue. Producers
+   * swap {@link #tail} atomically and then link the previous
+   * tail to their node; the consumer owns {@link #head} which
+   * always points to an already consumed (stub) node.
+   */
+  static final class LockFreeMailbox implements Mailbox {
+
+    static final class Node {
+      private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+          AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+      private Envelope envelope;
+      private volatile Node next;
+
+      Node(Envelope envelope) {
+        this.envelope = envelope;
+      }
+
+      void link(Node node) {
+        NEXT.lazySet(this, node);
+      }
+    }
+
+    private static final AtomicReferenceFieldUpdater<LockFreeMailbox, Node> TAIL =
+        AtomicReferenceFieldUpdater.newUpdater(LockFreeMailbox.class, Node.class, "tail");
+
+    // Only used by the consumer
+    private Node head;
+    private volatile Node tail;
+
+    LockFreeMailbox() {
+      Node stub = new Node(null);
+      this.head = stub;
+      this.tail = stub;
+    }
+
+    @Override
+    public boolean offer(Envelope envelope) {
+      final Node node = new Node(envelope);
+      final Node previous = TAIL.getAndSet(this, node);
+      previous.link(node);
+      return true;
+    }
+
+    @Override
+    public Envelope peek() {
+      final Node next = head.next;
+      return next == null ? null : next.envelope;
+    }
+
+    @Override
+    public Envelope poll() {
+      final Node next = head.next;
+      if (next == null) {
+        return null;
+      }
+      final Envelope envelope = next.envelope;
+      next.envelope = null;
+      head = next;
+      return envelope;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return head.next == null;
+    }
+
+    @Override
+    public int size() {
+      int size = 0;
+      for (Node n = head.next; n != null; n = n.next) {
+        size++;
+      }
+      return size;
+    }
+
+  }
+
+  /**
+   * An envelope and its arrival at a mailbox.
+   */
+  static final class Arrival {
+    private final Envelope envelope;
+    private final long arrival;
+
+    Arrival(Envelope envelope, long arrival) {
+      this.envelope = envelope;
+      this.arrival = arrival;
+    }
+  }
+
+  /**
+   * A mailbox backed by a {@link PriorityBlockingQueue} ordered
+   * by {@link Envelope#sequence()} per sender and then the
+   * arrival of the envelopes.
+   */
+  static final class SequencedMailbox implements Mailbox {
+
+    private static final Comparator<Arrival> COMPARATOR = (e1, e2) -> {
+      final int c = ObjectInbox.ENVELOPE_COMPARATOR.compare(e1.envelope, e2.envelope);
+      return c != 0 ? c : Long.compare(e1.arrival, e2.arrival);
+    };
+
+    private final PriorityBlockingQueue<Arrival> envelopes =
+        new PriorityBlockingQueue<>(512, COMPARATOR);
+    private final AtomicLong arrivals = new AtomicLong();
+
+    @Override
+    public boolean offer(Envelope envelope) {
+      return envelopes.offer(new Arrival(envelope, arrivals.incrementAndGet()));
+    }
+
+    @Override
+    public Envelope peek() {
+      final Arrival e = envelopes.peek();
+      return e == null ? null : e.envelope;
+    }
+
+    @Override
+    public Envelope poll() {
+      final Arrival e = envelopes.poll();
+      return e == null ? null : e.envelope;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return envelopes.isEmpty();
+    }
+
+    @Override
+    public int size() {
+      return envelopes.size();
+    }
+
+  }
+
+  /**
+   * A mailbox backed by a {@link PriorityBlockingQueue} ordered
+   * by {@link Envelope#deadline()} and then the arrival of the
+   * envelopes.
+   */
+  static final class DeadlineMailbox implements Mailbox {
+
+    private static final Comparator<Arrival> COMPARATOR = (e1, e2) -> {
+      final int c = ObjectInbox.DEADLINE_COMPARATOR.compare(e1.envelope, e2.envelope);
+      return c != 0 ? c : Long.compare(e1.arrival, e2.arrival);
+    };
+
+    private final PriorityBlockingQueue<Arrival> envelopes =
+        new PriorityBlockingQueue<>(64, COMPARATOR);
+    private final AtomicLong arrivals = new AtomicLong();
+
+    @Override
+    public boolean offer(Envelope envelope) {
+      return envelopes.offer(new Arrival(envelope, arrivals.incrementAndGet()));
+    }
+
+    @Override
+    public Envelope peek() {
+      final Arrival e = envelopes.peek();
+      return e == null ? null : e.envelope;
+    }
+
+    @Override
+    public Envelope poll() {
+      final Arrival e = envelopes.poll();
+      return e == null ? null : e.envelope;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return envelopes.isEmpty();
+    }
+
+    @Override
+    public int size() {
+      return envelopes.size();
+    }
+
+  }
+
+}
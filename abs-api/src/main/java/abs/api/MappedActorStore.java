@@ -0,0 +1,378 @@
+package abs.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Passivator} that spills passivated actors to a local
+ * memory-mapped file and reloads them on the next envelope. An
+ * actor object is only spilled if it is {@link Serializable};
+ * otherwise it stays in memory.
+ *
+ * <p>
+ * Besides the passivation TTL of the context, the store asks
+ * for more idle actors to be spilled while the used heap is
+ * above a ratio of the maximum heap; a tenth of the resident
+ * actors in every sweep in the configured
+ * {@link Passivator.Eviction} order.
+ *
+ * <p>
+ * The file is split into fixed-size mapped segments. A record is
+ * appended to the current segment and is dropped when its actor
+ * is reloaded; a segment without a live record is reused. The
+ * index of the spilled actors is kept in memory; thus, the file
+ * is only a scratch space of this store and not durable.
+ * Concurrent reloads of the same actor are coalesced by the
+ * context; see {@link LocalContext}.
+ *
+ * <p>
+ * A spilled actor object that is still reachable, e.g. captured
+ * by a message to it, is activated as itself rather than as a
+ * copy from the file; thus, there is only ever one object of an
+ * actor that its messages see.
+ *
+ * <pre>
+ * Context context = Configuration.newConfiguration()
+ *     .withPassivation(Duration.ofMinutes(1), new MappedActorStore(path, Eviction.LRU, 0.75))
+ *     .buildContext();
+ * </pre>
+ */
+public class MappedActorStore implements Passivator, Closeable {
+
+  /**
+   * The default size of a mapped segment of the file.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final int HEADER = Integer.BYTES;
+
+  /**
+   * A mapped region of the file. Only its buffer is read without
+   * the lock of the store.
+   */
+  private static final class Segment {
+    private final int index;
+    private final MappedByteBuffer buffer;
+    // Guarded by the store
+    private int position = 0;
+    private int live = 0;
+
+    Segment(int index, MappedByteBuffer buffer) {
+      this.index = index;
+      this.buffer = buffer;
+    }
+  }
+
+  /**
+   * A spilled actor: the location of its record, segment &lt;&lt; 32
+   * | offset, and its object as long as it is reachable.
+   */
+  private static final class Spilled {
+    private final long location;
+    private final WeakReference<Object> object;
+
+    Spilled(long location, Object object) {
+      this.location = location;
+      this.object = new WeakReference<>(object);
+    }
+  }
+
+  private final FileChannel channel;
+  private final int segmentSize;
+  private final Eviction eviction;
+  private final double heapRatio;
+  private final ConcurrentMap<URI, Spilled> index = new ConcurrentHashMap<>();
+  private volatile Segment[] segments = new Segment[0];
+  // Guarded by this
+  private final Deque<Segment> free = new ArrayDeque<>();
+  private Segment current;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder spills = new LongAdder();
+  private final LongAdder reloads = new LongAdder();
+
+  /**
+   * Ctor
+   *
+   * @param file the scratch file of the store; it is truncated
+   * @param eviction the order of the spilled actors under memory
+   *        pressure
+   * @param heapRatio the ratio of the maximum heap above which
+   *        idle actors are spilled regardless of the TTL; at
+   *        least 1 disables it
+   * @throws IOException if the file cannot be opened
+   */
+  public MappedActorStore(Path file, Eviction eviction, double heapRatio) throws IOException {
+    this(file, eviction, heapRatio, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Ctor
+   *
+   * @param file the scratch file of the store; it is truncated
+   * @param eviction the order of the spilled actors under memory
+   *        pressure
+   * @param heapRatio the ratio of the maximum heap above which
+   *        idle actors are spilled regardless of the TTL; at
+   *        least 1 disables it
+   * @param segmentSize the size of a mapped segment; also the
+   *        limit of the size of one serialized actor
+   * @throws IOException if the file cannot be opened
+   */
+  public MappedActorStore(Path file, Eviction eviction, double heapRatio, int segmentSize)
+      throws IOException {
+    if (segmentSize <= HEADER) {
+      throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+    }
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    this.segmentSize = segmentSize;
+    this.eviction = eviction;
+    this.heapRatio = heapRatio;
+  }
+
+  @Override
+  public boolean passivate(Reference reference, Object object) {
+    if (object instanceof Serializable == false) {
+      return false;
+    }
+    final byte[] bytes;
+    try {
+      bytes = serialize(object);
+    } catch (IOException e) {
+      return false;
+    }
+    if (HEADER + bytes.length > segmentSize) {
+      return false;
+    }
+    final long location;
+    try {
+      location = append(bytes);
+    } catch (UncheckedIOException e) {
+      return false;
+    }
+    final Spilled previous = index.put(reference.name(), new Spilled(location, object));
+    if (previous != null) {
+      release(previous.location);
+    }
+    spills.increment();
+    return true;
+  }
+
+  @Override
+  public Object activate(Reference reference) {
+    final Spilled spilled = index.remove(reference.name());
+    if (spilled == null) {
+      return null;
+    }
+    misses.increment();
+    final Object resident = spilled.object.get();
+    if (resident != null) {
+      release(spilled.location);
+      reloads.increment();
+      return resident;
+    }
+    try {
+      final Object object = deserialize(read(spilled.location));
+      release(spilled.location);
+      reloads.increment();
+      return object;
+    } catch (IOException | ClassNotFoundException e) {
+      index.putIfAbsent(reference.name(), spilled);
+      throw new IllegalStateException("Cannot reload actor " + reference, e);
+    }
+  }
+
+  @Override
+  public int excess(int resident) {
+    if (heapRatio >= 1) {
+      return 0;
+    }
+    final Runtime runtime = Runtime.getRuntime();
+    final long used = runtime.totalMemory() - runtime.freeMemory();
+    if (used <= heapRatio * runtime.maxMemory()) {
+      return 0;
+    }
+    return resident / 10 + 1;
+  }
+
+  @Override
+  public Eviction eviction() {
+    return eviction;
+  }
+
+  @Override
+  public void onResident(Reference reference) {
+    hits.increment();
+  }
+
+  /**
+   * @return the number of envelopes routed to an actor in memory
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of activations of spilled actors; the
+   *         envelopes that are routed to an actor while it is
+   *         activated are coalesced into one activation
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the ratio of {@link #getHits()} among the hits and
+   *         the {@link #getMisses()}
+   */
+  public double getHitRate() {
+    final long h = hits.sum();
+    final long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * @return the ratio of {@link #getMisses()} among the hits and
+   *         the misses
+   */
+  public double getMissRate() {
+    final long m = misses.sum();
+    final long total = m + hits.sum();
+    return total == 0 ? 0 : (double) m / total;
+  }
+
+  /**
+   * @return the number of actors spilled to the file
+   */
+  public long getSpills() {
+    return spills.sum();
+  }
+
+  /**
+   * @return the number of actors reloaded; either from the file
+   *         or as their objects that are still reachable
+   */
+  public long getReloads() {
+    return reloads.sum();
+  }
+
+  /**
+   * @return the number of actors currently in the file
+   */
+  public int size() {
+    return index.size();
+  }
+
+  /**
+   * @return the number of mapped bytes of the file
+   */
+  public long getMappedBytes() {
+    return (long) segments.length * segmentSize;
+  }
+
+  /**
+   * Closes the file. Note that the mapped segments are only
+   * unmapped once they are garbage collected.
+   */
+  @Override
+  public void close() throws IOException {
+    index.clear();
+    channel.close();
+  }
+
+  @Override
+  public String toString() {
+    return "MappedActorStore[size=" + size() + ",hits=" + getHits() + ",misses=" + getMisses()
+        + ",mapped=" + getMappedBytes() + "]";
+  }
+
+  private synchronized long append(byte[] bytes) {
+    if (current == null || current.position + HEADER + bytes.length > segmentSize) {
+      current = nextSegment();
+    }
+    final int offset = current.position;
+    final ByteBuffer buffer = current.buffer.duplicate();
+    buffer.position(offset);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+    current.position += HEADER + bytes.length;
+    current.live++;
+    return ((long) current.index << 32) | offset;
+  }
+
+  private synchronized void release(long location) {
+    final Segment segment = segments[(int) (location >>> 32)];
+    if (--segment.live == 0 && segment != current) {
+      segment.position = 0;
+      free.push(segment);
+    }
+  }
+
+  private byte[] read(long location) {
+    final ByteBuffer buffer = segments[(int) (location >>> 32)].buffer.duplicate();
+    buffer.position((int) location);
+    final byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private Segment nextSegment() {
+    if (current != null && current.live == 0) {
+      // Nothing to keep in the current segment
+      current.position = 0;
+      return current;
+    }
+    if (!free.isEmpty()) {
+      return free.pop();
+    }
+    final int n = segments.length;
+    try {
+      final MappedByteBuffer buffer =
+          channel.map(MapMode.READ_WRITE, (long) n * segmentSize, segmentSize);
+      final Segment segment = new Segment(n, buffer);
+      final Segment[] grown = Arrays.copyOf(segments, n + 1);
+      grown[n] = segment;
+      segments = grown;
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] serialize(Object object) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return in.readObject();
+    }
+  }
+
+}
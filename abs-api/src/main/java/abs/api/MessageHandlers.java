@@ -0,0 +1,330 @@
+package abs.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Handlers of messages by the class of the message. A message is
+ * opened by the handler of its class or, if there is none, of its
+ * closest superclass and then of its interfaces breadth first.
+ * The handler of a class of messages is looked up once and kept
+ * in a map of these handlers; i.e. opening a message costs a
+ * lookup of its class rather than a chain of
+ * <code>instanceof</code> tests in
+ * {@link Behavior#respond(Object)}.
+ *
+ * <p>
+ * Handlers are declared either with {@link Handles} on the
+ * methods of the class of an actor object or with a
+ * {@link Builder} whose handlers become the actor object:
+ *
+ * <pre>
+ * context.newActor("account", MessageHandlers.newBuilder()
+ *     .on(Deposit.class, d -&gt; balance.addAndGet(d.amount))
+ *     .on(Withdraw.class, w -&gt; balance.addAndGet(-w.amount)));
+ * </pre>
+ *
+ * <p>
+ * A message without a handler is given to the
+ * {@link Behavior#respond(Object)} of the actor object if it is a
+ * behavior, or to {@link Builder#otherwise(Handler)}; otherwise
+ * it fails with an {@link IllegalArgumentException}.
+ *
+ * @see DefaultOpener
+ */
+public final class MessageHandlers implements Behavior {
+
+  /**
+   * Handles a message of a class.
+   *
+   * @param <M> the class of the messages
+   */
+  @FunctionalInterface
+  public interface Handler<M> {
+
+    /**
+     * @param message the message
+     * @return the result of the message
+     * @throws Exception the failure of the message
+     */
+    Object handle(M message) throws Exception;
+  }
+
+  /**
+   * A builder of handlers that opens messages without any actor
+   * object but the handlers themselves.
+   */
+  public static final class Builder {
+    private final Map<Class<?>, Invoker> handlers = new HashMap<>();
+    private Handler<Object> otherwise = null;
+
+    private Builder() {}
+
+    /**
+     * Adds the handler of a class of messages.
+     *
+     * @param type the class of the messages
+     * @param handler the handler of the messages
+     * @param <M> the class of the messages
+     * @return this builder
+     * @throws IllegalArgumentException if the class already has a
+     *         handler
+     */
+    public <M> Builder on(Class<M> type, Handler<? super M> handler) {
+      Objects.requireNonNull(handler, "handler");
+      if (handlers.containsKey(Objects.requireNonNull(type, "type"))) {
+        throw new IllegalArgumentException("More than one handler of " + type.getName());
+      }
+      handlers.put(type, new Invoker(handler, null));
+      return this;
+    }
+
+    /**
+     * @param handler the handler of the messages without a handler
+     *        of their class
+     * @return this builder
+     */
+    public Builder otherwise(Handler<Object> handler) {
+      this.otherwise = handler;
+      return this;
+    }
+
+    /**
+     * @return the handlers built so far
+     */
+    public MessageHandlers build() {
+      return new MessageHandlers(new HashMap<>(handlers), otherwise);
+    }
+  }
+
+  /**
+   * Invokes either a handler of a {@link Builder} or a method with
+   * {@link Handles} of the exact type
+   * <code>(Object, Object)Object</code> on an actor object. Its
+   * message is known to be of the class of the handler.
+   */
+  static final class Invoker {
+    private final Handler<Object> handler;
+    private final MethodHandle method;
+
+    @SuppressWarnings("unchecked")
+    Invoker(Handler<?> handler, MethodHandle method) {
+      this.handler = (Handler<Object>) handler;
+      this.method = method;
+    }
+
+    Object invoke(Object target, Object message) throws Throwable {
+      if (handler != null) {
+        return handler.handle(message);
+      }
+      return (Object) method.invokeExact(target, message);
+    }
+  }
+
+  private static final MethodType INVOKER_TYPE =
+      MethodType.methodType(Object.class, Object.class, Object.class);
+
+  private static final ClassValue<MessageHandlers> ANNOTATED =
+      new ClassValue<MessageHandlers>() {
+        @Override
+        protected MessageHandlers computeValue(Class<?> type) {
+          return annotated(type);
+        }
+      };
+
+  // The lookup of a class of messages without a handler
+  private static final Invoker NONE = new Invoker(null, null);
+
+  private final Map<Class<?>, Invoker> handlers;
+  private final Handler<Object> otherwise;
+  // The handler of a class of messages including a superclass or
+  // an interface; NONE if there is none. A ClassValue of every
+  // instance would add an entry to each class of messages.
+  private final ConcurrentMap<Class<?>, Invoker> lookup = new ConcurrentHashMap<>();
+
+  private MessageHandlers(Map<Class<?>, Invoker> handlers, Handler<Object> otherwise) {
+    this.handlers = handlers;
+    this.otherwise = otherwise;
+  }
+
+  /**
+   * Creates a new builder of handlers.
+   *
+   * @return the new builder
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Provides the handlers declared with {@link Handles} in a class
+   * and its superclasses; builds them on the first use.
+   *
+   * @param type the class of an actor object
+   * @return the handlers of the class or <code>null</code> if it
+   *         declares none
+   * @throws IllegalArgumentException if a handler is not an
+   *         instance method of one non-primitive parameter, is
+   *         not accessible or a class of messages has more than
+   *         one handler in a class
+   */
+  static MessageHandlers of(Class<?> type) {
+    return ANNOTATED.get(type);
+  }
+
+  /**
+   * Provides the handlers of an actor object.
+   *
+   * @param target the actor object
+   * @return the object itself if it is built with a
+   *         {@link Builder}, the handlers of its class or
+   *         <code>null</code> if it has none
+   */
+  static MessageHandlers handlersOf(Object target) {
+    if (target instanceof MessageHandlers) {
+      return (MessageHandlers) target;
+    }
+    return target == null ? null : ANNOTATED.get(target.getClass());
+  }
+
+  /**
+   * @return the classes of messages that have a handler
+   */
+  public Set<Class<?>> types() {
+    return Collections.unmodifiableSet(handlers.keySet());
+  }
+
+  /**
+   * Handles a message with these handlers.
+   *
+   * @param message the message
+   * @return the result of the handler of the message
+   * @throws IllegalArgumentException if there is no handler of
+   *         the message
+   * @throws UndeclaredThrowableException if the handler fails with
+   *         a checked exception
+   */
+  @Override
+  public Object respond(Object message) {
+    try {
+      return handle(this, message);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  /**
+   * Handles a message on an actor object.
+   *
+   * @param target the actor object; these handlers if they are
+   *        built with a {@link Builder}
+   * @param message the message
+   * @return the result of the handler of the message
+   * @throws Throwable the failure of the handler or an
+   *         {@link IllegalArgumentException} if the message has no
+   *         handler
+   */
+  Object handle(Object target, Object message) throws Throwable {
+    final Invoker invoker = message == null ? NONE : lookup(message.getClass());
+    if (invoker != NONE) {
+      return invoker.invoke(target, message);
+    }
+    if (target != this && target instanceof Behavior) {
+      return ((Behavior) target).respond(message);
+    }
+    if (otherwise != null) {
+      return otherwise.handle(message);
+    }
+    throw new IllegalArgumentException("No handler for message: " + message);
+  }
+
+  private Invoker lookup(Class<?> type) {
+    final Invoker invoker = lookup.get(type);
+    return invoker != null ? invoker : lookup.computeIfAbsent(type, this::closest);
+  }
+
+  private Invoker closest(Class<?> type) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      final Invoker invoker = handlers.get(c);
+      if (invoker != null) {
+        return invoker;
+      }
+    }
+    final Deque<Class<?>> interfaces = new ArrayDeque<>();
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      Collections.addAll(interfaces, c.getInterfaces());
+    }
+    final Set<Class<?>> visited = new HashSet<>();
+    while (interfaces.isEmpty() == false) {
+      final Class<?> c = interfaces.poll();
+      if (visited.add(c) == false) {
+        continue;
+      }
+      final Invoker invoker = handlers.get(c);
+      if (invoker != null) {
+        return invoker;
+      }
+      Collections.addAll(interfaces, c.getInterfaces());
+    }
+    return NONE;
+  }
+
+  private static MessageHandlers annotated(Class<?> type) {
+    final Map<Class<?>, Invoker> handlers = new HashMap<>();
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      final Set<Class<?>> declared = new HashSet<>();
+      for (Method method : c.getDeclaredMethods()) {
+        if (method.isBridge() || method.isAnnotationPresent(Handles.class) == false) {
+          continue;
+        }
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+            || method.getParameterTypes()[0].isPrimitive()) {
+          throw new IllegalArgumentException(
+              "A handler should be an instance method of one non-primitive parameter: "
+                  + method);
+        }
+        final Class<?> message = method.getParameterTypes()[0];
+        if (declared.add(message) == false) {
+          throw new IllegalArgumentException(
+              "More than one handler of " + message.getName() + " in " + c.getName());
+        }
+        // A handler of a subclass replaces the one it overrides
+        if (handlers.containsKey(message) == false) {
+          handlers.put(message, invoker(lookup, method));
+        }
+      }
+    }
+    return handlers.isEmpty() ? null : new MessageHandlers(handlers, null);
+  }
+
+  private static Invoker invoker(MethodHandles.Lookup lookup, Method method) {
+    try {
+      method.setAccessible(true);
+    } catch (RuntimeException e) {
+      // Left to the lookup below
+    }
+    try {
+      return new Invoker(null, lookup.unreflect(method).asType(INVOKER_TYPE));
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException("Inaccessible handler: " + method, e);
+    }
+  }
+
+}
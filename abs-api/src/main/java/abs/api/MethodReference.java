@@ -41,12 +41,13 @@ public interface MethodReference extends Reference {
 
 	/**
 	 * A default comparator for an instance of {@link MethodReference}
-	 * that identifies two method reference as equal based on their
-	 * {@link Method} signature.
+	 * that orders method references by their owner and then by the
+	 * name of their {@link Method}.
 	 */
 	static Comparator<MethodReference> COMPARATOR = (m1, m2) -> {
-		if (m1.owner().compareTo(m2.owner()) != 0) {
-			return 0;
+		final int c = m1.owner().compareTo(m2.owner());
+		if (c != 0) {
+			return c;
 		}
 		return m1.name().compareTo(m2.name());
 	};
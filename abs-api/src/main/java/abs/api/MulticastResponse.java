@@ -0,0 +1,96 @@
+package abs.api;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The aggregated {@link Response} of a multicast. It completes
+ * with the values of all responses in the order of the
+ * receivers once all of them are completed, or fails with the
+ * first failure among them.
+ *
+ * @see Actor#multicast(java.util.Collection, Object)
+ * @param <V> the type of the value of every response
+ */
+class MulticastResponse<V> extends ContextResponse<List<V>> {
+
+  private final Object[] values;
+  private final AtomicInteger remaining;
+
+  /**
+   * Ctor
+   *
+   * @param size the number of the aggregated responses
+   */
+  MulticastResponse(int size) {
+    this.values = new Object[size];
+    this.remaining = new AtomicInteger(size);
+    if (size == 0) {
+      complete(values());
+    }
+  }
+
+  /**
+   * The response of the envelope of a receiver that aggregates
+   * its outcome without a future of its own.
+   */
+  private final class Part extends LazyResponse<V> {
+    private final int index;
+
+    Part(int index) {
+      this.index = index;
+    }
+
+    @Override
+    boolean complete(V value, Throwable error) {
+      if (!super.complete(value, error)) {
+        return false;
+      }
+      aggregate(index, value, error);
+      return true;
+    }
+  }
+
+  /**
+   * Aggregates the response of the envelope of the receiver at
+   * an index. The envelope should not be routed yet.
+   *
+   * @param index the index of the receiver
+   * @param envelope the envelope of the receiver
+   */
+  void add(int index, Envelope envelope) {
+    if (SimpleEnvelope.isPooled(envelope)) {
+      SimpleEnvelope.respond(envelope, new Part(index));
+      return;
+    }
+    add(index, envelope.<V>response());
+  }
+
+  /**
+   * Aggregates the response of the receiver at an index.
+   *
+   * @param index the index of the receiver
+   * @param response the response of the receiver
+   */
+  void add(int index, Response<V> response) {
+    response.whenComplete((value, error) -> aggregate(index, value, error));
+  }
+
+  private void aggregate(int index, V value, Throwable error) {
+    if (error != null) {
+      completeExceptionally(error);
+      return;
+    }
+    values[index] = value;
+    if (remaining.decrementAndGet() == 0) {
+      complete(values());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<V> values() {
+    return (List<V>) Arrays.asList(values);
+  }
+
+}
@@ -1,21 +1,31 @@
 package abs.api;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Deque;
-import java.util.concurrent.BlockingQueue;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * A dedicated {@link Inbox} for a receiver of an
  * {@link Envelope}. This implementation is backed by using an
- * instance of {@link BlockingQueue} for the receiving
+ * instance of {@link Mailbox} for the receiving
  * {@link Envelope}'s and an instance of {@link AtomicReference}
  * of {@link Envelope} for the one currently being processed at
  * a given time.
@@ -34,21 +44,84 @@ import java.util.function.Supplier;
 class ObjectInbox extends AbstractInbox
     implements Opener, Runnable, Supplier<Envelope>, EnvelopeListener {
 
+  /**
+   * Orders the envelopes of the same sender by
+   * {@link Envelope#sequence()}. Sequences only increase per
+   * sender; thus, envelopes of different senders are equal and a
+   * sequenced mailbox orders them by their arrival. See
+   * {@link Mailbox#sequenced()}.
+   */
   protected static final Comparator<Envelope> ENVELOPE_COMPARATOR =
-      (e1, e2) -> Long.compare(e1.sequence(), e2.sequence());
+      (e1, e2) -> SimpleEnvelope.isSameSender(e1.from(), e2.from())
+          ? Long.compare(e1.sequence(), e2.sequence()) : 0;
+  /**
+   * Orders envelopes by the earliest {@link Envelope#deadline()}
+   * first; envelopes without a deadline come last. Envelopes with
+   * the same or no deadline are equal; a deadline mailbox orders
+   * them by their arrival. See {@link Mailbox#deadlines()}.
+   */
+  protected static final Comparator<Envelope> DEADLINE_COMPARATOR =
+      Comparator.comparing(Envelope::deadline,
+          Comparator.nullsLast(Comparator.<Instant>naturalOrder()));
   protected static final Comparator<EnveloperRunner> ENVELOPE_RUNNER_COMPARATOR =
       (er1, er2) -> ENVELOPE_COMPARATOR.compare(er1.envelope(), er2.envelope());
 
+  /**
+   * The default maximum number of envelopes processed in one
+   * scheduling turn.
+   */
+  static final int DEFAULT_THROUGHPUT = 64;
+
+  // Not submitted to the executor
+  static final int IDLE = 0;
+  // Submitted to the executor but not yet running
+  static final int SCHEDULED = 1;
+  // Running on a thread of the executor
+  static final int RUNNING = 2;
+  // Running and signaled after it started; it should not stop
+  // before checking its mailbox again
+  static final int RESCHEDULED = 3;
+  // Being passivated; see #passivate()
+  static final int PASSIVATING = 4;
+  // Passivated and replaced by a new inbox on the next message
+  static final int PASSIVATED = 5;
+
+  private static final AtomicIntegerFieldUpdater<ObjectInbox> PENDING =
+      AtomicIntegerFieldUpdater.newUpdater(ObjectInbox.class, "pending");
+  private static final AtomicLongFieldUpdater<ObjectInbox> DEADLINE =
+      AtomicLongFieldUpdater.newUpdater(ObjectInbox.class, "deadline");
+
   private final Object receiver;
-  private final BlockingQueue<Envelope> unprocessed =
-      new PriorityBlockingQueue<>(512, ENVELOPE_COMPARATOR);
+  private final ExecutorService executor;
+  private final Mailbox unprocessed;
+  private final int throughput;
+  private final int capacity;
+  private final Backpressure backpressure;
+  // The envelopes in a bounded mailbox; see #admit(Envelope)
+  private volatile int pending = 0;
+  // The blocked senders; updated under the lock
+  private volatile int blocked = 0;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition room = lock.newCondition();
 
   // Current non-self non-await message from another actor
   private final AtomicReference<Envelope> current = new AtomicReference<>(null);
   // Queue of await messages to self/others
   private final Deque<Envelope> awq = new ConcurrentLinkedDeque<>();
-  // A lock to prevent multiple executions at the same over the queue
-  private final AtomicBoolean executing = new AtomicBoolean(false);
+  // The schedule state of this inbox; see #schedule()
+  private final AtomicInteger state = new AtomicInteger(IDLE);
+  // Pending guards of awaits on the receiver
+  private final Queue<AwaitCondition> guards = new ConcurrentLinkedQueue<>();
+  private final ActorStatistics statistics = new ActorStatistics();
+  // The end of the last scheduling turn; see #passivate()
+  private volatile long lastActive = System.nanoTime();
+  // The number of processed envelopes; see #processed()
+  private volatile long processed = 0;
+  // The earliest deadline in epoch milliseconds posted since the
+  // start of the last turn; see #deadline()
+  private volatile long deadline = Long.MAX_VALUE;
+  // The hash of the reference of the receiver; see #shardKey()
+  private int shardKey = 0;
 
   /**
    * Ctor
@@ -58,14 +131,312 @@ class ObjectInbox extends AbstractInbox
    * @param executor the {@link ExecutorService}
    */
   public ObjectInbox(Object receiver, ExecutorService executor) {
+    this(receiver, executor, Mailbox.lockFree());
+  }
+
+  /**
+   * Ctor
+   * 
+   * @param receiver the receiver object (owner of the envelope
+   *        queue)
+   * @param executor the {@link ExecutorService}
+   * @param mailbox the {@link Mailbox} for the pending
+   *        envelopes
+   */
+  public ObjectInbox(Object receiver, ExecutorService executor, Mailbox mailbox) {
+    this(receiver, executor, mailbox, DEFAULT_THROUGHPUT);
+  }
+
+  /**
+   * Ctor
+   * 
+   * @param receiver the receiver object (owner of the envelope
+   *        queue)
+   * @param executor the {@link ExecutorService}
+   * @param mailbox the {@link Mailbox} for the pending
+   *        envelopes
+   * @param throughput the maximum number of envelopes processed
+   *        in one scheduling turn before the thread is yielded
+   *        to other inboxes
+   */
+  public ObjectInbox(Object receiver, ExecutorService executor, Mailbox mailbox,
+      int throughput) {
+    this(receiver, executor, mailbox, throughput, 0, Backpressure.FAIL);
+  }
+
+  /**
+   * Ctor
+   * 
+   * @param receiver the receiver object (owner of the envelope
+   *        queue)
+   * @param executor the {@link ExecutorService}
+   * @param mailbox the {@link Mailbox} for the pending
+   *        envelopes
+   * @param throughput the maximum number of envelopes processed
+   *        in one scheduling turn before the thread is yielded
+   *        to other inboxes
+   * @param capacity the maximum number of pending envelopes or
+   *        <code>0</code> for an unbounded mailbox
+   * @param backpressure the policy when the mailbox is full
+   */
+  public ObjectInbox(Object receiver, ExecutorService executor, Mailbox mailbox,
+      int throughput, int capacity, Backpressure backpressure) {
     this.receiver = receiver;
+    this.executor = executor;
+    this.unprocessed = mailbox;
+    this.throughput = throughput;
+    this.capacity = capacity;
+    this.backpressure = backpressure;
   }
 
+  /**
+   * {@inheritDoc}
+   * 
+   * <p>
+   * If the mailbox is bounded, an envelope that holds a slot
+   * reserved by {@link #admit(Envelope)} takes it. Otherwise, if
+   * the mailbox is full, the envelope is rejected or dropped
+   * unless the policy is {@link Backpressure#BLOCK} or
+   * {@link Backpressure#DROP_OLDEST}.
+   */
   @Override
   public <V> Future<V> post(Envelope envelope, Object receiver) {
     assert receiver == this.receiver : "Mismatch " + this.receiver + " : " + receiver;
+    final Future<V> response = SimpleEnvelope.requestedResponse(envelope);
+    final Instant d = envelope.deadline();
+    if (d != null) {
+      lowerDeadline(d);
+    }
+    if (reserved(envelope)) {
+      unprocessed.offer(envelope);
+      return response;
+    }
+    if (capacity > 0 && !isExempt(envelope) && PENDING.incrementAndGet(this) > capacity
+        && (backpressure == Backpressure.FAIL || backpressure == Backpressure.DROP_NEWEST)) {
+      PENDING.decrementAndGet(this);
+      refuse(envelope);
+      return response;
+    }
     unprocessed.offer(envelope);
-    return envelope.response();
+    return response;
+  }
+
+  /**
+   * Applies the backpressure of a bounded mailbox on the thread
+   * of the sender before the envelope is routed. The envelope
+   * reserves a slot of the mailbox that it takes when it is
+   * posted; thus, the envelopes on their way count against the
+   * capacity. A full mailbox blocks the sender with
+   * {@link Backpressure#BLOCK} until it reserves a slot; with
+   * {@link Backpressure#FAIL} and
+   * {@link Backpressure#DROP_NEWEST} the envelope is refused
+   * right away. Only a {@link SimpleEnvelope} can hold a slot;
+   * the others are counted when they are posted as are the
+   * envelopes that are not routed by the context.
+   * 
+   * @param envelope the envelope to be sent to the receiver
+   * @return <code>false</code> if the envelope is refused and
+   *         should not be routed
+   */
+  boolean admit(Envelope envelope) {
+    if (capacity == 0 || isExempt(envelope) || backpressure == Backpressure.DROP_OLDEST) {
+      return true;
+    }
+    if (reserve(envelope)) {
+      return true;
+    }
+    if (backpressure == Backpressure.BLOCK) {
+      block(envelope);
+      return true;
+    }
+    refuse(envelope);
+    return false;
+  }
+
+  /**
+   * @return <code>true</code> if the mailbox has room for the
+   *         envelope; the slot is taken if the envelope can hold
+   *         it
+   */
+  private boolean reserve(Envelope envelope) {
+    if (envelope instanceof SimpleEnvelope == false) {
+      return pending < capacity;
+    }
+    for (int p; (p = pending) < capacity;) {
+      if (PENDING.compareAndSet(this, p, p + 1)) {
+        ((SimpleEnvelope) envelope).reservation(this);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Takes the slot reserved for an envelope. A slot of another
+   * inbox, e.g. one that is passivated since, is given back.
+   * 
+   * @return <code>true</code> if the envelope holds a slot of
+   *         this inbox
+   */
+  private boolean reserved(Envelope envelope) {
+    if (envelope instanceof SimpleEnvelope == false) {
+      return false;
+    }
+    final ObjectInbox holder = ((SimpleEnvelope) envelope).reservation(null);
+    if (holder == null || holder == this) {
+      return holder == this;
+    }
+    holder.taken();
+    return false;
+  }
+
+  private void lowerDeadline(Instant instant) {
+    final long millis = instant.toEpochMilli();
+    for (long d; millis < (d = deadline);) {
+      if (DEADLINE.compareAndSet(this, d, millis)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * The earliest deadline of the envelopes that wait in this
+   * inbox as of when it is submitted; used to pick among the
+   * ready inboxes. This is an estimate: an envelope posted
+   * during a turn may already be processed.
+   * 
+   * @see DeadlineExecutor
+   * @return the earliest deadline in epoch milliseconds or
+   *         {@link Long#MAX_VALUE} if there is none
+   */
+  long deadline() {
+    return deadline;
+  }
+
+  /**
+   * The key by which the receiver is assigned to a shard; the
+   * hash of the name of its reference or of the receiver object
+   * if it has no reference. It is computed once; a concurrent
+   * computation yields the same key.
+   * 
+   * @see ShardedExecutor
+   * @return the shard key of the receiver
+   */
+  int shardKey() {
+    int key = shardKey;
+    if (key == 0) {
+      final Reference reference = context == null ? null : context.reference(receiver);
+      key = reference == null ? System.identityHashCode(receiver) : reference.name().hashCode();
+      if (key == 0) {
+        key = 1;
+      }
+      shardKey = key;
+    }
+    return key;
+  }
+
+  private void block(Envelope envelope) {
+    final Envelope current = ContextThread.currentEnvelope();
+    if (current != null && current.to() != null && current.to().equals(envelope.to())) {
+      // The receiver cannot make room while it sends
+      return;
+    }
+    statistics.onBlocked();
+    lock.lock();
+    try {
+      blocked++;
+      // A taken envelope signals one sender that then reserves
+      // the slot; a passivation releases all
+      while (!reserve(envelope) && !isPassivated()) {
+        room.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // Pass on the signal this sender may have taken
+      room.signal();
+    } finally {
+      blocked--;
+      lock.unlock();
+    }
+  }
+
+  private void refuse(Envelope envelope) {
+    if (backpressure == Backpressure.FAIL) {
+      statistics.onRejected();
+      SimpleEnvelope.complete(envelope, null,
+          new RejectedExecutionException("Mailbox of " + envelope.to() + " is full"));
+      return;
+    }
+    drop(envelope);
+  }
+
+  private void drop(Envelope envelope) {
+    statistics.onDropped();
+    SimpleEnvelope.complete(envelope, null,
+        new CancellationException("Dropped from the mailbox of " + envelope.to()));
+  }
+
+  /**
+   * A guard of an await on the receiver or a continuation of a
+   * response on the receiver is never refused.
+   */
+  private static boolean isExempt(Envelope envelope) {
+    final Object message = envelope.message();
+    return message instanceof AwaitCondition || message instanceof ContextResponse.Continuation;
+  }
+
+  /**
+   * Submits this inbox to the executor if it has an envelope
+   * that can be processed and it is not already submitted. This
+   * should be used whenever this inbox may have become runnable:
+   * after a new envelope is posted or when an await of the owner
+   * ends.
+   *
+   * <p>
+   * The inbox moves through the states {@link #IDLE},
+   * {@link #SCHEDULED}, {@link #RUNNING} and
+   * {@link #RESCHEDULED} only with atomic transitions; thus, it
+   * is submitted at most once at a time and without any lock
+   * shared among inboxes. A signal to a running inbox only marks
+   * it {@link #RESCHEDULED} so that {@link #run()} checks its
+   * mailbox again before it goes idle.
+   */
+  public void schedule() {
+    if (executor == null) {
+      return;
+    }
+    for (;;) {
+      final int s = state.get();
+      if (s == SCHEDULED || s == RESCHEDULED || s == PASSIVATED) {
+        return;
+      }
+      if (s == PASSIVATING) {
+        // Only for as long as the mailbox is checked again
+        Thread.yield();
+        continue;
+      }
+      if (s == RUNNING) {
+        if (state.compareAndSet(RUNNING, RESCHEDULED)) {
+          return;
+        }
+        continue;
+      }
+      if (!isRunnable()) {
+        return;
+      }
+      if (state.compareAndSet(IDLE, SCHEDULED)) {
+        submit();
+        return;
+      }
+    }
+  }
+
+  private void submit() {
+    try {
+      executor.execute(this);
+    } catch (RejectedExecutionException e) {
+      state.set(IDLE);
+    }
   }
 
   @Override
@@ -73,35 +444,198 @@ class ObjectInbox extends AbstractInbox
     return envelope.response();
   }
 
+  /**
+   * Processes at most {@link #throughput} envelopes in one turn.
+   * If the quota is used up and there are still envelopes to
+   * process, the inbox is submitted again to the executor so
+   * that other inboxes get their turn. Before the turn ends, the
+   * pending guards are evaluated in one batch if the receiver
+   * has processed an envelope that may have changed its state.
+   */
   public void run() {
-    if (!executing.compareAndSet(false, true)) {
+    if (!state.compareAndSet(SCHEDULED, RUNNING) && !state.compareAndSet(IDLE, RUNNING)) {
+      // Already running on another thread
       return;
     }
-    for (Envelope envelope = get(); envelope != null; envelope = get()) {
-      super.onOpen(envelope, this, receiver);
-      EnveloperRunner runner = createEnvelopeRunner(envelope);
-      runner.run();
+    deadline = Long.MAX_VALUE;
+    int quota = throughput;
+    int counted = 0;
+    boolean changed = false;
+    for (;;) {
+      for (Envelope envelope; quota > 0 && (envelope = get()) != null; --quota) {
+        final Instant d = envelope.deadline();
+        EnveloperRunner runner = createEnvelopeRunner(envelope);
+        runner.run();
+        if (d != null) {
+          statistics.onDeadline(ContextClock.CLOCK.millis() - d.toEpochMilli());
+        }
+        // Evaluating a guard does not change the receiver
+        changed |= envelope.message() instanceof AwaitCondition == false;
+        runner.release();
+        if (envelope instanceof SimpleEnvelope) {
+          ((SimpleEnvelope) envelope).recycle();
+        }
+      }
+      if (changed && !guards.isEmpty()) {
+        evaluateGuards();
+      }
+      changed = false;
+      // Only the running thread writes these before it leaves
+      processed += throughput - quota - counted;
+      counted = throughput - quota;
+      lastActive = System.nanoTime();
+      if (quota == 0 && isRunnable()) {
+        // The consumer may peek at the envelopes left behind
+        final Envelope next = unprocessed.peek();
+        if (next != null && next.deadline() != null) {
+          lowerDeadline(next.deadline());
+        }
+        // Only a running inbox moves out of RUNNING/RESCHEDULED
+        state.set(SCHEDULED);
+        submit();
+        return;
+      }
+      if (state.compareAndSet(RUNNING, IDLE)) {
+        return;
+      }
+      state.set(RUNNING);
+    }
+  }
+
+  /**
+   * Passivates this inbox if it is idle; i.e. it is not
+   * submitted or running and has no envelope, await or guard.
+   * A passivated inbox never runs again. An envelope that is
+   * posted to it concurrently is either seen here and the
+   * passivation is abandoned, or it is left in the mailbox to
+   * be taken by {@link #drain()}.
+   * 
+   * @return <code>true</code> if this inbox is passivated
+   */
+  boolean passivate() {
+    if (!isIdle() || !state.compareAndSet(IDLE, PASSIVATING)) {
+      return false;
+    }
+    if (!isIdle()) {
+      // A post raced with the passivation
+      state.set(IDLE);
+      schedule();
+      return false;
+    }
+    state.set(PASSIVATED);
+    if (blocked > 0) {
+      // The blocked senders go on to the next inbox
+      lock.lock();
+      try {
+        room.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the receiver object of this inbox
+   */
+  Object receiver() {
+    return receiver;
+  }
+
+  /**
+   * @return <code>true</code> if this inbox is passivated
+   */
+  boolean isPassivated() {
+    return state.get() == PASSIVATED;
+  }
+
+  /**
+   * Takes the envelopes that are posted to this inbox after it
+   * is passivated in their order.
+   * 
+   * @return the envelopes left in the mailbox of this passivated
+   *         inbox
+   */
+  List<Envelope> drain() {
+    final List<Envelope> envelopes = new ArrayList<>();
+    for (Envelope e; (e = unprocessed.poll()) != null;) {
+      envelopes.add(e);
+    }
+    if (capacity > 0) {
+      PENDING.set(this, 0);
     }
-    executing.getAndSet(false);
-    Thread.yield();
+    return envelopes;
+  }
+
+  /**
+   * @return the time in {@link System#nanoTime()} of the end of
+   *         the last scheduling turn of this inbox
+   */
+  long lastActive() {
+    return lastActive;
+  }
+
+  /**
+   * @return the number of envelopes processed by this inbox
+   *         until the end of its last scheduling turn
+   */
+  long processed() {
+    return processed;
+  }
+
+  private boolean isIdle() {
+    return unprocessed.isEmpty() && current.get() == null && awq.isEmpty()
+        && guards.isEmpty();
   }
 
   @Override
   public Envelope get() {
-    final Envelope e = nextEnvelope(unprocessed);
-    if (e == null) {
+    if (isProcessingEnvelope()) {
       return null;
     }
-    if (isProcessingEnvelope()) {
+    if (capacity > 0 && backpressure == Backpressure.DROP_OLDEST) {
+      shed();
+    }
+    final Envelope e = unprocessed.poll();
+    if (e == null) {
       return null;
     }
+    if (capacity > 0 && !isExempt(e)) {
+      taken();
+    }
     this.current.getAndSet(e);
     return e;
   }
 
+  /**
+   * Drops the oldest envelopes of a mailbox over its capacity.
+   */
+  private void shed() {
+    while (pending > capacity) {
+      final Envelope oldest = unprocessed.peek();
+      if (oldest == null || isExempt(oldest)) {
+        return;
+      }
+      unprocessed.poll();
+      taken();
+      drop(oldest);
+    }
+  }
+
+  private void taken() {
+    if (PENDING.decrementAndGet(this) < capacity && blocked > 0) {
+      lock.lock();
+      try {
+        room.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
   @Override
   public void onOpen(Envelope envelope, Context context) {
-    this.unprocessed.remove(envelope);
+    // The envelope is already taken off the mailbox by #get()
     // if (isAwaitEnvelope(envelope)) {
     // notifyStartAwait(envelope, context);
     // }
@@ -125,6 +659,25 @@ class ObjectInbox extends AbstractInbox
     return "ObjectInbox[owner=" + ref + ",busy=" + busy + ",queue=" + size + "]";
   }
 
+  /**
+   * Registers a guard of an await on the receiver that does not
+   * hold yet. The guard is evaluated again only on the thread
+   * that runs this inbox after an envelope is processed.
+   * 
+   * @param guard the pending guard
+   */
+  protected void addGuard(AwaitCondition guard) {
+    guards.add(guard);
+    statistics.onGuardAdded();
+  }
+
+  /**
+   * @return the {@link ActorStatistics} of the receiver
+   */
+  protected ActorStatistics statistics() {
+    return statistics;
+  }
+
   protected void onAwaitStart(Envelope envelope, Context context) {
     this.awq.push(envelope);
     this.current.getAndSet(null);
@@ -132,6 +685,20 @@ class ObjectInbox extends AbstractInbox
 
   protected void onAwaitEnd(Envelope envelope, Context context) {
     this.awq.remove(envelope);
+    schedule();
+  }
+
+  private void evaluateGuards() {
+    int evaluations = 0;
+    for (Iterator<AwaitCondition> it = guards.iterator(); it.hasNext();) {
+      final AwaitCondition guard = it.next();
+      evaluations++;
+      if (guard.test()) {
+        it.remove();
+        statistics.onGuardRemoved();
+      }
+    }
+    statistics.onGuardEvaluations(evaluations);
   }
 
   protected boolean isProcessingEnvelope() {
@@ -139,12 +706,16 @@ class ObjectInbox extends AbstractInbox
     return e != null && isNormalEnvelope(e);
   }
 
+  protected boolean isRunnable() {
+    return !unprocessed.isEmpty() && !isProcessingEnvelope();
+  }
+
   protected boolean isAwaiting() {
     return this.awq.isEmpty() == false;
   }
 
   protected EnveloperRunner createEnvelopeRunner(Envelope envelope) {
-    return new EnveloperRunner(envelope, context, this);
+    return EnveloperRunner.acquire(envelope, context, this, receiver);
   }
 
   protected void notifyStartAwait(Envelope envelope, Context context) {
@@ -173,14 +744,6 @@ class ObjectInbox extends AbstractInbox
     return senderObjectInbox;
   }
 
-  protected Envelope nextEnvelope(BlockingQueue<Envelope> q) {
-    if (q.isEmpty()) {
-      return null;
-    }
-    Envelope env = q.peek();
-    return env;
-  }
-
   private boolean isNormalEnvelope(Envelope e) {
     return e instanceof AwaitEnvelope == false && e.isSelfEnvelope() == false;
   }
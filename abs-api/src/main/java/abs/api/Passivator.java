@@ -0,0 +1,104 @@
+package abs.api;
+
+/**
+ * A hook into the passivation of idle actors of a context. An
+ * actor whose inbox has been empty and idle longer than the
+ * configured TTL drops its inbox; the passivator decides if the
+ * actor object is also released from the {@link Notary} and how
+ * it is activated again on the next envelope sent to it.
+ *
+ * <p>
+ * A released actor keeps its {@link Reference}; an envelope to
+ * it activates the actor on its routing lane before it is
+ * posted. An envelope that is routed concurrently with the
+ * release is posted to the activated object as well; i.e. no
+ * envelope reaches the released object unless it is activated
+ * as itself.
+ *
+ * <p>
+ * Besides the TTL, a passivator may ask for more idle actors to
+ * be passivated, e.g. under memory pressure, with
+ * {@link #excess(int)}; they are chosen by its
+ * {@link #eviction()} order. Only actors that have an inbox,
+ * i.e. have received an envelope, are considered.
+ *
+ * @see ConfigurationBuilder#withPassivation(java.time.Duration,
+ *      Passivator)
+ */
+public interface Passivator {
+
+  /**
+   * Only drops the inboxes of idle actors and keeps all actor
+   * objects.
+   */
+  Passivator NONE = new Passivator() {};
+
+  /**
+   * The order in which idle actors are chosen for
+   * {@link Passivator#excess(int)}.
+   */
+  enum Eviction {
+    /**
+     * The least recently active actors first.
+     */
+    LRU,
+    /**
+     * The actors that have processed the fewest envelopes first.
+     */
+    LFU
+  }
+
+  /**
+   * Called after the inbox of an idle actor is dropped.
+   *
+   * @param reference the reference of the actor
+   * @param object the actor object
+   * @return <code>true</code> if the actor object should be
+   *         released from the {@link Notary}
+   */
+  default boolean passivate(Reference reference, Object object) {
+    return false;
+  }
+
+  /**
+   * Called when an envelope is sent to a reference that has no
+   * actor object.
+   *
+   * @param reference the reference of the actor
+   * @return the activated actor object, possibly the released
+   *         object itself, or <code>null</code> if the reference
+   *         is not known to this passivator
+   */
+  default Object activate(Reference reference) {
+    return null;
+  }
+
+  /**
+   * Called periodically to ask for idle actors to be passivated
+   * regardless of the TTL.
+   *
+   * @param resident the number of actors that have an inbox
+   * @return the number of actors to passivate now
+   */
+  default int excess(int resident) {
+    return 0;
+  }
+
+  /**
+   * @return the order of the actors passivated for
+   *         {@link #excess(int)}
+   */
+  default Eviction eviction() {
+    return Eviction.LRU;
+  }
+
+  /**
+   * Called when an envelope is routed to an actor object that
+   * is in memory; i.e. it needs no activation.
+   *
+   * @param reference the reference of the actor
+   */
+  default void onResident(Reference reference) {
+  }
+
+}
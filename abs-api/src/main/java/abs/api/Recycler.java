@@ -0,0 +1,106 @@
+package abs.api;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of reusable objects per thread. An object is
+ * taken with {@link #acquire()} and handed back with
+ * {@link #release(Object)}, possibly on another thread. Every
+ * thread has its own pool that needs no synchronization. As
+ * objects are often taken on one thread (e.g. a sender) and
+ * released on another (e.g. a receiver), an object released to
+ * a full pool spills over to a small set of slots shared among
+ * threads from which an empty pool takes its objects; an object
+ * that finds no free slot is left to the garbage collector.
+ *
+ * @param <T> the type of the pooled objects
+ */
+final class Recycler<T> {
+
+  private static final class Stack {
+    private final Object[] items;
+    private int size = 0;
+    // The next shared slot to probe
+    private int probe;
+
+    Stack(int capacity) {
+      this.items = new Object[capacity];
+      this.probe = System.identityHashCode(this);
+    }
+  }
+
+  // The number of shared slots that are probed per operation
+  private static final int PROBES = 4;
+
+  private final ThreadLocal<Stack> stacks;
+  private final AtomicReferenceArray<T> shared;
+  private final Supplier<T> factory;
+
+  /**
+   * Ctor
+   *
+   * @param capacity the maximum number of pooled objects per
+   *        thread
+   * @param factory creates a new object when the pool of the
+   *        current thread is empty
+   */
+  Recycler(int capacity, Supplier<T> factory) {
+    this.stacks = ThreadLocal.withInitial(() -> new Stack(capacity));
+    this.shared = new AtomicReferenceArray<>(capacity);
+    this.factory = factory;
+  }
+
+  /**
+   * @return a pooled object of the current thread or a new one
+   */
+  @SuppressWarnings("unchecked")
+  T acquire() {
+    final Stack stack = stacks.get();
+    if (stack.size == 0) {
+      final T t = poll(stack);
+      return t == null ? factory.get() : t;
+    }
+    final T t = (T) stack.items[--stack.size];
+    stack.items[stack.size] = null;
+    return t;
+  }
+
+  /**
+   * Returns an object to the pool of the current thread. The
+   * object should no longer be used by the caller.
+   *
+   * @param t the object to pool
+   */
+  void release(T t) {
+    final Stack stack = stacks.get();
+    if (stack.size < stack.items.length) {
+      stack.items[stack.size++] = t;
+      return;
+    }
+    offer(stack, t);
+  }
+
+  private T poll(Stack stack) {
+    final int length = shared.length();
+    for (int i = 0; i < PROBES; ++i) {
+      final int index = (stack.probe++ & Integer.MAX_VALUE) % length;
+      final T t = shared.get(index);
+      if (t != null && shared.compareAndSet(index, t, null)) {
+        return t;
+      }
+    }
+    return null;
+  }
+
+  private void offer(Stack stack, T t) {
+    final int length = shared.length();
+    for (int i = 0; i < PROBES; ++i) {
+      final int index = (stack.probe++ & Integer.MAX_VALUE) % length;
+      if (shared.get(index) == null && shared.compareAndSet(index, null, t)) {
+        return;
+      }
+    }
+  }
+
+}
@@ -4,10 +4,24 @@ import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * An extension over {@link Future} and {@link CompletionStage}.
  * 
+ * <p>
+ * The continuations of {@link CompletionStage} such as
+ * {@link #thenApply(Function)} run on the thread that completes
+ * the response; i.e. outside of the serial execution of the actor
+ * that registers them. The continuations
+ * {@link #thenOnActor(Function)},
+ * {@link #acceptOnActor(Consumer)} and
+ * {@link #handleOnActor(BiFunction)} run as messages of the actor
+ * that registers them instead; thus, they may safely use the state
+ * of the actor without blocking on {@link #get()}.
+ * 
  * @param <V> the type of value encapsulated by the response
  * 
  * @see Future
@@ -82,4 +96,53 @@ public interface Response<V> extends Future<V>, CompletionStage<V> {
    */
   <E extends Throwable> E getException();
 
+  /**
+   * Continues with the value of this response as a message of the
+   * actor that is processing the current message. If this response
+   * is already complete, the function is applied right away. If
+   * there is no current actor, the function is applied on the
+   * thread that completes this response. The message of the
+   * continuation is never refused by a bounded mailbox of the
+   * actor.
+   * 
+   * @param fn the function of the value of this response
+   * @param <U> the type of the value of the continuation
+   * @return the response of the continuation that fails with the
+   *         failure of this response or of the function
+   */
+  default <U> Response<U> thenOnActor(Function<? super V, ? extends U> fn) {
+    return ContextResponse.continueOnActor(this, (v, e) -> fn.apply(v), false);
+  }
+
+  /**
+   * Similar to {@link #thenOnActor(Function)} with an action that
+   * has no result.
+   * 
+   * @param action the action on the value of this response
+   * @return the response of the continuation that fails with the
+   *         failure of this response or of the action
+   */
+  default Response<Void> acceptOnActor(Consumer<? super V> action) {
+    return ContextResponse.continueOnActor(this, (v, e) -> {
+      action.accept(v);
+      return null;
+    }, false);
+  }
+
+  /**
+   * Similar to {@link #thenOnActor(Function)} with a function that
+   * is applied to either the value or the failure of this
+   * response.
+   * 
+   * @param fn the function of the value or the failure of this
+   *        response; the failure is <code>null</code> if this
+   *        response completes with a value
+   * @param <U> the type of the value of the continuation
+   * @return the response of the continuation that fails with the
+   *         failure of the function
+   */
+  default <U> Response<U> handleOnActor(BiFunction<? super V, Throwable, ? extends U> fn) {
+    return ContextResponse.continueOnActor(this, fn, true);
+  }
+
 }
@@ -0,0 +1,256 @@
+package abs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of ordered routing lanes used by
+ * {@link LocalContext} to route envelopes. Every lane is a
+ * single thread that runs its tasks in the order they are
+ * submitted. A task is assigned to a lane by hashing a key;
+ * thus, all tasks with the same key (e.g. the same receiver of
+ * an {@link Envelope}) keep their FIFO order while tasks with
+ * different keys are routed in parallel.
+ *
+ * <p>
+ * An envelope is queued on its lane as is and routed with the
+ * {@link Router} of the lanes; no task is allocated per
+ * envelope. A batch of envelopes is split by lanes and queued as
+ * one task per lane.
+ *
+ * <p>
+ * A lane thread is only started on its first task.
+ */
+final class RouterLanes implements Lifecycle {
+
+  /**
+   * A single routing lane.
+   */
+  static final class Lane extends Thread {
+    // Either an envelope or a batch of envelopes to route or a
+    // task to run
+    private final BlockingQueue<Object> tasks = new LinkedBlockingQueue<>();
+    private final Router router;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    // Tasks that are submitted but not yet completed
+    private final AtomicInteger pending = new AtomicInteger(0);
+    private volatile boolean running = true;
+
+    /**
+     * Ctor
+     *
+     * @param index the index of the lane
+     * @param router the router of the envelopes
+     */
+    Lane(int index, Router router) {
+      super("jabs-router-" + index);
+      this.router = router;
+      setDaemon(false);
+    }
+
+    void execute(Object task) {
+      if (!started.get() && started.compareAndSet(false, true)) {
+        start();
+      }
+      pending.incrementAndGet();
+      tasks.offer(task);
+    }
+
+    boolean isIdle() {
+      return pending.get() == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void run() {
+      while (running) {
+        final Object task;
+        try {
+          task = tasks.take();
+        } catch (InterruptedException e) {
+          continue;
+        }
+        try {
+          if (task instanceof Envelope) {
+            route(router, (Envelope) task);
+          } else if (task instanceof List) {
+            route(router, (List<Envelope>) task);
+          } else {
+            ((Runnable) task).run();
+          }
+        } catch (Throwable e) {
+          // Ignore: What can we do??!
+        } finally {
+          pending.decrementAndGet();
+        }
+      }
+    }
+
+    @Override
+    public void interrupt() {
+      running = false;
+      super.interrupt();
+    }
+  }
+
+  private final Lane[] lanes;
+
+  /**
+   * Ctor
+   *
+   * @param size the number of lanes; at least one
+   */
+  RouterLanes(int size) {
+    this(size, null);
+  }
+
+  /**
+   * Ctor
+   *
+   * @param size the number of lanes; at least one
+   * @param router the router of the envelopes
+   */
+  RouterLanes(int size, Router router) {
+    if (size < 1) {
+      throw new IllegalArgumentException("At least one routing lane is required: " + size);
+    }
+    this.lanes = new Lane[size];
+    for (int i = 0; i < size; ++i) {
+      this.lanes[i] = new Lane(i, router);
+    }
+  }
+
+  /**
+   * Runs a task on the lane that is selected by the key.
+   *
+   * @param key the hash key that selects the lane
+   * @param task the task to run
+   */
+  void execute(int key, Runnable task) {
+    lanes[index(key)].execute(task);
+  }
+
+  /**
+   * Routes an envelope on the lane that is selected by the key.
+   *
+   * @param key the hash key that selects the lane
+   * @param envelope the envelope to route
+   */
+  void route(int key, Envelope envelope) {
+    lanes[index(key)].execute(envelope);
+  }
+
+  /**
+   * Routes a batch of envelopes with one task per lane. Every
+   * envelope is routed on the lane of its {@link #key(Envelope)};
+   * thus, envelopes keep their order with other envelopes to the
+   * same receiver.
+   *
+   * @param envelopes the envelopes to route
+   */
+  void route(List<? extends Envelope> envelopes) {
+    final List<List<Envelope>> batches = new ArrayList<>(lanes.length);
+    for (int i = 0; i < lanes.length; ++i) {
+      batches.add(null);
+    }
+    for (Envelope envelope : envelopes) {
+      final int index = index(key(envelope));
+      List<Envelope> batch = batches.get(index);
+      if (batch == null) {
+        batch = new ArrayList<>();
+        batches.set(index, batch);
+      }
+      batch.add(envelope);
+    }
+    for (int i = 0; i < lanes.length; ++i) {
+      if (batches.get(i) != null) {
+        lanes[i].execute(batches.get(i));
+      }
+    }
+  }
+
+  /**
+   * The key of the lane of an envelope that is the hash of its
+   * receiver.
+   *
+   * @param envelope the envelope
+   * @return the hash key of the envelope
+   */
+  static int key(Envelope envelope) {
+    final Reference to = envelope.to();
+    return to == null ? 0 : to.name().hashCode();
+  }
+
+  /**
+   * Routes a batch of envelopes on the current thread. A failure
+   * of routing an envelope only completes that envelope.
+   *
+   * @param router the router
+   * @param envelopes the envelopes to route
+   */
+  static void route(Router router, List<? extends Envelope> envelopes) {
+    for (Envelope envelope : envelopes) {
+      route(router, envelope);
+    }
+  }
+
+  /**
+   * Routes an envelope on the current thread. A failure of
+   * routing completes the envelope.
+   *
+   * @param router the router
+   * @param envelope the envelope to route
+   */
+  static void route(Router router, Envelope envelope) {
+    try {
+      router.route(envelope);
+    } catch (Throwable e) {
+      SimpleEnvelope.complete(envelope, null, e);
+    }
+  }
+
+  /**
+   * Checks if the lane of a key has no submitted task that is
+   * not yet completed. A caller may bypass an idle lane without
+   * violating the order of the tasks already submitted to it.
+   *
+   * @param key the hash key that selects the lane
+   * @return <code>true</code> if the lane of the key is idle
+   */
+  boolean isIdle(int key) {
+    return lanes[index(key)].isIdle();
+  }
+
+  /**
+   * @return the number of lanes
+   */
+  int size() {
+    return lanes.length;
+  }
+
+  /**
+   * The lane index of a key.
+   *
+   * @param key the hash key
+   * @return the index of the lane for the key
+   */
+  int index(int key) {
+    if (lanes.length == 1) {
+      return 0;
+    }
+    final int h = key ^ (key >>> 16);
+    return Math.floorMod(h, lanes.length);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    for (Lane lane : lanes) {
+      lane.interrupt();
+    }
+  }
+
+}
@@ -1,17 +1,29 @@
 package abs.api;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
  * A sequencer is a thread-safe unique {@link java.lang.Long}
- * generator.
+ * generator. An implementation may override {@link #getAsLong()}
+ * to avoid boxing.
  *
  * @author Behrooz Nobakht
  * @since 1.0
  */
 @FunctionalInterface
-public interface Sequencer extends Supplier<Long> {
+public interface Sequencer extends Supplier<Long>, LongSupplier {
+
+	/**
+	 * Unboxes {@link #get()}.
+	 *
+	 * @return the next value of the sequencer
+	 */
+	@Override
+	default long getAsLong() {
+		return get();
+	}
 
 	/**
 	 * Creates a sequencer with starting from a specific value.
@@ -38,6 +50,11 @@ public interface Sequencer extends Supplier<Long> {
 
 		@Override
 		public Long get() {
+			return getAsLong();
+		}
+
+		@Override
+		public long getAsLong() {
 			return sequence.incrementAndGet();
 		}
 	}
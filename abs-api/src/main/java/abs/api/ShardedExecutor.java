@@ -0,0 +1,341 @@
+package abs.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An executor with one thread per shard that owns a fixed
+ * partition of the actors by the hash of their reference; see
+ * {@link ObjectInbox#shardKey()}. With thread management, every
+ * shard thread is a {@link ContextThread} pinned to its own CPU.
+ *
+ * <p>
+ * An inbox made runnable on the thread of its own shard is
+ * queued locally without any synchronization. An inbox made
+ * runnable on another shard is handed off through the
+ * single-producer/single-consumer queue of that pair of shards;
+ * any other thread hands off through a shared queue of the
+ * shard. An idle shard parks and is unparked by the next
+ * hand-off.
+ *
+ * <p>
+ * Note that all actors of a shard share one thread: a message
+ * that blocks, e.g. on {@link Response#getValue()} of an actor in
+ * the same shard, blocks the whole shard; such a message should
+ * use {@link Actor#await(Object, Object)} instead.
+ *
+ * @see ConfigurationBuilder#withSharding(int)
+ */
+final class ShardedExecutor extends AbstractExecutorService {
+
+  /**
+   * An unbounded single-producer/single-consumer queue. The
+   * producer owns {@link #tail} and the consumer owns
+   * {@link #head} which always points to an already consumed
+   * (stub) node.
+   */
+  static final class SpscQueue {
+    static final class Node {
+      private Runnable task;
+      private volatile Node next;
+    }
+
+    // Only used by the consumer
+    private Node head;
+    // Only used by the producer
+    private Node tail;
+
+    SpscQueue() {
+      final Node stub = new Node();
+      this.head = stub;
+      this.tail = stub;
+    }
+
+    void offer(Runnable task) {
+      final Node node = new Node();
+      node.task = task;
+      tail.next = node;
+      tail = node;
+    }
+
+    Runnable poll() {
+      final Node next = head.next;
+      if (next == null) {
+        return null;
+      }
+      final Runnable task = next.task;
+      next.task = null;
+      head = next;
+      return task;
+    }
+
+    boolean isEmpty() {
+      return head.next == null;
+    }
+  }
+
+  /**
+   * A shard with its thread, its local queue and its inbound
+   * queues.
+   */
+  final class Shard implements Runnable {
+    private final int index;
+    // Only used by the thread of the shard
+    private final ArrayDeque<Runnable> local = new ArrayDeque<>(256);
+    // inbound[i] is only offered to by the thread of shard i
+    private final SpscQueue[] inbound;
+    private final ConcurrentLinkedQueue<Runnable> external = new ConcurrentLinkedQueue<>();
+    private volatile boolean sleeping = false;
+    private Thread thread;
+    // Only written by the thread of the shard
+    private volatile long localSubmissions = 0;
+    private volatile long crossSubmissions = 0;
+
+    Shard(int index, int shards) {
+      this.index = index;
+      this.inbound = new SpscQueue[shards];
+      for (int i = 0; i < shards; ++i) {
+        inbound[i] = new SpscQueue();
+      }
+    }
+
+    @Override
+    public void run() {
+      current.set(this);
+      try {
+        while (!stopped) {
+          collect();
+          final int n = local.size();
+          if (n == 0) {
+            if (shutdown) {
+              return;
+            }
+            idle();
+            continue;
+          }
+          for (int i = 0; i < n && !stopped; ++i) {
+            runTask(local.poll());
+          }
+        }
+      } finally {
+        current.remove();
+        terminated.countDown();
+      }
+    }
+
+    private void collect() {
+      for (SpscQueue q : inbound) {
+        for (Runnable r; (r = q.poll()) != null;) {
+          local.add(r);
+        }
+      }
+      for (Runnable r; (r = external.poll()) != null;) {
+        local.add(r);
+      }
+    }
+
+    private boolean hasInbound() {
+      for (SpscQueue q : inbound) {
+        if (!q.isEmpty()) {
+          return true;
+        }
+      }
+      return !external.isEmpty();
+    }
+
+    private void idle() {
+      sleeping = true;
+      // A hand-off either is seen here or sees the shard sleeping
+      if (!hasInbound() && !shutdown) {
+        LockSupport.park(this);
+        // An interrupt only matters to stop the shard
+        Thread.interrupted();
+      }
+      sleeping = false;
+    }
+
+    private void wakeUp() {
+      if (sleeping) {
+        LockSupport.unpark(thread);
+      }
+    }
+
+    private void runTask(Runnable task) {
+      try {
+        task.run();
+      } catch (Throwable e) {
+        final Thread t = Thread.currentThread();
+        t.getUncaughtExceptionHandler().uncaughtException(t, e);
+      }
+    }
+  }
+
+  private final Shard[] shards;
+  private final ThreadLocal<Shard> current = new ThreadLocal<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final LongAdder externalSubmissions = new LongAdder();
+  private final CountDownLatch terminated;
+  private volatile boolean shutdown = false;
+  private volatile boolean stopped = false;
+
+  /**
+   * Ctor
+   * 
+   * @param shards the number of shards
+   * @param threadFactory the factory of the shard threads
+   */
+  ShardedExecutor(int shards, ThreadFactory threadFactory) {
+    this.shards = new Shard[shards];
+    this.terminated = new CountDownLatch(shards);
+    for (int i = 0; i < shards; ++i) {
+      this.shards[i] = new Shard(i, shards);
+    }
+    for (Shard shard : this.shards) {
+      shard.thread = threadFactory.newThread(shard);
+      shard.thread.setDaemon(true);
+      shard.thread.start();
+    }
+  }
+
+  /**
+   * The shard of a key of an actor.
+   * 
+   * @param key the key of the actor
+   * @param shards the number of shards
+   * @return the index of the shard
+   */
+  static int shard(int key, int shards) {
+    return Math.floorMod(key ^ (key >>> 16), shards);
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * <p>
+   * An {@link ObjectInbox} runs on the shard of its actor; any
+   * other task runs on the current shard or on the next shard in
+   * turn.
+   */
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    final Shard from = current.get();
+    final Shard to;
+    if (command instanceof ObjectInbox) {
+      to = shards[shard(((ObjectInbox) command).shardKey(), shards.length)];
+    } else if (from != null) {
+      to = from;
+    } else {
+      to = shards[Math.floorMod(next.getAndIncrement(), shards.length)];
+    }
+    if (from == to) {
+      from.local.add(command);
+      from.localSubmissions++;
+      return;
+    }
+    if (from != null) {
+      to.inbound[from.index].offer(command);
+      from.crossSubmissions++;
+    } else {
+      to.external.offer(command);
+      externalSubmissions.increment();
+    }
+    to.wakeUp();
+  }
+
+  /**
+   * @return the number of shards
+   */
+  int shards() {
+    return shards.length;
+  }
+
+  /**
+   * @return the number of tasks queued on the shard they were
+   *         submitted from
+   */
+  long getLocalSubmissions() {
+    long sum = 0;
+    for (Shard shard : shards) {
+      sum += shard.localSubmissions;
+    }
+    return sum;
+  }
+
+  /**
+   * @return the number of tasks handed off from one shard to
+   *         another
+   */
+  long getCrossSubmissions() {
+    long sum = 0;
+    for (Shard shard : shards) {
+      sum += shard.crossSubmissions;
+    }
+    return sum;
+  }
+
+  /**
+   * @return the number of tasks submitted from a thread that is
+   *         not a shard
+   */
+  long getExternalSubmissions() {
+    return externalSubmissions.sum();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    for (Shard shard : shards) {
+      LockSupport.unpark(shard.thread);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * <p>
+   * Only the tasks submitted from other threads than the shards
+   * are returned.
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    stopped = true;
+    shutdown();
+    final List<Runnable> tasks = new ArrayList<>();
+    for (Shard shard : shards) {
+      shard.thread.interrupt();
+      for (Runnable r; (r = shard.external.poll()) != null;) {
+        tasks.add(r);
+      }
+    }
+    return tasks;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+}
@@ -1,5 +1,6 @@
 package abs.api;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
@@ -19,6 +20,17 @@ class SimpleConfiguration implements Configuration {
   private final String logPath;
   private final boolean isRemoteMessagingEnabled;
   private final boolean isThreadManagementEnabled;
+  private final int routingLanes;
+  private final boolean isDirectRoutingEnabled;
+  private final int throughput;
+  private final boolean isEnvelopePoolingEnabled;
+  private final Duration passivationTtl;
+  private final Passivator passivator;
+  private final int mailboxCapacity;
+  private final Backpressure backpressure;
+  private final int deadlineThreads;
+  private final int workStealingThreads;
+  private final int shards;
 
   /**
    * Ctor.
@@ -33,11 +45,26 @@ class SimpleConfiguration implements Configuration {
    * @param logPath
    * @param isRemoteMessagingEnabled
    * @param isThreadManagementEnabled
+   * @param routingLanes
+   * @param isDirectRoutingEnabled
+   * @param throughput
+   * @param isEnvelopePoolingEnabled
+   * @param passivationTtl
+   * @param passivator
+   * @param mailboxCapacity
+   * @param backpressure
+   * @param deadlineThreads
+   * @param workStealingThreads
+   * @param shards
    */
   public SimpleConfiguration(Router envelopeRouter, Opener envelopeOpener, Inbox inbox,
       ReferenceFactory referenceFactory, ExecutorService executorService,
       ThreadFactory threadFactory, final boolean isLoggingEnabled, String logPath,
-      final boolean isRemoteMessagingEnabled, boolean isThreadManagementEnabled) {
+      final boolean isRemoteMessagingEnabled, boolean isThreadManagementEnabled,
+      int routingLanes, boolean isDirectRoutingEnabled, int throughput,
+      boolean isEnvelopePoolingEnabled, Duration passivationTtl, Passivator passivator,
+      int mailboxCapacity, Backpressure backpressure, int deadlineThreads,
+      int workStealingThreads, int shards) {
     this.envelopeRouter = envelopeRouter;
     this.envelopeOpener = envelopeOpener;
     this.inbox = inbox;
@@ -48,6 +75,17 @@ class SimpleConfiguration implements Configuration {
     this.logPath = logPath;
     this.isRemoteMessagingEnabled = isRemoteMessagingEnabled;
     this.isThreadManagementEnabled = isThreadManagementEnabled;
+    this.routingLanes = routingLanes;
+    this.isDirectRoutingEnabled = isDirectRoutingEnabled;
+    this.throughput = throughput;
+    this.isEnvelopePoolingEnabled = isEnvelopePoolingEnabled;
+    this.passivationTtl = passivationTtl;
+    this.passivator = passivator;
+    this.mailboxCapacity = mailboxCapacity;
+    this.backpressure = backpressure;
+    this.deadlineThreads = deadlineThreads;
+    this.workStealingThreads = workStealingThreads;
+    this.shards = shards;
   }
 
   @Override
@@ -100,4 +138,59 @@ class SimpleConfiguration implements Configuration {
     return isThreadManagementEnabled;
   }
 
+  @Override
+  public int getRoutingLanes() {
+    return routingLanes;
+  }
+
+  @Override
+  public boolean isDirectRoutingEnabled() {
+    return isDirectRoutingEnabled;
+  }
+
+  @Override
+  public int getThroughput() {
+    return throughput;
+  }
+
+  @Override
+  public boolean isEnvelopePoolingEnabled() {
+    return isEnvelopePoolingEnabled;
+  }
+
+  @Override
+  public Duration getPassivationTtl() {
+    return passivationTtl;
+  }
+
+  @Override
+  public Passivator getPassivator() {
+    return passivator;
+  }
+
+  @Override
+  public int getMailboxCapacity() {
+    return mailboxCapacity;
+  }
+
+  @Override
+  public Backpressure getBackpressure() {
+    return backpressure;
+  }
+
+  @Override
+  public int getDeadlineThreads() {
+    return deadlineThreads;
+  }
+
+  @Override
+  public int getWorkStealingThreads() {
+    return workStealingThreads;
+  }
+
+  @Override
+  public int getShards() {
+    return shards;
+  }
+
 }
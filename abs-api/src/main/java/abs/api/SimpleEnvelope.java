@@ -1,5 +1,10 @@
 package abs.api;
 
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import abs.api.ContextActor.LocalContextActor;
+
 /**
  * A simple implementation of {@link Envelope}.
  * 
@@ -8,13 +13,63 @@ package abs.api;
  */
 public class SimpleEnvelope implements Envelope {
 
-	private static final Sequencer SEQUENCER = Sequencer.of(0L);
+	/**
+	 * The sequence of the last envelope sent from a thread without
+	 * a sender actor; only used by its own thread.
+	 */
+	private static final class ThreadSequence {
+		private long sequence = 0;
+	}
+
+	private static final ThreadLocal<ThreadSequence> THREAD_SEQUENCE =
+			ThreadLocal.withInitial(ThreadSequence::new);
+
+	/**
+	 * The outcome of an envelope or a {@link LazyResponse} that is
+	 * completed before its response is requested.
+	 */
+	static final class Outcome {
+		private static final Outcome NULL_OUTCOME = new Outcome(null, null);
+
+		final Object value;
+		final Throwable error;
+
+		private Outcome(Object value, Throwable error) {
+			this.value = value;
+			this.error = error;
+		}
+
+		/**
+		 * @param value
+		 *            the result of the message
+		 * @param error
+		 *            the failure of the message or <code>null</code>
+		 * @return the outcome; a message without a result does not
+		 *         allocate
+		 */
+		static Outcome of(Object value, Throwable error) {
+			return value == null && error == null ? NULL_OUTCOME : new Outcome(value, error);
+		}
+	}
+
+	private static final AtomicReferenceFieldUpdater<SimpleEnvelope, Object> FUTURE =
+			AtomicReferenceFieldUpdater.newUpdater(SimpleEnvelope.class, Object.class, "future");
 
-	private final Reference sender;
-	private final Reference receiver;
-	private final Object message;
-	private final Response<Object> future;
-	private final long sequence;
+	private static final Recycler<SimpleEnvelope> POOL = new Recycler<>(1024, SimpleEnvelope::new);
+
+	private Reference sender;
+	private Reference receiver;
+	private Object message;
+	// null, the response or the outcome if completed before the
+	// response is requested
+	private volatile Object future;
+	private long sequence;
+	private Instant deadline;
+	private boolean oneWay = false;
+	private boolean pooled = false;
+	// The inbox whose bounded mailbox holds a slot for this
+	// envelope; see ObjectInbox#admit(Envelope)
+	private ObjectInbox reservation;
 
 	/**
 	 * <p>
@@ -29,11 +84,177 @@ public class SimpleEnvelope implements Envelope {
 	 *            a {@link java.lang.Object} object.
 	 */
 	public SimpleEnvelope(Reference sender, Reference receiver, Object message) {
+		this(sender, receiver, message, false);
+	}
+
+	/**
+	 * <p>
+	 * Constructor for SimpleEnvelope.
+	 * </p>
+	 *
+	 * @param sender
+	 *            a {@link abs.api.Reference} object.
+	 * @param receiver
+	 *            a {@link abs.api.Reference} object.
+	 * @param message
+	 *            a {@link java.lang.Object} object.
+	 * @param oneWay
+	 *            if the envelope has no response
+	 * @see Envelope#isOneWay()
+	 */
+	public SimpleEnvelope(Reference sender, Reference receiver, Object message, boolean oneWay) {
 		this.sender = sender;
 		this.receiver = receiver;
 		this.message = message;
-		this.future = createResponse();
-		this.sequence = SEQUENCER.get();
+		this.sequence = nextSequence(sender);
+		this.oneWay = oneWay;
+	}
+
+	/**
+	 * <p>
+	 * Constructor for SimpleEnvelope with a deadline.
+	 * </p>
+	 *
+	 * @param sender
+	 *            a {@link abs.api.Reference} object.
+	 * @param receiver
+	 *            a {@link abs.api.Reference} object.
+	 * @param message
+	 *            a {@link java.lang.Object} object.
+	 * @param deadline
+	 *            the deadline of the envelope or <code>null</code>
+	 * @see Envelope#deadline()
+	 */
+	public SimpleEnvelope(Reference sender, Reference receiver, Object message, Instant deadline) {
+		this(sender, receiver, message, false);
+		this.deadline = deadline;
+	}
+
+	private SimpleEnvelope() {
+	}
+
+	/**
+	 * Takes an envelope from the pool of the current thread. A
+	 * pooled envelope is returned to the pool with
+	 * {@link #recycle()} once it is processed by its receiver;
+	 * thus, its {@link #response()} should be requested before it
+	 * is routed and the envelope should not be used after.
+	 *
+	 * @param sender
+	 *            the sender
+	 * @param receiver
+	 *            the receiver
+	 * @param message
+	 *            the message
+	 * @param oneWay
+	 *            if the envelope has no response
+	 * @return a pooled envelope
+	 */
+	static SimpleEnvelope pooled(Reference sender, Reference receiver, Object message,
+			boolean oneWay) {
+		return pooled(sender, receiver, message, oneWay, null);
+	}
+
+	/**
+	 * Similar to
+	 * {@link #pooled(Reference, Reference, Object, boolean)} and
+	 * different in that the envelope has a deadline.
+	 *
+	 * @param sender
+	 *            the sender
+	 * @param receiver
+	 *            the receiver
+	 * @param message
+	 *            the message
+	 * @param oneWay
+	 *            if the envelope has no response
+	 * @param deadline
+	 *            the deadline or <code>null</code>
+	 * @return a pooled envelope
+	 */
+	static SimpleEnvelope pooled(Reference sender, Reference receiver, Object message,
+			boolean oneWay, Instant deadline) {
+		final SimpleEnvelope envelope = POOL.acquire();
+		envelope.sender = sender;
+		envelope.receiver = receiver;
+		envelope.message = message;
+		envelope.sequence = nextSequence(sender);
+		envelope.oneWay = oneWay;
+		envelope.deadline = deadline;
+		envelope.pooled = true;
+		return envelope;
+	}
+
+	/**
+	 * Returns this envelope to the pool of the current thread if
+	 * it is taken from a pool; otherwise, does nothing.
+	 */
+	void recycle() {
+		if (!pooled) {
+			return;
+		}
+		this.pooled = false;
+		this.oneWay = false;
+		this.deadline = null;
+		this.sender = null;
+		this.receiver = null;
+		this.message = null;
+		this.future = null;
+		this.reservation = null;
+		POOL.release(this);
+	}
+
+	/**
+	 * Sets the inbox that holds a slot of its bounded mailbox for
+	 * this envelope. The envelope is handed over to the inbox by
+	 * the routing lane; thus, the slot is seen when it is posted.
+	 *
+	 * @param inbox
+	 *            the inbox or <code>null</code> to take the slot
+	 * @return the inbox that held a slot before or
+	 *         <code>null</code>
+	 */
+	ObjectInbox reservation(ObjectInbox inbox) {
+		final ObjectInbox previous = this.reservation;
+		this.reservation = inbox;
+		return previous;
+	}
+
+	/**
+	 * Allocates the sequence of a new envelope. Sequences only
+	 * order the envelopes of the same sender; thus, an actor
+	 * allocates its own sequence and envelopes without a sender
+	 * actor, e.g. from {@link Actor#NOBODY}, use a sequence of
+	 * the sending thread. There is no shared counter among all
+	 * senders.
+	 *
+	 * @param sender the sender of the envelope
+	 * @return the sequence of the new envelope
+	 */
+	static long nextSequence(Reference sender) {
+		if (sender instanceof LocalContextActor) {
+			final LocalContextActor actor = (LocalContextActor) sender;
+			if (!actor.isNobody()) {
+				return actor.nextSequence();
+			}
+		}
+		return ++THREAD_SEQUENCE.get().sequence;
+	}
+
+	/**
+	 * Are the sequences of envelopes from two senders comparable?
+	 * Only the envelopes of the same sender actor are; a sequence
+	 * of a thread does not identify its thread.
+	 *
+	 * @see #nextSequence(Reference)
+	 * @param s1 the sender of an envelope
+	 * @param s2 the sender of another envelope
+	 * @return <code>true</code> if both envelopes are from the
+	 *         same sender actor
+	 */
+	static boolean isSameSender(Reference s1, Reference s2) {
+		return s1 == s2 && s1 instanceof LocalContextActor
+				&& !((LocalContextActor) s1).isNobody();
 	}
 
     /** {@inheritDoc} */
@@ -56,10 +277,173 @@ public class SimpleEnvelope implements Envelope {
 
 	/** {@inheritDoc} */
 	@Override
+	public Instant deadline() {
+		return deadline;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isOneWay() {
+		return oneWay;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The response is only created on the first request. If the
+	 * envelope is already completed, the new response is completed
+	 * with the same outcome.
+	 */
+	@Override
 	public <V> Response<V> response() {
+		for (;;) {
+			final Object f = future;
+			if (f instanceof Response) {
+				return asResponse(f);
+			}
+			final Response<Object> response = createResponse();
+			if (f != null) {
+				complete(response, ((Outcome) f).value, ((Outcome) f).error);
+			}
+			if (FUTURE.compareAndSet(this, f, response)) {
+				return asResponse(response);
+			}
+		}
+	}
+
+	/**
+	 * Completes this envelope with the outcome of its message. If
+	 * no response is requested yet, only the outcome is kept for
+	 * a later {@link #response()}; a message without a result
+	 * does not allocate. A one-way envelope only keeps that it is
+	 * completed and drops the outcome.
+	 *
+	 * @param value
+	 *            the result of the message
+	 * @param error
+	 *            the failure of the message or <code>null</code>
+	 */
+	void complete(Object value, Throwable error) {
+		for (;;) {
+			final Object f = future;
+			if (f instanceof Response) {
+				complete(asResponse(f), value, error);
+				return;
+			}
+			if (f != null) {
+				return;
+			}
+			final Outcome outcome = oneWay ? Outcome.NULL_OUTCOME : Outcome.of(value, error);
+			if (FUTURE.compareAndSet(this, null, outcome)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Types the response of an envelope. The value type of a
+	 * response is only known to the sender that requested it; the
+	 * envelope keeps it as a response of any value.
+	 *
+	 * @param future
+	 *            the {@link Response} kept by an envelope
+	 * @return the response as requested
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V> Response<V> asResponse(Object future) {
 		return (Response<V>) future;
 	}
 
+	/**
+	 * Provides the response of an envelope for its sender before
+	 * the envelope is routed. A pooled envelope may be recycled
+	 * once it is processed; thus, it keeps a {@link LazyResponse}
+	 * that outlives it and only creates a future on its first use.
+	 * Any other envelope creates its {@link #response()}.
+	 *
+	 * @param envelope
+	 *            the envelope that is not routed yet
+	 * @return the response of the envelope
+	 */
+	static <V> Response<V> senderResponse(Envelope envelope) {
+		return isPooled(envelope) ? respond(envelope, new LazyResponse<>()) : envelope.response();
+	}
+
+	/**
+	 * @param envelope
+	 *            the envelope
+	 * @return <code>true</code> if the envelope is taken from a pool
+	 */
+	static boolean isPooled(Envelope envelope) {
+		return envelope instanceof SimpleEnvelope && ((SimpleEnvelope) envelope).pooled;
+	}
+
+	/**
+	 * Keeps the response of a pooled envelope that is not routed
+	 * yet; the envelope completes it once processed.
+	 *
+	 * @see #isPooled(Envelope)
+	 * @param envelope
+	 *            the pooled envelope that is not routed yet
+	 * @param response
+	 *            the response of the envelope
+	 * @return the response
+	 */
+	static <R extends LazyResponse<?>> R respond(Envelope envelope, R response) {
+		((SimpleEnvelope) envelope).future = response;
+		return response;
+	}
+
+	/**
+	 * The response of an envelope that is already handed off to
+	 * its receiver; a pooled envelope may be recycled at any time
+	 * after, thus its response should not be created any more.
+	 *
+	 * @param envelope
+	 *            the envelope
+	 * @return the response of the envelope if it is neither
+	 *         pooled nor one-way or its response is already
+	 *         requested; otherwise <code>null</code>
+	 */
+	static <V> Response<V> requestedResponse(Envelope envelope) {
+		if (envelope instanceof SimpleEnvelope
+				&& (((SimpleEnvelope) envelope).pooled || envelope.isOneWay())) {
+			final Object f = ((SimpleEnvelope) envelope).future;
+			return f instanceof Response ? asResponse(f) : null;
+		}
+		return envelope.response();
+	}
+
+	/**
+	 * Completes an envelope with the outcome of its message. A
+	 * {@link SimpleEnvelope} is completed without creating its
+	 * response; the response of any other envelope is completed
+	 * unless the envelope is one-way.
+	 *
+	 * @param envelope
+	 *            the envelope
+	 * @param value
+	 *            the result of the message
+	 * @param error
+	 *            the failure of the message or <code>null</code>
+	 */
+	static void complete(Envelope envelope, Object value, Throwable error) {
+		if (envelope instanceof SimpleEnvelope) {
+			((SimpleEnvelope) envelope).complete(value, error);
+		} else if (!envelope.isOneWay()) {
+			complete(envelope.response(), value, error);
+		}
+	}
+
+	private static void complete(Response<Object> response, Object value, Throwable error) {
+		if (error == null) {
+			response.complete(value);
+		} else {
+			response.completeExceptionally(error);
+		}
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public long sequence() {
@@ -73,6 +457,9 @@ public class SimpleEnvelope implements Envelope {
       sb.append("id: ").append(sequence).append(", ");
       sb.append("from: ").append(sender).append(", ");
       sb.append("to: ").append(receiver).append(", ");
+      if (deadline != null) {
+        sb.append("deadline: ").append(deadline).append(", ");
+      }
       sb.append("message: ").append(messageString(message)).append(", ");
       sb.append("future: ").append(future);
       return sb.append(")").toString();
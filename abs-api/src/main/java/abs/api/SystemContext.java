@@ -3,6 +3,7 @@ package abs.api;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Instant;
+import java.util.List;
 
 /**
  * A system context is an entry-point to an actor context. The default
@@ -49,12 +50,42 @@ public final class SystemContext implements Context, Contextual {
 		return context.newActor(name, object);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public Actor newActor(String name, Object object, ActorOptions options) {
+		return context.newActor(name, object, options);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public ActorStatistics statistics(Object actor) {
+		return context.statistics(actor);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Envelope newEnvelope(Reference from, Reference to, Object message, boolean oneWay) {
+		return context.newEnvelope(from, to, message, oneWay);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public Router router() {
 		return context.router();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void route(Envelope envelope) {
+		context.route(envelope);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void route(List<? extends Envelope> envelopes) {
+		context.route(envelopes);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public Notary notary() {
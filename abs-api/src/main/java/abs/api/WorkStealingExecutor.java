@@ -0,0 +1,113 @@
+package abs.api;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * An executor of inboxes on work-stealing worker deques. An
+ * inbox that is made runnable on a worker, e.g. by a message
+ * sent from an actor running on it, is pushed onto the deque of
+ * that worker; thus, a chatty pair of actors tends to stay on
+ * one worker and its caches. Idle workers steal from the others.
+ * Any other submission goes to a shared submission queue.
+ *
+ * <p>
+ * The deques are in FIFO mode so that an inbox that yields its
+ * worker after its throughput does not run again before the
+ * inboxes it was pushed after. A message that blocks on a
+ * {@link Response} is compensated by the pool with a spare
+ * worker; see {@link ForkJoinPool#managedBlock}.
+ *
+ * <p>
+ * The workers are named and pinned to CPUs as a
+ * {@link ContextThread} is and keep the current envelope in a
+ * field of their own. A failure of a task is given to the
+ * uncaught exception handler of its worker.
+ *
+ * @see ConfigurationBuilder#withWorkStealing(int)
+ */
+final class WorkStealingExecutor extends ForkJoinPool {
+
+  /**
+   * A worker of the pool that is managed like a
+   * {@link ContextThread}.
+   */
+  static final class Worker extends ForkJoinWorkerThread {
+    private final boolean isThreadManagementEnabled;
+    // Only accessed by this thread; see ContextThread#currentEnvelope()
+    Envelope envelope;
+
+    Worker(ForkJoinPool pool, boolean isThreadManagementEnabled) {
+      super(pool);
+      this.isThreadManagementEnabled = isThreadManagementEnabled;
+      setName(ContextThread.createThreadName());
+    }
+
+    @Override
+    protected void onStart() {
+      super.onStart();
+      if (isThreadManagementEnabled) {
+        ContextThread.setNextAffinity();
+      }
+    }
+  }
+
+  /**
+   * Runs a command and reports its failure like
+   * {@link ForkJoinPool#execute(Runnable)} does, rather than
+   * keeping it in a task that is never joined.
+   */
+  static final class Task extends ForkJoinTask<Void> {
+    private static final long serialVersionUID = 1L;
+
+    private final Runnable command;
+
+    Task(Runnable command) {
+      this.command = command;
+    }
+
+    @Override
+    public Void getRawResult() {
+      return null;
+    }
+
+    @Override
+    protected void setRawResult(Void value) {
+    }
+
+    @Override
+    protected boolean exec() {
+      try {
+        command.run();
+      } catch (Throwable e) {
+        final Thread t = Thread.currentThread();
+        t.getUncaughtExceptionHandler().uncaughtException(t, e);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Ctor
+   * 
+   * @param parallelism the number of workers
+   * @param isThreadManagementEnabled if the workers are pinned
+   *        to CPUs
+   */
+  WorkStealingExecutor(int parallelism, boolean isThreadManagementEnabled) {
+    super(parallelism, pool -> new Worker(pool, isThreadManagementEnabled), null, true);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    final Thread t = Thread.currentThread();
+    if (t instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) t).getPool() == this) {
+      // Only a forked task is pushed onto the deque of the worker
+      new Task(command).fork();
+      return;
+    }
+    super.execute(new Task(command));
+  }
+
+}
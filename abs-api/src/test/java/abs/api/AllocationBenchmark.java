@@ -0,0 +1,122 @@
+package abs.api;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The heap allocated per message with and without
+ * {@link Configuration#PROPERTY_ENVELOPE_POOLING}. Pairs of
+ * actors play ping-pong so that the number of envelopes in
+ * flight stays bounded as in a steady state. The bytes
+ * allocated by all threads of the JVM during the run are divided
+ * by the number of messages, similar to the
+ * <code>gc.alloc.rate.norm</code> of a GC profiler. The messages
+ * themselves are allocated once per pair.
+ *
+ * <pre>
+ * java abs.api.AllocationBenchmark [pairs] [messages-per-pair] [rounds]
+ * </pre>
+ */
+public class AllocationBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Ponger implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Pinger implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private final Ponger ponger;
+    private final CountDownLatch done;
+    private final Runnable ping;
+    private final Runnable pong;
+    private int remaining;
+
+    Pinger(Ponger ponger, int messages, CountDownLatch done) {
+      this.ponger = ponger;
+      this.done = done;
+      this.remaining = messages / 2;
+      this.pong = this::pong;
+      this.ping = () -> ponger.send(this, pong);
+    }
+
+    void pong() {
+      if (remaining-- == 0) {
+        done.countDown();
+        return;
+      }
+      send(ponger, ping);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    final int messages = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    for (boolean pooled : new boolean[] {false, true}) {
+      final ConfigurationBuilder builder =
+          Configuration.newConfiguration().disableThreadManagement().enableDirectRouting();
+      if (pooled) {
+        builder.enableEnvelopePooling();
+      }
+      final Context context = builder.buildContext();
+      // Warm up once and then measure
+      run(context, pairs, messages / 10, threads, pooled, false);
+      for (int i = 0; i < rounds; ++i) {
+        run(context, pairs, messages, threads, pooled, true);
+      }
+    }
+    System.exit(0);
+  }
+
+  static void run(Context context, int pairs, int messages,
+      com.sun.management.ThreadMXBean threads, boolean pooled, boolean report)
+      throws Exception {
+    final CountDownLatch done = new CountDownLatch(pairs);
+    final Pinger[] pingers = new Pinger[pairs];
+    final long id = System.nanoTime();
+    for (int i = 0; i < pairs; ++i) {
+      final Ponger ponger = new Ponger();
+      pingers[i] = new Pinger(ponger, messages, done);
+      context.newActor("ponger-" + id + "-" + i, ponger);
+      context.newActor("pinger-" + id + "-" + i, pingers[i]);
+    }
+    final long bytes0 = allocated(threads);
+    final long t0 = System.nanoTime();
+    for (Pinger pinger : pingers) {
+      context.send(pinger, (Runnable) pinger::pong);
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " pairs left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    final long bytes1 = allocated(threads);
+    final long total = (long) pairs * messages;
+    if (report) {
+      System.out.println(String.format("pooled=%s messages=%d: %.0f msg/s, %.1f bytes/op",
+          pooled, total, (double) total / elapsed * TimeUnit.SECONDS.toNanos(1),
+          (double) (bytes1 - bytes0) / total));
+    }
+  }
+
+  /**
+   * @return the total bytes allocated by all live threads
+   */
+  static long allocated(com.sun.management.ThreadMXBean threads) {
+    long bytes = 0;
+    for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      bytes += Math.max(0, allocated);
+    }
+    return bytes;
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -120,6 +121,12 @@ public class AwaitTest {
 
   }
 
+  static class Gate implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private volatile boolean open = false;
+  }
+
   static class GuardHolder implements Actor {
     private static final long serialVersionUID = 1L;
 
@@ -326,4 +333,69 @@ public class AwaitTest {
     assertThat(gh.releaseCounter.get()).isEqualTo(gh.guards.size());
   }
 
+  @Test
+  public void concurrentAwaitsDoNotStarveOtherSenders() throws Exception {
+    Context context = Configuration.newConfiguration().buildContext();
+    Gate gate = new Gate();
+    context.newActor("gate", gate);
+    Network network = new Network();
+    context.newActor("network-next-to-gate", network);
+
+    final int size = 10_000;
+    List<CompletableFuture<Boolean>> awaits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Response<Boolean> r = context.await(gate, () -> gate.open);
+      awaits.add((CompletableFuture<Boolean>) r);
+    }
+
+    Response<Long> last = null;
+    for (int i = 0; i < 1000; i++) {
+      last = context.send(network, (Callable<Long>) network::newToken);
+    }
+    assertThat(((CompletableFuture<Long>) last).get(30, TimeUnit.SECONDS)).isEqualTo(1000L);
+    assertThat(awaits.stream().filter(CompletableFuture::isDone).count()).isEqualTo(0L);
+
+    context.send(gate, (Runnable) () -> gate.open = true);
+    CompletableFuture.allOf(awaits.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+    for (CompletableFuture<Boolean> await : awaits) {
+      assertThat(await.get()).isTrue();
+    }
+  }
+
+  @Test
+  public void pendingGuardsAreEvaluatedOnlyAfterOtherMessages() throws Exception {
+    Context context = Configuration.newConfiguration().buildContext();
+    Gate gate = new Gate();
+    context.newActor("guarded-gate", gate);
+    // No inbox before the first message: empty statistics
+    assertThat(context.statistics(gate).getPendingGuards()).isEqualTo(0);
+
+    final int size = 100;
+    List<CompletableFuture<Boolean>> awaits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Response<Boolean> r = context.await(gate, () -> gate.open);
+      awaits.add((CompletableFuture<Boolean>) r);
+    }
+    while (context.statistics(gate).getPendingGuards() < size) {
+      Thread.sleep(1);
+    }
+    ActorStatistics statistics = context.statistics(gate);
+    // No message to the gate: no evaluation of the guards
+    Thread.sleep(100);
+    assertThat(statistics.getGuardEvaluations()).isEqualTo(0L);
+
+    ((CompletableFuture<?>) context.send(gate, (Runnable) () -> {
+    })).get(10, TimeUnit.SECONDS);
+    while (statistics.getGuardEvaluations() < size) {
+      Thread.sleep(1);
+    }
+    assertThat(statistics.getPendingGuards()).isEqualTo(size);
+
+    context.send(gate, (Runnable) () -> gate.open = true);
+    CompletableFuture.allOf(awaits.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    assertThat(statistics.getPendingGuards()).isEqualTo(0);
+    assertThat(statistics.getGuardEvaluations()).isEqualTo(2L * size);
+    assertThat(statistics.getGuardEvaluationsPerSecond()).isGreaterThan(0.0);
+  }
+
 }
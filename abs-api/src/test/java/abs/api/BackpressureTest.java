@@ -0,0 +1,182 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.gen5.api.Assertions.expectThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around bounded mailboxes and their {@link Backpressure}.
+ */
+public class BackpressureTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Receiver implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> received = new CopyOnWriteArrayList<>();
+  }
+
+  @Test
+  public void failRejectsEnvelopesOfAFullMailbox() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailboxCapacity(2, Backpressure.FAIL).buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("fail", receiver);
+    final Busy busy = new Busy();
+    busy.occupy(context, actor);
+
+    final Response<Object> r1 = context.send(actor, (Runnable) () -> receiver.received.add(1));
+    final Response<Object> r2 = context.send(actor, (Runnable) () -> receiver.received.add(2));
+    final Response<Object> r3 = context.send(actor, (Runnable) () -> receiver.received.add(3));
+    ExecutionException e =
+        expectThrows(ExecutionException.class, () -> r3.get(10, TimeUnit.SECONDS));
+    assertThat(e.getCause() instanceof RejectedExecutionException).isTrue();
+
+    busy.release();
+    r1.get(10, TimeUnit.SECONDS);
+    r2.get(10, TimeUnit.SECONDS);
+    assertThat(receiver.received).containsExactlyElementsIn(Arrays.asList(1, 2));
+    assertThat(context.statistics(actor).getRejected()).isEqualTo(1L);
+    context.stop();
+  }
+
+  @Test
+  public void dropNewestCancelsTheSentEnvelope() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailboxCapacity(2, Backpressure.DROP_NEWEST).buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("drop-newest", receiver);
+    final Busy busy = new Busy();
+    busy.occupy(context, actor);
+
+    Response<Object> last = null;
+    for (int i = 1; i <= 4; ++i) {
+      final int n = i;
+      Response<Object> r = context.send(actor, (Runnable) () -> receiver.received.add(n));
+      if (i == 2) {
+        last = r;
+      }
+      if (i > 2) {
+        expectThrows(CancellationException.class, () -> r.get(10, TimeUnit.SECONDS));
+      }
+    }
+    busy.release();
+    last.get(10, TimeUnit.SECONDS);
+    assertThat(receiver.received).containsExactlyElementsIn(Arrays.asList(1, 2));
+    assertThat(context.statistics(actor).getDropped()).isEqualTo(2L);
+    context.stop();
+  }
+
+  @Test
+  public void dropOldestKeepsTheLatestEnvelopes() throws Exception {
+    final Busy busy = new Busy();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailbox(busy.mailboxes(Mailbox::lockFree)).buildContext();
+    final Receiver receiver = new Receiver();
+    // Only this actor is bounded
+    final Actor actor = context.newActor("drop-oldest", receiver,
+        ActorOptions.newOptions().withMailboxCapacity(2, Backpressure.DROP_OLDEST));
+    busy.occupy(context, actor);
+
+    final List<Response<Object>> responses = new ArrayList<>();
+    for (int i = 1; i <= 4; ++i) {
+      final int n = i;
+      responses.add(context.send(actor, (Runnable) () -> receiver.received.add(n)));
+    }
+    busy.awaitArrivals(4);
+    busy.release();
+    responses.get(3).get(10, TimeUnit.SECONDS);
+    for (int i = 0; i < 2; ++i) {
+      final Response<Object> dropped = responses.get(i);
+      expectThrows(CancellationException.class, () -> dropped.get(10, TimeUnit.SECONDS));
+    }
+    assertThat(receiver.received).containsExactlyElementsIn(Arrays.asList(3, 4));
+    assertThat(context.statistics(actor).getDropped()).isEqualTo(2L);
+    context.stop();
+  }
+
+  @Test
+  public void blockHoldsTheSenderUntilTheMailboxHasRoom() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailboxCapacity(1, Backpressure.BLOCK).buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("block", receiver);
+    final Busy busy = new Busy();
+    busy.occupy(context, actor);
+    // Takes the only slot before it is routed
+    final Response<Object> r1 = context.send(actor, (Runnable) () -> receiver.received.add(1));
+
+    final AtomicReference<Response<Object>> r2 = new AtomicReference<>();
+    final CountDownLatch done = new CountDownLatch(1);
+    new Thread(() -> {
+      r2.set(context.send(actor, (Runnable) () -> receiver.received.add(2)));
+      done.countDown();
+    }).start();
+    awaitBlocked(context, actor, 1);
+    assertThat(done.getCount()).isEqualTo(1L);
+
+    busy.release();
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    r1.get(10, TimeUnit.SECONDS);
+    r2.get().get(10, TimeUnit.SECONDS);
+    assertThat(receiver.received).containsExactlyElementsIn(Arrays.asList(1, 2));
+    assertThat(context.statistics(actor).getBlocked()).isEqualTo(1L);
+    context.stop();
+  }
+
+  @Test
+  public void blockedSendersNeverOvershootTheCapacity() throws Exception {
+    final Busy busy = new Busy();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailbox(busy.mailboxes(Mailbox::lockFree))
+        .withMailboxCapacity(1, Backpressure.BLOCK).buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("overshoot", receiver);
+    busy.occupy(context, actor);
+    context.send(actor, (Runnable) () -> receiver.received.add(0));
+
+    final int senders = 4;
+    final CountDownLatch done = new CountDownLatch(senders);
+    for (int i = 1; i <= senders; ++i) {
+      final int n = i;
+      new Thread(() -> {
+        context.send(actor, (Runnable) () -> {
+          receiver.received.add(n);
+          done.countDown();
+        });
+      }).start();
+    }
+    awaitBlocked(context, actor, senders);
+
+    busy.release();
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(receiver.received).hasSize(senders + 1);
+    assertThat(busy.peak()).isEqualTo(1);
+    context.stop();
+  }
+
+  private static void awaitBlocked(Context context, Actor actor, long blocked)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (context.statistics(actor).getBlocked() < blocked && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(context.statistics(actor).getBlocked()).isEqualTo(blocked);
+  }
+
+}
@@ -0,0 +1,118 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a receiver and its thread busy until it is released. The
+ * mailboxes it provides count the envelopes that reach them so
+ * that a test waits for them rather than sleeps.
+ */
+class Busy {
+
+  /**
+   * A mailbox that signals every offered envelope.
+   */
+  private final class Counting implements Mailbox {
+    private final Mailbox mailbox;
+
+    Counting(Mailbox mailbox) {
+      this.mailbox = mailbox;
+    }
+
+    @Override
+    public boolean offer(Envelope envelope) {
+      final boolean offered = mailbox.offer(envelope);
+      peak.accumulateAndGet(mailbox.size(), Math::max);
+      arrived.release();
+      return offered;
+    }
+
+    @Override
+    public Envelope peek() {
+      return mailbox.peek();
+    }
+
+    @Override
+    public Envelope poll() {
+      return mailbox.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return mailbox.isEmpty();
+    }
+
+    @Override
+    public int size() {
+      return mailbox.size();
+    }
+  }
+
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch released = new CountDownLatch(1);
+  private final Semaphore arrived = new Semaphore(0);
+  private final AtomicInteger peak = new AtomicInteger();
+
+  /**
+   * @param mailboxes the mailboxes of a context
+   * @return the mailboxes that count their envelopes
+   */
+  Supplier<Mailbox> mailboxes(Supplier<Mailbox> mailboxes) {
+    return () -> new Counting(mailboxes.get());
+  }
+
+  /**
+   * Sends the receiver a message that blocks it until
+   * {@link #release()} and waits until it runs.
+   *
+   * @param context the context
+   * @param actor the receiver
+   * @return the response of the blocking message
+   * @throws InterruptedException if interrupted
+   */
+  Response<Object> occupy(Context context, Actor actor) throws InterruptedException {
+    final Response<Object> response = context.send(actor, (Runnable) () -> {
+      started.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    // Only the envelopes after this one are counted
+    arrived.drainPermits();
+    peak.set(0);
+    return response;
+  }
+
+  /**
+   * Waits until a number of envelopes reached the counting
+   * mailboxes since {@link #occupy(Context, Actor)}.
+   *
+   * @param envelopes the number of envelopes
+   * @throws InterruptedException if interrupted
+   */
+  void awaitArrivals(int envelopes) throws InterruptedException {
+    assertThat(arrived.tryAcquire(envelopes, 10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  /**
+   * @return the most envelopes in a counting mailbox at once
+   *         since {@link #occupy(Context, Actor)}
+   */
+  int peak() {
+    return peak.get();
+  }
+
+  void release() {
+    released.countDown();
+  }
+
+}
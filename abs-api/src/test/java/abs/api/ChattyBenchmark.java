@@ -0,0 +1,120 @@
+package abs.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairs of actors that send a message back and forth. It
+ * reports the throughput and the share of messages that run on
+ * another thread than the previous message of the same actor
+ * and the percentiles of the latency of a message
+ * with the default cached thread pool, with work stealing and
+ * with sharding.
+ *
+ * <pre>
+ * java abs.api.ChattyBenchmark [pairs] [round-trips] [workers]
+ * </pre>
+ */
+public class ChattyBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Player implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private Thread last;
+    private long migrations = 0;
+    private long messages = 0;
+    // Counts of the latencies of the received messages by the
+    // power of two of their nanoseconds
+    private final long[] latencies = new long[64];
+
+    void play(Player other, int left, CountDownLatch done, long sent) {
+      latencies[64 - Long.numberOfLeadingZeros(Math.max(1, System.nanoTime() - sent))]++;
+      final Thread t = Thread.currentThread();
+      if (last != null && last != t) {
+        migrations++;
+      }
+      last = t;
+      messages++;
+      if (left == 0) {
+        done.countDown();
+        return;
+      }
+      final long now = System.nanoTime();
+      tell(other, (Runnable) () -> other.play(this, left - 1, done, now));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+    final int trips = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+    final int workers = args.length > 2 ? Integer.parseInt(args[2])
+        : Runtime.getRuntime().availableProcessors();
+    for (int i = 0; i < 3; ++i) {
+      run("cached", Configuration.newConfiguration().disableThreadManagement()
+          .enableDirectRouting(), pairs, trips);
+      run("work-stealing", Configuration.newConfiguration().disableThreadManagement()
+          .withWorkStealing(workers), pairs, trips);
+      run("sharded", Configuration.newConfiguration().disableThreadManagement()
+          .withSharding(workers), pairs, trips);
+    }
+    System.exit(0);
+  }
+
+  static void run(String name, ConfigurationBuilder builder, int pairs, int trips)
+      throws Exception {
+    final Context context = builder.buildContext();
+    final Player[] players = new Player[pairs * 2];
+    for (int i = 0; i < players.length; ++i) {
+      players[i] = new Player();
+      context.newActor(name + "-" + i, players[i]);
+    }
+    final CountDownLatch done = new CountDownLatch(pairs);
+    final long t0 = System.nanoTime();
+    for (int i = 0; i < pairs; ++i) {
+      final Player ping = players[2 * i];
+      final Player pong = players[2 * i + 1];
+      final long now = System.nanoTime();
+      context.tell(ping, (Runnable) () -> ping.play(pong, 2 * trips, done, now));
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    long messages = 0;
+    long migrations = 0;
+    final long[] latencies = new long[64];
+    for (Player p : players) {
+      messages += p.messages;
+      migrations += p.migrations;
+      for (int i = 0; i < latencies.length; ++i) {
+        latencies[i] += p.latencies[i];
+      }
+    }
+    System.out.println(String.format(
+        "%s pairs=%d: %.0f msg/s, %.3f migrations/msg, latency p50<%dus p99<%dus p99.9<%dus",
+        name, pairs, (double) messages / elapsed * TimeUnit.SECONDS.toNanos(1),
+        (double) migrations / messages, percentile(latencies, messages, 0.5),
+        percentile(latencies, messages, 0.99), percentile(latencies, messages, 0.999)));
+    context.stop();
+  }
+
+  /**
+   * @return the upper bound in microseconds of the bucket of the
+   *         percentile
+   */
+  static long percentile(long[] latencies, long total, double percentile) {
+    long count = 0;
+    for (int i = 0; i < latencies.length; ++i) {
+      count += latencies[i];
+      if (count >= total * percentile) {
+        return Math.max(1, (1L << i) / 1000);
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+}
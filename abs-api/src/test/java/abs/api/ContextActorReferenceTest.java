@@ -3,6 +3,11 @@ package abs.api;
 import static org.junit.gen5.api.Assertions.assertEquals;
 import static org.junit.gen5.api.Assertions.assertNotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.gen5.api.Test;
 
 /**
@@ -16,6 +21,22 @@ public class ContextActorReferenceTest {
     System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
   }
 
+  static class Echo implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Sender implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    List<Response<Reference>> ask(Echo echo, int messages) {
+      List<Response<Reference>> responses = new ArrayList<>();
+      for (int i = 0; i < messages; ++i) {
+        responses.add(send(echo, (Callable<Reference>) echo::senderReference));
+      }
+      return responses;
+    }
+  }
+
   @Test
   public void beforeTheFirstMessageNoSenderIsAvailable() throws Exception {
     Context context = new LocalContext();
@@ -39,7 +60,36 @@ public class ContextActorReferenceTest {
     AbstractInbox inbox = new AbstractInbox();
     inbox.bind(context);
     inbox.onOpen(envelope, null, null);
-    assertEquals(a.name(), b.senderReference().name());
+    try {
+      assertEquals(a.name(), b.senderReference().name());
+    } finally {
+      // Only post() restores the current envelope of this thread
+      ContextThread.currentEnvelope(null);
+    }
+  }
+
+  @Test
+  public void concurrentReceiversSeeTheSenderOfTheirOwnMessage() throws Exception {
+    Context context = Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Echo echo = new Echo();
+    context.newActor("echo", echo);
+    final int size = 16;
+    List<Sender> senders = new ArrayList<>();
+    List<Response<List<Response<Reference>>>> responses = new ArrayList<>();
+    for (int i = 0; i < size; ++i) {
+      Sender sender = new Sender();
+      context.newActor("sender-" + i, sender);
+      senders.add(sender);
+      Callable<List<Response<Reference>>> msg = () -> sender.ask(echo, 100);
+      responses.add(context.send(sender, msg));
+    }
+    for (int i = 0; i < size; ++i) {
+      Reference expected = context.reference(senders.get(i));
+      for (Response<Reference> r : responses.get(i).get(10, TimeUnit.SECONDS)) {
+        assertEquals(expected, r.get(10, TimeUnit.SECONDS));
+      }
+    }
+    assertEquals(Actor.NOBODY, echo.senderReference());
   }
 
 }
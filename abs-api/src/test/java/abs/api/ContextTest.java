@@ -2,9 +2,16 @@ package abs.api;
 
 import static org.junit.gen5.api.Assertions.assertEquals;
 import static org.junit.gen5.api.Assertions.assertNotNull;
+import static org.junit.gen5.api.Assertions.assertTrue;
+import static org.junit.gen5.api.Assertions.expectThrows;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.gen5.api.Test;
 
@@ -35,4 +42,43 @@ public class ContextTest {
     assertEquals(Double.class, result.get().getClass());
   }
 
+  @Test
+  public void testTellMessageOutsideActor() throws Exception {
+    Context context = Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final MyActor actor = new MyActor();
+    context.newActor("myTellActor", actor);
+    final CountDownLatch done = new CountDownLatch(100);
+    for (int i = 0; i < 100; ++i) {
+      context.tell(actor, (Runnable) done::countDown);
+    }
+    // A failing one-way message does not stop the receiver
+    context.tell(actor, (Runnable) () -> {
+      throw new IllegalStateException();
+    });
+    Future<?> result = context.send(actor, (Callable<Double>) () -> actor.doIt(10));
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(Double.class, result.get().getClass());
+  }
+
+  @Test
+  public void testMulticastAndBroadcastOutsideActor() throws Exception {
+    Context context = Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final MyActor a = new MyActor();
+    final MyActor b = new MyActor();
+    context.newActor("multicastA", a);
+    context.newActor("multicastB", b);
+    List<MyActor> receivers = Arrays.asList(a, b, a);
+    Response<List<Integer>> result = context.multicast(receivers, (Callable<Integer>) () -> 7);
+    assertEquals(Arrays.asList(7, 7, 7), result.get(10, TimeUnit.SECONDS));
+
+    final CountDownLatch done = new CountDownLatch(receivers.size());
+    context.broadcast(receivers, (Runnable) done::countDown);
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+
+    Response<List<Object>> failed = context.multicast(receivers, (Runnable) () -> {
+      throw new IllegalStateException();
+    });
+    expectThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+  }
+
 }
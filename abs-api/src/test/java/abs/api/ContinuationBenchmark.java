@@ -0,0 +1,120 @@
+package abs.api;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clients that each ask a shared service a number of times in a
+ * row; once by blocking on {@link Response#get()} inside the
+ * message of the client and once by chaining the next request
+ * with {@link Response#thenOnActor(java.util.function.Function)}.
+ * It reports the throughput of the requests and the peak number
+ * of live threads of the JVM with the default cached thread pool
+ * and with work stealing whose pool compensates a blocked worker
+ * with another thread.
+ *
+ * <pre>
+ * java abs.api.ContinuationBenchmark [clients] [requests] [workers]
+ * </pre>
+ */
+public class ContinuationBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Service implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Client implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private final Context context;
+    private final Actor service;
+    private final CountDownLatch done;
+    private long sum = 0;
+
+    Client(Context context, Actor service, CountDownLatch done) {
+      this.context = context;
+      this.service = service;
+      this.done = done;
+    }
+
+    void blocking(int requests) throws Exception {
+      for (int i = 0; i < requests; ++i) {
+        final Response<Integer> response = context.send(service, (Callable<Integer>) () -> 1);
+        sum += response.get();
+      }
+      done.countDown();
+    }
+
+    void chained(int left) {
+      if (left == 0) {
+        done.countDown();
+        return;
+      }
+      context.<Integer>send(service, (Callable<Integer>) () -> 1).thenOnActor(v -> {
+        sum += v;
+        chained(left - 1);
+        return null;
+      });
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+    final int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+    final int workers = args.length > 2 ? Integer.parseInt(args[2])
+        : Runtime.getRuntime().availableProcessors();
+    for (int i = 0; i < 3; ++i) {
+      for (boolean blocking : new boolean[] {true, false}) {
+        run("cached", Configuration.newConfiguration().disableThreadManagement(), blocking,
+            clients, requests);
+        run("work-stealing", Configuration.newConfiguration().disableThreadManagement()
+            .withWorkStealing(workers), blocking, clients, requests);
+      }
+    }
+    System.exit(0);
+  }
+
+  static void run(String name, ConfigurationBuilder builder, boolean blocking, int clients,
+      int requests) throws Exception {
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final Context context = builder.buildContext();
+    final Actor service = context.newActor("service", new Service());
+    final CountDownLatch done = new CountDownLatch(clients);
+    final Actor[] actors = new Actor[clients];
+    final Client[] objects = new Client[clients];
+    for (int i = 0; i < clients; ++i) {
+      objects[i] = new Client(context, service, done);
+      actors[i] = context.newActor("client-" + i, objects[i]);
+    }
+    threads.resetPeakThreadCount();
+    final long t0 = System.nanoTime();
+    for (int i = 0; i < clients; ++i) {
+      final Client client = objects[i];
+      if (blocking) {
+        context.tell(actors[i], (Callable<Void>) () -> {
+          client.blocking(requests);
+          return null;
+        });
+      } else {
+        context.tell(actors[i], (Runnable) () -> client.chained(requests));
+      }
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " clients left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    System.out.println(String.format("%s %s: %.0f requests/s, %d peak threads", name,
+        blocking ? "blocking get" : "continuation",
+        (double) clients * requests / elapsed * TimeUnit.SECONDS.toNanos(1),
+        threads.getPeakThreadCount()));
+    context.stop();
+  }
+
+}
@@ -0,0 +1,138 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.gen5.api.Assertions.expectThrows;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around continuations of a {@link Response} on the actor
+ * that registers them.
+ */
+public class ContinuationTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Counter implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    // Only used in the serial execution of the actor
+    private int value = 0;
+  }
+
+  @Test
+  public void continuationsRunAsMessagesOfTheRegisteringActor() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Counter counter = new Counter();
+    final Actor actor = context.newActor("counter", counter);
+    final Actor slow = context.newActor("slow", new Counter());
+    final CountDownLatch released = new CountDownLatch(1);
+    final AtomicReference<Reference> continuedOn = new AtomicReference<>();
+    final AtomicReference<Response<Integer>> continued = new AtomicReference<>();
+
+    context.send(actor, (Runnable) () -> {
+      final Response<Integer> response = context.send(slow, (Callable<Integer>) () -> {
+        released.await();
+        return 40;
+      });
+      continued.set(response.thenOnActor(v -> {
+        continuedOn.set(ContextThread.currentEnvelope().to());
+        counter.value += v;
+        return counter.value;
+      }));
+    }).get(10, TimeUnit.SECONDS);
+    // The registering message is done without waiting and the
+    // actor keeps processing its messages
+    assertThat(continued.get().isDone()).isFalse();
+    context.send(actor, (Runnable) () -> counter.value += 2).get(10, TimeUnit.SECONDS);
+
+    released.countDown();
+    assertThat(continued.get().get(10, TimeUnit.SECONDS)).isEqualTo(42);
+    assertThat(continuedOn.get().name()).isEqualTo(actor.name());
+    context.stop();
+  }
+
+  @Test
+  public void completedResponsesContinueRightAway() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Counter counter = new Counter();
+    final Actor actor = context.newActor("counter", counter);
+    final AtomicBoolean done = new AtomicBoolean();
+
+    context.send(actor, (Runnable) () -> {
+      final Response<Integer> response = new ContextResponse<>();
+      response.complete(1);
+      final Response<Void> accepted = response.acceptOnActor(v -> counter.value += v);
+      done.set(accepted.isDone() && counter.value == 1);
+    }).get(10, TimeUnit.SECONDS);
+    assertThat(done.get()).isTrue();
+    context.stop();
+  }
+
+  @Test
+  public void failuresSkipTheValueButReachTheHandler() throws Exception {
+    final Response<Integer> response = new ContextResponse<>();
+    final AtomicBoolean applied = new AtomicBoolean();
+    final AtomicReference<Thread> handledOn = new AtomicReference<>();
+    // Without a current actor, the thread that completes continues
+    final Response<Integer> then = response.thenOnActor(v -> {
+      applied.set(true);
+      return v;
+    });
+    final Response<String> handled = response.handleOnActor((v, e) -> {
+      handledOn.set(Thread.currentThread());
+      return e.getMessage();
+    });
+    response.completeExceptionally(new IllegalStateException("failed"));
+
+    final ExecutionException e =
+        expectThrows(ExecutionException.class, () -> then.get(10, TimeUnit.SECONDS));
+    assertThat(e.getCause() instanceof IllegalStateException).isTrue();
+    assertThat(applied.get()).isFalse();
+    assertThat(handled.get(10, TimeUnit.SECONDS)).isEqualTo("failed");
+    assertThat(handledOn.get()).isSameAs(Thread.currentThread());
+  }
+
+  @Test
+  public void continuationsAreNotRefusedByAFullMailbox() throws Exception {
+    final Busy busy = new Busy();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailbox(busy.mailboxes(Mailbox::lockFree))
+        .withMailboxCapacity(1, Backpressure.FAIL).buildContext();
+    final Counter counter = new Counter();
+    final Actor actor = context.newActor("bounded", counter);
+    final Actor slow = context.newActor("slow", new Counter());
+    final CountDownLatch released = new CountDownLatch(1);
+    final AtomicReference<Response<Integer>> continued = new AtomicReference<>();
+    context.send(actor, (Runnable) () -> {
+      final Response<Integer> response = context.send(slow, (Callable<Integer>) () -> {
+        released.await();
+        return 41;
+      });
+      continued.set(response.thenOnActor(v -> counter.value += v));
+    }).get(10, TimeUnit.SECONDS);
+
+    // The actor is busy and its mailbox is full when the response
+    // completes
+    busy.occupy(context, actor);
+    final Response<Object> filler = context.send(actor, (Runnable) () -> counter.value += 1);
+    released.countDown();
+    busy.awaitArrivals(2);
+    busy.release();
+    filler.get(10, TimeUnit.SECONDS);
+    assertThat(continued.get().get(10, TimeUnit.SECONDS)).isEqualTo(42);
+    context.stop();
+  }
+
+}
@@ -0,0 +1,144 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around envelopes with an {@link Envelope#deadline()}.
+ */
+public class DeadlineTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Receiver implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  @Test
+  public void deadlineMailboxProcessesTheEarliestDeadlineFirst() throws Exception {
+    final Busy busy = new Busy();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailbox(busy.mailboxes(Mailbox::deadlines)).buildContext();
+    final Actor actor = context.newActor("edf", new Receiver());
+    busy.occupy(context, actor);
+
+    final List<String> processed = new CopyOnWriteArrayList<>();
+    final Instant now = context.now();
+    context.send(actor, (Runnable) () -> processed.add("none"));
+    context.send(actor, (Runnable) () -> processed.add("late"), now.plusSeconds(30));
+    context.send(actor, (Runnable) () -> processed.add("early"), now.plusSeconds(10));
+    final Response<Object> last =
+        context.send(actor, (Runnable) () -> processed.add("none-2"));
+    busy.awaitArrivals(4);
+    busy.release();
+    last.get(10, TimeUnit.SECONDS);
+    assertThat(processed)
+        .containsExactlyElementsIn(Arrays.asList("early", "late", "none", "none-2")).inOrder();
+    context.stop();
+  }
+
+  @Test
+  public void readyInboxesRunInTheOrderOfTheirDeadlines() throws Exception {
+    final Configuration configuration =
+        Configuration.newConfiguration().disableThreadManagement().withDeadlineScheduling(1)
+            .build();
+    final ThreadPoolExecutor executor = (ThreadPoolExecutor) configuration.getExecutorService();
+    final Context context = new LocalContext(configuration);
+    final Busy busy = new Busy();
+    busy.occupy(context, context.newActor("busy", new Receiver()));
+
+    final List<String> processed = new CopyOnWriteArrayList<>();
+    final Instant now = context.now();
+    final String[] names = {"none", "late", "early"};
+    final Instant[] deadlines = {null, now.plusSeconds(30), now.plusSeconds(10)};
+    final CountDownLatch done = new CountDownLatch(names.length);
+    for (int i = 0; i < names.length; ++i) {
+      final String name = names[i];
+      final Actor actor = context.newActor(name, new Receiver());
+      final Runnable msg = () -> {
+        processed.add(name);
+        done.countDown();
+      };
+      if (deadlines[i] == null) {
+        context.send(actor, msg);
+      } else {
+        context.send(actor, msg, deadlines[i]);
+      }
+    }
+    // All three inboxes are submitted behind the busy one
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (executor.getQueue().size() < names.length && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(executor.getQueue().size()).isEqualTo(names.length);
+    busy.release();
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(processed).containsExactlyElementsIn(Arrays.asList("early", "late", "none"))
+        .inOrder();
+    context.stop();
+  }
+
+  @Test
+  public void sameDeadlinesAreProcessedInTheirArrivalOrder() throws Exception {
+    final Busy busy = new Busy();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withMailbox(busy.mailboxes(Mailbox::deadlines)).buildContext();
+    final Actor actor = context.newActor("fair", new Receiver());
+    final Actor chatty = context.newActor("chatty", new Receiver());
+    final Actor quiet = context.newActor("quiet", new Receiver());
+    // The chatty sender has a higher sequence than the quiet one
+    for (int i = 0; i < 10; ++i) {
+      chatty.send(context.newActor("sink-" + i, new Receiver()), (Runnable) () -> {
+      }).get(10, TimeUnit.SECONDS);
+    }
+    busy.occupy(context, actor);
+
+    final List<String> processed = new CopyOnWriteArrayList<>();
+    final Instant deadline = context.now().plusSeconds(30);
+    chatty.send(actor, (Runnable) () -> processed.add("chatty"), deadline);
+    busy.awaitArrivals(1);
+    final Response<Object> last =
+        quiet.send(actor, (Runnable) () -> processed.add("quiet"), deadline);
+    busy.awaitArrivals(1);
+    busy.release();
+    last.get(10, TimeUnit.SECONDS);
+    assertThat(processed).containsExactlyElementsIn(Arrays.asList("chatty", "quiet")).inOrder();
+    context.stop();
+  }
+
+  @Test
+  public void missedDeadlinesAreCountedPerActor() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Actor actor = context.newActor("missed", new Receiver());
+    final Actor other = context.newActor("met", new Receiver());
+    final Instant now = context.now();
+    context.send(actor, (Runnable) () -> {
+    }, now.minusMillis(50)).get(10, TimeUnit.SECONDS);
+    context.send(actor, (Runnable) () -> {
+    }, now.plusSeconds(30)).get(10, TimeUnit.SECONDS);
+    context.send(actor, (Runnable) () -> {
+    }).get(10, TimeUnit.SECONDS);
+    context.send(other, (Runnable) () -> {
+    }, now.plusSeconds(30)).get(10, TimeUnit.SECONDS);
+
+    final ActorStatistics statistics = context.statistics(actor);
+    assertThat(statistics.getDeadlines()).isEqualTo(2L);
+    assertThat(statistics.getMissedDeadlines()).isEqualTo(1L);
+    assertThat(statistics.getMaxLateness()).isGreaterThan(49L);
+    assertThat(context.statistics(other).getMissedDeadlines()).isEqualTo(0L);
+    context.stop();
+  }
+
+}
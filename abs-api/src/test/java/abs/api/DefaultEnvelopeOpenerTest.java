@@ -88,6 +88,23 @@ public class DefaultEnvelopeOpenerTest {
 		assertEquals(message, f.get());
 	}
 
+	@Test
+	public void testExecuteHandledMessage() throws Exception {
+		Reference from = context.newActor("a", new Object());
+		MessageHandlers handlers = MessageHandlers.newBuilder()
+				.on(CharSequence.class, s -> s.length()).build();
+		Reference to = context.newActor("b", handlers);
+		Envelope e = new SimpleEnvelope(from, to, "hello");
+		Opener p = new DefaultOpener();
+		Future<?> f = p.open(e, handlers);
+		assertTrue(f.isDone());
+		assertEquals(5, f.get());
+		Envelope unhandled = new SimpleEnvelope(from, to, 42);
+		Future<?> g = p.open(unhandled, handlers);
+		ExecutionException x = expectThrows(ExecutionException.class, () -> g.get());
+		assertTrue(x.getCause() instanceof IllegalArgumentException);
+	}
+
 	@Test
 	public void testExecuteWithException() throws Exception {
 		Reference from = context.newActor("a", new Object());
@@ -105,6 +122,82 @@ public class DefaultEnvelopeOpenerTest {
         expectThrows(ExecutionException.class, () -> f.get());
 	}
 
+	@Test
+	public void testMethodReferencesOfDifferentOwnersAreNotMixedUp() throws Exception {
+		final Greeter greeter = new Greeter();
+		final Counter counter = new Counter();
+		Reference g = context.newActor("greeter", greeter);
+		Reference c = context.newActor("counter", counter);
+		DefaultOpener p = new DefaultOpener();
+		for (int i = 0; i < 3; ++i) {
+			assertEquals("hello", open(p, g, greeter, "name"));
+			assertEquals("counter", open(p, c, counter, "name"));
+		}
+	}
+
+	@Test
+	public void testExecuteMethodReferenceWithPrimitivesAndVoid() throws Exception {
+		final Counter counter = new Counter();
+		Reference c = context.newActor("counter", counter);
+		DefaultOpener p = new DefaultOpener();
+		assertNull(open(p, c, counter, "add", 5L));
+		assertEquals(7L, open(p, c, counter, "addAndGet", 2L));
+		assertEquals(7L, counter.value);
+		// An argument that does not fit its parameter fails the message
+		expectThrows(ExecutionException.class,
+				() -> p.open(new SimpleEnvelope(c, c, MethodReference.of(c, "add", "x")), counter)
+						.get());
+	}
+
+	@Test
+	public void testExecuteOverloadedMethodReference() throws Exception {
+		final Counter counter = new Counter();
+		Reference c = context.newActor("counter", counter);
+		DefaultOpener p = new DefaultOpener();
+		assertEquals("string", open(p, c, counter, "describe", "x"));
+		assertEquals("integer", open(p, c, counter, "describe", 1));
+		expectThrows(ExecutionException.class,
+				() -> p.open(new SimpleEnvelope(c, c, MethodReference.of(c, "missing")), counter)
+						.get());
+	}
+
+	private Object open(DefaultOpener opener, Reference to, Object target, String method,
+			Object... args) throws Exception {
+		Envelope e = new SimpleEnvelope(to, to, MethodReference.of(to, method, args));
+		return opener.open(e, target).get();
+	}
+
+	public static class Greeter {
+		public String name() {
+			return "hello";
+		}
+	}
+
+	public static class Counter {
+		private long value = 0;
+
+		public String name() {
+			return "counter";
+		}
+
+		public void add(long delta) {
+			value += delta;
+		}
+
+		public long addAndGet(long delta) {
+			value += delta;
+			return value;
+		}
+
+		public String describe(String s) {
+			return "string";
+		}
+
+		public String describe(Integer i) {
+			return "integer";
+		}
+	}
+
 	private class BehaviorActor implements Behavior, Actor {
 
 		private static final long serialVersionUID = 1L;
@@ -0,0 +1,82 @@
+package abs.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Compares opening a {@link MethodReference} through a
+ * {@link DispatchTable} with binding a cached
+ * {@link MethodHandle} and invoking it with
+ * {@link MethodHandle#invokeWithArguments(Object...)} per
+ * message; and resolving an overloaded method through the table
+ * with a reflective lookup by the classes of the arguments. Only
+ * the dispatch is measured; no envelope is routed.
+ *
+ * <pre>
+ * java abs.api.DispatchBenchmark [invocations]
+ * </pre>
+ */
+public class DispatchBenchmark {
+
+  public static class Account {
+    private long balance = 0;
+
+    public long deposit(Long amount) {
+      balance += amount;
+      return balance;
+    }
+
+    public long withdraw(Long amount) {
+      balance -= amount;
+      return balance;
+    }
+
+    public long withdraw(Integer amount) {
+      return withdraw(amount.longValue());
+    }
+  }
+
+  static volatile Object sink;
+
+  public static void main(String[] args) throws Throwable {
+    final int invocations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    final Account account = new Account();
+    final Object[] arguments = {1L};
+    final MethodHandle cached =
+        MethodHandles.lookup().unreflect(Account.class.getMethod("deposit", Long.class));
+    final DispatchTable table = DispatchTable.of(Account.class);
+    for (int round = 0; round < 5; ++round) {
+      long t0 = System.nanoTime();
+      for (int i = 0; i < invocations; ++i) {
+        sink = cached.bindTo(account).invokeWithArguments(arguments);
+      }
+      final long bound = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < invocations; ++i) {
+        sink = table.find("deposit", arguments.length).invoke(account, arguments);
+      }
+      final long dispatched = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < invocations; ++i) {
+        final MethodHandle handle = MethodHandles.lookup()
+            .unreflect(Account.class.getMethod("withdraw", arguments[0].getClass()));
+        sink = handle.bindTo(account).invokeWithArguments(arguments);
+      }
+      final long looked = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < invocations; ++i) {
+        sink = table.resolve("withdraw", arguments).invoke(account, arguments);
+      }
+      final long resolved = System.nanoTime() - t0;
+      System.out.println(String.format(
+          "invokeWithArguments: %.1f ns/op, dispatch table: %.1f ns/op, "
+              + "overload lookup: %.1f ns/op, overload resolved: %.1f ns/op",
+          (double) bound / invocations, (double) dispatched / invocations,
+          (double) looked / invocations, (double) resolved / invocations));
+    }
+  }
+
+}
@@ -0,0 +1,138 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.gen5.api.Assertions.expectThrows;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around resolving overloaded methods in a
+ * {@link DispatchTable}.
+ */
+public class DispatchTableTest {
+
+  public static class Overloads {
+    public String of(Object o) {
+      return "object";
+    }
+
+    public String of(CharSequence s) {
+      return "chars";
+    }
+
+    public String of(Integer i) {
+      return "integer";
+    }
+
+    public String of(long l) {
+      return "long";
+    }
+
+    public String pair(Object o, Serializable s) {
+      return "object-serializable";
+    }
+
+    public String pair(Serializable s, Object o) {
+      return "serializable-object";
+    }
+
+    public String widen(long l) {
+      return "long";
+    }
+
+    public String widen(double d) {
+      return "double";
+    }
+
+    public String widen(String s) {
+      return "string";
+    }
+
+    public String triple(Object a, Object b, Object c) {
+      return "object";
+    }
+
+    public String triple(String a, Object b, Object c) {
+      return "string";
+    }
+  }
+
+  private final DispatchTable table = DispatchTable.of(Overloads.class);
+  private final Overloads target = new Overloads();
+
+  @Test
+  public void theMostSpecificApplicableOverloadIsChosen() throws Throwable {
+    assertThat(invoke("of", "x")).isEqualTo("chars");
+    assertThat(invoke("of", new StringBuilder())).isEqualTo("chars");
+    assertThat(invoke("of", 1)).isEqualTo("integer");
+    // Without unboxing, a Long is an Object
+    assertThat(invoke("of", 1L)).isEqualTo("object");
+    assertThat(invoke("of", new Object())).isEqualTo("object");
+  }
+
+  @Test
+  public void primitivesAreUnboxedAndWidened() throws Throwable {
+    assertThat(invoke("widen", 1)).isEqualTo("long");
+    assertThat(invoke("widen", 'c')).isEqualTo("long");
+    assertThat(invoke("widen", 1.0f)).isEqualTo("double");
+    assertThat(invoke("widen", "s")).isEqualTo("string");
+    expectThrows(NoSuchMethodException.class, () -> invoke("widen", true));
+  }
+
+  @Test
+  public void nullArgumentsApplyToReferenceParameters() throws Throwable {
+    assertThat(invoke("widen", (Object) null)).isEqualTo("string");
+    // CharSequence and Integer are both more specific than Object
+    expectThrows(IllegalArgumentException.class, () -> invoke("of", (Object) null));
+  }
+
+  @Test
+  public void overloadsWithoutAMostSpecificOneAreAmbiguous() throws Throwable {
+    expectThrows(IllegalArgumentException.class, () -> invoke("pair", "a", "b"));
+    assertThat(invoke("pair", new Object(), "b")).isEqualTo("object-serializable");
+  }
+
+  @Test
+  public void resolutionsAreKeptPerClassesOfArguments() throws Throwable {
+    final DispatchTable local = DispatchTable.of(Overloads.class);
+    invoke("of", "x");
+    invoke("of", "y");
+    final int size = local.resolvedSize();
+    assertThat(size).isGreaterThan(0);
+    invoke("of", "z");
+    assertThat(local.resolvedSize()).isEqualTo(size);
+    assertThat(local.resolvedSize()).isLessThan(DispatchTable.MAX_RESOLVED + 1);
+  }
+
+  @Test
+  public void resolutionsBeyondTheLimitEvictOthers() throws Throwable {
+    final DispatchTable local = DispatchTable.of(Overloads.class);
+    final Object[] values = {"s", 1, 1L, 1.0, 1.0f, (short) 1, (byte) 1, 'c', true,
+        new Object(), new StringBuilder(), new ArrayList<>()};
+    // More distinct classes of arguments than resolutions are kept
+    assertThat(values.length * values.length * values.length)
+        .isGreaterThan(DispatchTable.MAX_RESOLVED);
+    for (Object a : values) {
+      for (Object b : values) {
+        for (Object c : values) {
+          final String expected = a instanceof String ? "string" : "object";
+          assertThat(invoke("triple", a, b, c)).isEqualTo(expected);
+          assertThat(local.resolvedSize()).isLessThan(DispatchTable.MAX_RESOLVED + 1);
+        }
+      }
+    }
+    assertThat(local.resolvedSize()).isEqualTo(DispatchTable.MAX_RESOLVED);
+    // Evicted or kept, resolutions stay the same
+    assertThat(invoke("triple", "s", 1, 1L)).isEqualTo("string");
+    assertThat(invoke("triple", 1, "s", 1L)).isEqualTo("object");
+    assertThat(local.resolvedSize()).isEqualTo(DispatchTable.MAX_RESOLVED);
+  }
+
+  private Object invoke(String name, Object... args) throws Throwable {
+    return table.resolve(name, args).invoke(target, args);
+  }
+
+}
@@ -0,0 +1,107 @@
+package abs.api;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many senders that all send to a single receiver. Every sender
+ * is an actor that sends its messages from its own envelope, so
+ * the posts to the receiver's inbox come concurrently from all
+ * executor and routing threads. Next to the throughput, it
+ * reports how often and how long the threads of the context
+ * were blocked on a monitor.
+ *
+ * <pre>
+ * java abs.api.FanInBenchmark [senders] [messages-per-sender]
+ * </pre>
+ */
+public class FanInBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Sink implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Sender implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    void fire(Sink sink, int messages, CountDownLatch done) {
+      final Runnable msg = done::countDown;
+      for (int i = 0; i < messages; ++i) {
+        send(sink, msg);
+      }
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int senders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    final int messages = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads.isThreadContentionMonitoringSupported()) {
+      threads.setThreadContentionMonitoringEnabled(true);
+    }
+
+    // Warm up once and then measure
+    run(senders / 10, messages, threads, false);
+    run(senders, messages, threads, true);
+    System.exit(0);
+  }
+
+  static void run(int senders, int messages, ThreadMXBean threads, boolean report)
+      throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .enableDirectRouting().buildContext();
+    final Sink sink = new Sink();
+    context.newActor("sink-" + senders, sink);
+    final List<Sender> actors = new ArrayList<>(senders);
+    for (int i = 0; i < senders; ++i) {
+      Sender sender = new Sender();
+      context.newActor("sender-" + senders + "-" + i, sender);
+      actors.add(sender);
+    }
+    final CountDownLatch done = new CountDownLatch(senders * messages);
+    final long[] blocked0 = blocked(threads);
+    final long t0 = System.nanoTime();
+    for (Sender sender : actors) {
+      context.send(sender, (Runnable) () -> sender.fire(sink, messages, done));
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    final long[] blocked1 = blocked(threads);
+    context.stop();
+    if (report) {
+      System.out.println(String.format(
+          "senders=%d messages=%d: %.0f msg/s, blocked %d times for %d ms", senders,
+          senders * messages, (double) senders * messages / elapsed * TimeUnit.SECONDS.toNanos(1),
+          blocked1[0] - blocked0[0], blocked1[1] - blocked0[1]));
+    }
+  }
+
+  /**
+   * @return the total count and time (ms) that all live threads
+   *         have been blocked on a monitor
+   */
+  static long[] blocked(ThreadMXBean threads) {
+    long count = 0;
+    long time = 0;
+    for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+      if (info == null) {
+        continue;
+      }
+      count += info.getBlockedCount();
+      time += Math.max(0, info.getBlockedTime());
+    }
+    return new long[] {count, time};
+  }
+
+}
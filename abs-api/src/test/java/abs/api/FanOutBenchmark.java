@@ -0,0 +1,94 @@
+package abs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One sender that fans the same message out to many receivers.
+ * It compares a loop of {@link Actor#send(Object, Object)} with
+ * one {@link Actor#multicast(java.util.Collection, Object)} and
+ * one {@link Actor#broadcast(java.util.Collection, Object)} per
+ * round.
+ *
+ * <pre>
+ * java abs.api.FanOutBenchmark [receivers] [rounds]
+ * </pre>
+ */
+public class FanOutBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  enum Mode {
+    SEND, MULTICAST, BROADCAST
+  }
+
+  static class Sink implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Sender implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    void fire(List<Sink> sinks, int rounds, CountDownLatch done, Mode mode) {
+      final Runnable msg = done::countDown;
+      for (int i = 0; i < rounds; ++i) {
+        switch (mode) {
+          case SEND:
+            for (Sink sink : sinks) {
+              send(sink, msg);
+            }
+            break;
+          case MULTICAST:
+            multicast(sinks, msg);
+            break;
+          case BROADCAST:
+            broadcast(sinks, msg);
+            break;
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int receivers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .buildContext();
+    final Sender sender = new Sender();
+    context.newActor("sender", sender);
+    final List<Sink> sinks = new ArrayList<>(receivers);
+    for (int i = 0; i < receivers; ++i) {
+      Sink sink = new Sink();
+      context.newActor("sink-" + i, sink);
+      sinks.add(sink);
+    }
+    for (Mode mode : Mode.values()) {
+      // Warm up once and then measure
+      run(context, sender, sinks, rounds / 10, mode, false);
+      run(context, sender, sinks, rounds, mode, true);
+    }
+    System.exit(0);
+  }
+
+  static void run(Context context, Sender sender, List<Sink> sinks, int rounds, Mode mode,
+      boolean report) throws Exception {
+    final long total = (long) sinks.size() * rounds;
+    final CountDownLatch done = new CountDownLatch((int) total);
+    final long t0 = System.nanoTime();
+    context.tell(sender, (Runnable) () -> sender.fire(sinks, rounds, done, mode));
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    if (report) {
+      System.out.println(String.format("%s receivers=%d messages=%d: %.0f msg/s", mode,
+          sinks.size(), total, (double) total / elapsed * TimeUnit.SECONDS.toNanos(1)));
+    }
+  }
+
+}
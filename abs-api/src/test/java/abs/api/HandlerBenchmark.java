@@ -0,0 +1,440 @@
+package abs.api;
+
+/**
+ * Compares opening messages of 20 classes by a chain of
+ * <code>instanceof</code> tests in a {@link Behavior} with the
+ * {@link MessageHandlers} of an actor with {@link Handles}
+ * methods and of a {@link MessageHandlers.Builder}; once by the
+ * classes of the messages and once by the interfaces they
+ * implement. The classes of the messages take turns so that every
+ * test of a chain is taken. Only the dispatch is measured; no
+ * envelope is routed.
+ *
+ * <pre>
+ * java abs.api.HandlerBenchmark [messages]
+ * </pre>
+ */
+public class HandlerBenchmark {
+
+  interface Event0 {
+  }
+
+  static class M0 implements Event0 {
+  }
+
+  interface Event1 {
+  }
+
+  static class M1 implements Event1 {
+  }
+
+  interface Event2 {
+  }
+
+  static class M2 implements Event2 {
+  }
+
+  interface Event3 {
+  }
+
+  static class M3 implements Event3 {
+  }
+
+  interface Event4 {
+  }
+
+  static class M4 implements Event4 {
+  }
+
+  interface Event5 {
+  }
+
+  static class M5 implements Event5 {
+  }
+
+  interface Event6 {
+  }
+
+  static class M6 implements Event6 {
+  }
+
+  interface Event7 {
+  }
+
+  static class M7 implements Event7 {
+  }
+
+  interface Event8 {
+  }
+
+  static class M8 implements Event8 {
+  }
+
+  interface Event9 {
+  }
+
+  static class M9 implements Event9 {
+  }
+
+  interface Event10 {
+  }
+
+  static class M10 implements Event10 {
+  }
+
+  interface Event11 {
+  }
+
+  static class M11 implements Event11 {
+  }
+
+  interface Event12 {
+  }
+
+  static class M12 implements Event12 {
+  }
+
+  interface Event13 {
+  }
+
+  static class M13 implements Event13 {
+  }
+
+  interface Event14 {
+  }
+
+  static class M14 implements Event14 {
+  }
+
+  interface Event15 {
+  }
+
+  static class M15 implements Event15 {
+  }
+
+  interface Event16 {
+  }
+
+  static class M16 implements Event16 {
+  }
+
+  interface Event17 {
+  }
+
+  static class M17 implements Event17 {
+  }
+
+  interface Event18 {
+  }
+
+  static class M18 implements Event18 {
+  }
+
+  interface Event19 {
+  }
+
+  static class M19 implements Event19 {
+  }
+
+  public static class Counter {
+    long sum = 0;
+
+    // Returns the counter rather than a boxed sum
+    Counter add(int n) {
+      sum += n;
+      return this;
+    }
+  }
+
+  public static class ClassChain extends Counter implements Behavior {
+    @Override
+    public Object respond(Object message) {
+      if (message instanceof M0) {
+        return add(0);
+      } else if (message instanceof M1) {
+        return add(1);
+      } else if (message instanceof M2) {
+        return add(2);
+      } else if (message instanceof M3) {
+        return add(3);
+      } else if (message instanceof M4) {
+        return add(4);
+      } else if (message instanceof M5) {
+        return add(5);
+      } else if (message instanceof M6) {
+        return add(6);
+      } else if (message instanceof M7) {
+        return add(7);
+      } else if (message instanceof M8) {
+        return add(8);
+      } else if (message instanceof M9) {
+        return add(9);
+      } else if (message instanceof M10) {
+        return add(10);
+      } else if (message instanceof M11) {
+        return add(11);
+      } else if (message instanceof M12) {
+        return add(12);
+      } else if (message instanceof M13) {
+        return add(13);
+      } else if (message instanceof M14) {
+        return add(14);
+      } else if (message instanceof M15) {
+        return add(15);
+      } else if (message instanceof M16) {
+        return add(16);
+      } else if (message instanceof M17) {
+        return add(17);
+      } else if (message instanceof M18) {
+        return add(18);
+      } else if (message instanceof M19) {
+        return add(19);
+      }
+      return null;
+    }
+  }
+
+  public static class InterfaceChain extends Counter implements Behavior {
+    @Override
+    public Object respond(Object message) {
+      if (message instanceof Event0) {
+        return add(0);
+      } else if (message instanceof Event1) {
+        return add(1);
+      } else if (message instanceof Event2) {
+        return add(2);
+      } else if (message instanceof Event3) {
+        return add(3);
+      } else if (message instanceof Event4) {
+        return add(4);
+      } else if (message instanceof Event5) {
+        return add(5);
+      } else if (message instanceof Event6) {
+        return add(6);
+      } else if (message instanceof Event7) {
+        return add(7);
+      } else if (message instanceof Event8) {
+        return add(8);
+      } else if (message instanceof Event9) {
+        return add(9);
+      } else if (message instanceof Event10) {
+        return add(10);
+      } else if (message instanceof Event11) {
+        return add(11);
+      } else if (message instanceof Event12) {
+        return add(12);
+      } else if (message instanceof Event13) {
+        return add(13);
+      } else if (message instanceof Event14) {
+        return add(14);
+      } else if (message instanceof Event15) {
+        return add(15);
+      } else if (message instanceof Event16) {
+        return add(16);
+      } else if (message instanceof Event17) {
+        return add(17);
+      } else if (message instanceof Event18) {
+        return add(18);
+      } else if (message instanceof Event19) {
+        return add(19);
+      }
+      return null;
+    }
+  }
+
+  public static class Annotated extends Counter {
+    @Handles
+    public Counter on(M0 m) {
+      return add(0);
+    }
+
+    @Handles
+    public Counter on(M1 m) {
+      return add(1);
+    }
+
+    @Handles
+    public Counter on(M2 m) {
+      return add(2);
+    }
+
+    @Handles
+    public Counter on(M3 m) {
+      return add(3);
+    }
+
+    @Handles
+    public Counter on(M4 m) {
+      return add(4);
+    }
+
+    @Handles
+    public Counter on(M5 m) {
+      return add(5);
+    }
+
+    @Handles
+    public Counter on(M6 m) {
+      return add(6);
+    }
+
+    @Handles
+    public Counter on(M7 m) {
+      return add(7);
+    }
+
+    @Handles
+    public Counter on(M8 m) {
+      return add(8);
+    }
+
+    @Handles
+    public Counter on(M9 m) {
+      return add(9);
+    }
+
+    @Handles
+    public Counter on(M10 m) {
+      return add(10);
+    }
+
+    @Handles
+    public Counter on(M11 m) {
+      return add(11);
+    }
+
+    @Handles
+    public Counter on(M12 m) {
+      return add(12);
+    }
+
+    @Handles
+    public Counter on(M13 m) {
+      return add(13);
+    }
+
+    @Handles
+    public Counter on(M14 m) {
+      return add(14);
+    }
+
+    @Handles
+    public Counter on(M15 m) {
+      return add(15);
+    }
+
+    @Handles
+    public Counter on(M16 m) {
+      return add(16);
+    }
+
+    @Handles
+    public Counter on(M17 m) {
+      return add(17);
+    }
+
+    @Handles
+    public Counter on(M18 m) {
+      return add(18);
+    }
+
+    @Handles
+    public Counter on(M19 m) {
+      return add(19);
+    }
+  }
+
+  static volatile Object sink;
+
+  public static void main(String[] args) throws Throwable {
+    final int messages = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    final Object[] types = {new M0(), new M1(), new M2(), new M3(), new M4(), new M5(), new M6(), new M7(), new M8(), new M9(), new M10(), new M11(), new M12(), new M13(), new M14(), new M15(), new M16(), new M17(), new M18(), new M19()};
+    final Behavior classChain = new ClassChain();
+    final Behavior interfaceChain = new InterfaceChain();
+    final Annotated annotated = new Annotated();
+    final MessageHandlers annotatedHandlers = MessageHandlers.handlersOf(annotated);
+    final Counter counter = new Counter();
+    final MessageHandlers byClass = MessageHandlers.newBuilder()
+        .on(M0.class, m -> counter.add(0))
+        .on(M1.class, m -> counter.add(1))
+        .on(M2.class, m -> counter.add(2))
+        .on(M3.class, m -> counter.add(3))
+        .on(M4.class, m -> counter.add(4))
+        .on(M5.class, m -> counter.add(5))
+        .on(M6.class, m -> counter.add(6))
+        .on(M7.class, m -> counter.add(7))
+        .on(M8.class, m -> counter.add(8))
+        .on(M9.class, m -> counter.add(9))
+        .on(M10.class, m -> counter.add(10))
+        .on(M11.class, m -> counter.add(11))
+        .on(M12.class, m -> counter.add(12))
+        .on(M13.class, m -> counter.add(13))
+        .on(M14.class, m -> counter.add(14))
+        .on(M15.class, m -> counter.add(15))
+        .on(M16.class, m -> counter.add(16))
+        .on(M17.class, m -> counter.add(17))
+        .on(M18.class, m -> counter.add(18))
+        .on(M19.class, m -> counter.add(19))
+        .build();
+    final MessageHandlers byInterface = MessageHandlers.newBuilder()
+        .on(Event0.class, m -> counter.add(0))
+        .on(Event1.class, m -> counter.add(1))
+        .on(Event2.class, m -> counter.add(2))
+        .on(Event3.class, m -> counter.add(3))
+        .on(Event4.class, m -> counter.add(4))
+        .on(Event5.class, m -> counter.add(5))
+        .on(Event6.class, m -> counter.add(6))
+        .on(Event7.class, m -> counter.add(7))
+        .on(Event8.class, m -> counter.add(8))
+        .on(Event9.class, m -> counter.add(9))
+        .on(Event10.class, m -> counter.add(10))
+        .on(Event11.class, m -> counter.add(11))
+        .on(Event12.class, m -> counter.add(12))
+        .on(Event13.class, m -> counter.add(13))
+        .on(Event14.class, m -> counter.add(14))
+        .on(Event15.class, m -> counter.add(15))
+        .on(Event16.class, m -> counter.add(16))
+        .on(Event17.class, m -> counter.add(17))
+        .on(Event18.class, m -> counter.add(18))
+        .on(Event19.class, m -> counter.add(19))
+        .build();
+    for (int round = 0; round < 5; ++round) {
+      long t0 = System.nanoTime();
+      for (int i = 0; i < messages; ++i) {
+        sink = classChain.respond(types[i % types.length]);
+      }
+      final long classResponded = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < messages; ++i) {
+        sink = annotatedHandlers.handle(annotated, types[i % types.length]);
+      }
+      final long annotatedHandled = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < messages; ++i) {
+        sink = byClass.handle(byClass, types[i % types.length]);
+      }
+      final long classHandled = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < messages; ++i) {
+        sink = interfaceChain.respond(types[i % types.length]);
+      }
+      final long interfaceResponded = System.nanoTime() - t0;
+
+      t0 = System.nanoTime();
+      for (int i = 0; i < messages; ++i) {
+        sink = byInterface.handle(byInterface, types[i % types.length]);
+      }
+      final long interfaceHandled = System.nanoTime() - t0;
+      System.out.println(String.format(
+          "by class - behavior: %.1f ns/op, annotated: %.1f ns/op, built: %.1f ns/op; "
+              + "by interface - behavior: %.1f ns/op, built: %.1f ns/op",
+          (double) classResponded / messages, (double) annotatedHandled / messages,
+          (double) classHandled / messages, (double) interfaceResponded / messages,
+          (double) interfaceHandled / messages));
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around {@link LocalNotary} and its
+ * {@link ConcurrentIdentityMap}.
+ */
+public class LocalNotaryTest {
+
+  @Test
+  public void referencesAreResolvedInBothDirections() throws Exception {
+    LocalNotary notary = new LocalNotary();
+    Reference r = Reference.from("abs://notary-a");
+    Object o = new Object();
+    notary.add(r, o);
+    assertThat(notary.get(r)).isSameAs(o);
+    assertThat(notary.get(o)).isSameAs(r);
+    assertThat(notary.identify(Reference.from("abs://notary-a"))).isSameAs(r);
+    assertThat(notary.size()).isEqualTo(1L);
+  }
+
+  @Test
+  public void removalCleansBothDirections() throws Exception {
+    LocalNotary notary = new LocalNotary();
+    Reference r = Reference.from("abs://notary-b");
+    Object o = new Object();
+    notary.add(r, o);
+    assertThat(notary.remove(Reference.from("abs://notary-b"))).isTrue();
+    assertThat(notary.get(r)).isNull();
+    assertThat(notary.get(o)).isNull();
+    assertThat(notary.identify(r)).isNull();
+    assertThat(notary.remove(r)).isFalse();
+
+    // The same object can be registered again
+    Reference r2 = Reference.from("abs://notary-c");
+    notary.add(r2, o);
+    assertThat(notary.get(o)).isSameAs(r2);
+    assertThat(notary.size()).isEqualTo(1L);
+  }
+
+  @Test
+  public void identityMapKeepsEntriesAcrossResizes() throws Exception {
+    ConcurrentIdentityMap<Object, Integer> map = new ConcurrentIdentityMap<>(0);
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < 10_000; ++i) {
+      Object key = new Object();
+      keys.add(key);
+      assertThat(map.put(key, i)).isNull();
+    }
+    for (int i = 0; i < keys.size(); i += 2) {
+      assertThat(map.remove(keys.get(i))).isEqualTo(i);
+    }
+    assertThat(map.remove(keys.get(1), -1)).isFalse();
+    assertThat(map.size()).isEqualTo(5_000L);
+    for (int i = 0; i < keys.size(); ++i) {
+      assertThat(map.get(keys.get(i))).isEqualTo(i % 2 == 0 ? null : i);
+    }
+    // Equal but not identical keys are different
+    assertThat(map.get(new Object())).isNull();
+  }
+
+  @Test
+  public void concurrentRegistrationsAndRemovals() throws Exception {
+    final LocalNotary notary = new LocalNotary();
+    final int threads = 8;
+    final int size = 10_000;
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicInteger failures = new AtomicInteger();
+    for (int t = 0; t < threads; ++t) {
+      final int id = t;
+      new Thread(() -> {
+        try {
+          for (int i = 0; i < size; ++i) {
+            Reference r = Reference.from("abs://notary-" + id + "-" + i);
+            Object o = new Object();
+            notary.add(r, o);
+            if (notary.get(o) != r || notary.get(r) != o) {
+              failures.incrementAndGet();
+            }
+            if (i % 2 == 0 && (!notary.remove(r) || notary.get(o) != null)) {
+              failures.incrementAndGet();
+            }
+          }
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+    assertThat(failures.get()).isEqualTo(0);
+    assertThat(notary.size()).isEqualTo((long) threads * size / 2);
+  }
+
+}
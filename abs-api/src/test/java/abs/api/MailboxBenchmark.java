@@ -0,0 +1,83 @@
+package abs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the throughput of the {@link Mailbox}
+ * implementations with 1, 8 and 64 producers and a single
+ * consumer.
+ *
+ * <pre>
+ * java abs.api.MailboxBenchmark [envelopes-per-run]
+ * </pre>
+ */
+public class MailboxBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    final int envelopes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    final Reference receiver = Reference.from("abs://receiver");
+    for (int producers : new int[] {1, 8, 64}) {
+      final List<Envelope[]> batches = new ArrayList<>(producers);
+      for (int p = 0; p < producers; ++p) {
+        final Reference sender = Reference.from("abs://sender-" + p);
+        final Envelope[] batch = new Envelope[envelopes / producers];
+        for (int i = 0; i < batch.length; ++i) {
+          batch[i] = new SimpleEnvelope(sender, receiver, i);
+        }
+        batches.add(batch);
+      }
+      report("lockFree", producers, batches, Mailbox::lockFree);
+      report("sequenced", producers, batches, Mailbox::sequenced);
+    }
+  }
+
+  static void report(String name, int producers, List<Envelope[]> batches,
+      Supplier<Mailbox> mailbox) throws Exception {
+    // Warm up once and then measure
+    run(mailbox.get(), batches);
+    final long elapsed = run(mailbox.get(), batches);
+    final long total = (long) producers * batches.get(0).length;
+    System.out.println(String.format("%-10s producers=%-3d %,.0f envelopes/s", name, producers,
+        (double) total / elapsed * TimeUnit.SECONDS.toNanos(1)));
+  }
+
+  static long run(final Mailbox mailbox, List<Envelope[]> batches) throws Exception {
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(batches.size());
+    long total = 0;
+    for (final Envelope[] batch : batches) {
+      total += batch.length;
+      Thread t = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (Envelope e : batch) {
+          mailbox.offer(e);
+        }
+      });
+      t.start();
+      threads.add(t);
+    }
+    final long t0 = System.nanoTime();
+    start.countDown();
+    for (long received = 0; received < total;) {
+      if (mailbox.poll() == null) {
+        Thread.yield();
+      } else {
+        received++;
+      }
+    }
+    final long elapsed = System.nanoTime() - t0;
+    for (Thread t : threads) {
+      t.join();
+    }
+    return elapsed;
+  }
+
+}
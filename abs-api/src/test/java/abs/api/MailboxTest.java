@@ -0,0 +1,113 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.gen5.api.Test;
+
+import abs.api.ContextActor.LocalContextActor;
+
+/**
+ * Tests around {@link Mailbox} implementations.
+ */
+public class MailboxTest {
+
+  private final Reference receiver = Reference.from("abs://receiver");
+
+  @Test
+  public void lockFreeMailboxIsFifo() throws Exception {
+    Mailbox mailbox = Mailbox.lockFree();
+    assertThat(mailbox.isEmpty()).isTrue();
+    assertThat(mailbox.poll()).isNull();
+    Envelope e1 = new SimpleEnvelope(null, receiver, "1");
+    Envelope e2 = new SimpleEnvelope(null, receiver, "2");
+    mailbox.offer(e2);
+    mailbox.offer(e1);
+    assertThat(mailbox.size()).isEqualTo(2);
+    assertThat(mailbox.peek()).isSameAs(e2);
+    assertThat(mailbox.poll()).isSameAs(e2);
+    assertThat(mailbox.poll()).isSameAs(e1);
+    assertThat(mailbox.poll()).isNull();
+    assertThat(mailbox.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void sequencedMailboxOrdersBySequence() throws Exception {
+    Mailbox mailbox = Mailbox.sequenced();
+    Reference sender = new LocalContextActor(Reference.from("abs://sender"), null);
+    Envelope e1 = new SimpleEnvelope(sender, receiver, "1");
+    Envelope e2 = new SimpleEnvelope(sender, receiver, "2");
+    mailbox.offer(e2);
+    mailbox.offer(e1);
+    assertThat(mailbox.poll()).isSameAs(e1);
+    assertThat(mailbox.poll()).isSameAs(e2);
+  }
+
+  @Test
+  public void sequencedMailboxOrdersSendersByArrival() throws Exception {
+    Mailbox mailbox = Mailbox.sequenced();
+    Reference heavy = new LocalContextActor(Reference.from("abs://heavy"), null);
+    Reference light = new LocalContextActor(Reference.from("abs://light"), null);
+    for (int i = 0; i < 10; ++i) {
+      new SimpleEnvelope(heavy, receiver, "earlier");
+    }
+    Envelope e1 = new SimpleEnvelope(heavy, receiver, "1");
+    Envelope e2 = new SimpleEnvelope(light, receiver, "2");
+    Envelope e3 = new SimpleEnvelope(null, receiver, "3");
+    mailbox.offer(e1);
+    mailbox.offer(e2);
+    mailbox.offer(e3);
+    assertThat(mailbox.poll()).isSameAs(e1);
+    assertThat(mailbox.poll()).isSameAs(e2);
+    assertThat(mailbox.poll()).isSameAs(e3);
+  }
+
+  @Test
+  public void lockFreeMailboxKeepsTheOrderOfEveryProducer() throws Exception {
+    final Mailbox mailbox = Mailbox.lockFree();
+    final int producers = 8;
+    final int size = 10_000;
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; ++p) {
+      final Reference sender = Reference.from("abs://sender-" + p);
+      Thread t = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < size; ++i) {
+          mailbox.offer(new SimpleEnvelope(sender, receiver, i));
+        }
+      });
+      t.start();
+      threads.add(t);
+    }
+    start.countDown();
+    final Map<Reference, Integer> last = new HashMap<>();
+    int received = 0;
+    while (received < producers * size) {
+      Envelope e = mailbox.poll();
+      if (e == null) {
+        Thread.yield();
+        continue;
+      }
+      Integer previous = last.put(e.from(), (Integer) e.message());
+      if (previous != null) {
+        assertThat((Integer) e.message()).isGreaterThan(previous);
+      }
+      received++;
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertThat(mailbox.isEmpty()).isTrue();
+  }
+
+}
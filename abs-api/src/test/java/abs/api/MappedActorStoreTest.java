@@ -0,0 +1,239 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around spilling actors to a {@link MappedActorStore}.
+ */
+public class MappedActorStoreTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Account implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private long balance = 0;
+
+    Long deposit(long amount) {
+      balance += amount;
+      return balance;
+    }
+
+    @Handles
+    Long deposit(Deposit deposit) {
+      return deposit(deposit.amount);
+    }
+  }
+
+  static class Deposit {
+    private final long amount;
+
+    Deposit(long amount) {
+      this.amount = amount;
+    }
+  }
+
+  /**
+   * Asks for one eviction once it is armed.
+   */
+  static class OneEviction extends MappedActorStore {
+    private final AtomicBoolean armed = new AtomicBoolean();
+
+    OneEviction(Path file, Eviction eviction) throws Exception {
+      super(file, eviction, 1);
+    }
+
+    @Override
+    public int excess(int resident) {
+      return armed.compareAndSet(true, false) ? 1 : 0;
+    }
+  }
+
+  @Test
+  public void spilledActorsAreReloadedWithTheirState() throws Exception {
+    final MappedActorStore store = new MappedActorStore(tempFile(), Passivator.Eviction.LRU, 1);
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(20), store).buildContext();
+    final Actor actor = context.newActor("account", new Account());
+    assertThat(context.<Long>send(actor, new Deposit(10)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(10L);
+    awaitSpills(store, 1);
+    assertThat(context.notary().get(actor)).isNull();
+
+    final List<Response<Long>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      responses.add(context.send(actor, new Deposit(1)));
+    }
+    for (int i = 0; i < responses.size(); ++i) {
+      assertThat(responses.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(11L + i);
+    }
+    assertThat(store.getReloads()).isEqualTo(1L);
+    assertThat(store.getMisses()).isEqualTo(1L);
+    assertThat(store.getHits()).isGreaterThan(0L);
+    context.stop();
+    store.close();
+  }
+
+  @Test
+  public void capturedReceiversSeeTheReloadedActor() throws Exception {
+    final MappedActorStore store = new MappedActorStore(tempFile(), Passivator.Eviction.LRU, 1);
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(20), store).buildContext();
+    final Account account = new Account();
+    final Actor actor = context.newActor("captured", account);
+    context.send(actor, (Callable<Long>) () -> account.deposit(10)).get(10, TimeUnit.SECONDS);
+    awaitSpills(store, 1);
+    assertThat(context.notary().get(actor)).isNull();
+
+    final List<Response<Long>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      responses.add(context.send(actor, (Callable<Long>) () -> account.deposit(1)));
+    }
+    for (int i = 0; i < responses.size(); ++i) {
+      assertThat(responses.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(11L + i);
+    }
+    // The captured receiver and the handler of the actor share
+    // one state
+    assertThat(context.<Long>send(actor, new Deposit(1)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(21L);
+    assertThat(context.<Account>object(actor)).isSameAs(account);
+    assertThat(store.getReloads()).isEqualTo(1L);
+    context.stop();
+    store.close();
+  }
+
+  @Test
+  public void segmentsAreReusedOnceTheirActorsAreReloaded() throws Exception {
+    final MappedActorStore store =
+        new MappedActorStore(tempFile(), Passivator.Eviction.LRU, 1, 4096);
+    final Reference reference = Reference.from("abs://segment");
+    Account account = new Account();
+    for (int i = 0; i < 1_000; ++i) {
+      account.deposit(1);
+      assertThat(store.passivate(reference, account)).isTrue();
+      account = (Account) store.activate(reference);
+      assertThat(account.balance).isEqualTo(i + 1L);
+    }
+    assertThat(store.getMappedBytes()).isEqualTo(4096L);
+
+    // Not serializable or too large: kept in memory
+    assertThat(store.passivate(reference, new Object())).isFalse();
+    assertThat(store.passivate(reference, new long[1024])).isFalse();
+    assertThat(store.activate(reference)).isNull();
+    assertThat(store.size()).isEqualTo(0);
+    store.close();
+  }
+
+  @Test
+  public void concurrentActivationsReloadAnActorOnce() throws Exception {
+    final AtomicInteger activations = new AtomicInteger();
+    final MappedActorStore store =
+        new MappedActorStore(tempFile(), Passivator.Eviction.LRU, 1) {
+          @Override
+          public Object activate(Reference reference) {
+            activations.incrementAndGet();
+            try {
+              Thread.sleep(50);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return super.activate(reference);
+          }
+        };
+    final LocalContext context = (LocalContext) Configuration.newConfiguration()
+        .disableThreadManagement().withPassivation(Duration.ofMillis(20), store).buildContext();
+    final Actor actor = context.newActor("coalesced", new Account());
+    context.send(actor, (Runnable) () -> {
+    }).get(10, TimeUnit.SECONDS);
+    awaitSpills(store, 1);
+
+    // Lanes would serialize the activations of one receiver
+    final int threads = 4;
+    final List<Object> activated = new ArrayList<>();
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; ++t) {
+      new Thread(() -> {
+        try {
+          start.await();
+          Object object = context.activate(actor);
+          synchronized (activated) {
+            activated.add(object);
+          }
+        } catch (InterruptedException e) {
+          // Counted by the latch below
+          return;
+        }
+        done.countDown();
+      }).start();
+    }
+    start.countDown();
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(activations.get()).isEqualTo(1);
+    for (Object object : activated) {
+      assertThat(object).isSameAs(context.notary().get(actor));
+    }
+    context.stop();
+    store.close();
+  }
+
+  @Test
+  public void memoryPressureEvictsInTheOrderOfThePolicy() throws Exception {
+    for (Passivator.Eviction eviction : Passivator.Eviction.values()) {
+      final OneEviction store = new OneEviction(tempFile(), eviction);
+      final Context context = Configuration.newConfiguration().disableThreadManagement()
+          .withPassivation(Duration.ZERO, store).buildContext();
+      final ContextInbox inbox = (ContextInbox) context.inbox(null);
+      final Actor frequent = context.newActor("frequent-" + eviction, new Account());
+      final Actor recent = context.newActor("recent-" + eviction, new Account());
+      for (int i = 0; i < 10; ++i) {
+        context.send(frequent, (Runnable) () -> {
+        }).get(10, TimeUnit.SECONDS);
+      }
+      Thread.sleep(5);
+      context.send(recent, (Runnable) () -> {
+      }).get(10, TimeUnit.SECONDS);
+      Thread.sleep(5);
+
+      store.armed.set(true);
+      assertThat(inbox.passivateIdle()).isEqualTo(1);
+      final Actor evicted = eviction == Passivator.Eviction.LRU ? frequent : recent;
+      final Actor kept = evicted == frequent ? recent : frequent;
+      assertThat(context.notary().get(evicted)).isNull();
+      assertThat(context.notary().get(kept)).isNotNull();
+      context.stop();
+      store.close();
+    }
+  }
+
+  private static void awaitSpills(MappedActorStore store, int spills)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (store.getSpills() < spills && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(store.getSpills()).isEqualTo((long) spills);
+  }
+
+  private static Path tempFile() throws Exception {
+    final File file = File.createTempFile("jabs-store", ".bin");
+    file.deleteOnExit();
+    return file.toPath();
+  }
+
+}
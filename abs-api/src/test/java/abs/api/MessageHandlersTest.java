@@ -0,0 +1,149 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.gen5.api.Assertions.expectThrows;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around opening messages with {@link MessageHandlers}.
+ */
+public class MessageHandlersTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  interface Audited {
+  }
+
+  static class Deposit {
+    final long amount;
+
+    Deposit(long amount) {
+      this.amount = amount;
+    }
+  }
+
+  static class Bonus extends Deposit implements Audited {
+    Bonus(long amount) {
+      super(amount);
+    }
+  }
+
+  static class Audit implements Audited {
+  }
+
+  static class Account implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    long balance = 0;
+    int audits = 0;
+
+    @Handles
+    long deposit(Deposit deposit) {
+      balance += deposit.amount;
+      return balance;
+    }
+
+    @Handles
+    int audit(Audited audited) {
+      return ++audits;
+    }
+  }
+
+  static class Savings extends Account implements Behavior {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    long deposit(Deposit deposit) {
+      return super.deposit(new Deposit(deposit.amount * 2));
+    }
+
+    @Override
+    public Object respond(Object message) {
+      return "responded " + message;
+    }
+  }
+
+  static class Invalid implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    @Handles
+    void handle(Deposit deposit, Audit audit) {}
+  }
+
+  @Test
+  public void annotatedHandlersOpenMessagesByTheirClosestClass() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Account account = new Account();
+    final Actor actor = context.newActor("account", account);
+
+    assertThat(context.<Long>send(actor, new Deposit(10)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(10L);
+    // The superclass is closer than the interface
+    assertThat(context.<Long>send(actor, new Bonus(5)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(15L);
+    assertThat(context.<Integer>send(actor, new Audit()).get(10, TimeUnit.SECONDS))
+        .isEqualTo(1);
+    final ExecutionException e = expectThrows(ExecutionException.class,
+        () -> context.send(actor, "unknown").get(10, TimeUnit.SECONDS));
+    assertThat(e.getCause() instanceof IllegalArgumentException).isTrue();
+    assertThat(account.audits).isEqualTo(1);
+    context.stop();
+  }
+
+  @Test
+  public void overriddenHandlersAndBehaviorsOfSubclassesAreUsed() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final Actor actor = context.newActor("savings", new Savings());
+
+    assertThat(context.<Long>send(actor, new Deposit(10)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(20L);
+    assertThat(context.<Integer>send(actor, new Audit()).get(10, TimeUnit.SECONDS))
+        .isEqualTo(1);
+    assertThat(context.<String>send(actor, "hello").get(10, TimeUnit.SECONDS))
+        .isEqualTo("responded hello");
+    context.stop();
+  }
+
+  @Test
+  public void builtHandlersBecomeTheActorObject() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    final AtomicLong balance = new AtomicLong();
+    final Actor actor = context.newActor("built", MessageHandlers.newBuilder()
+        .on(Deposit.class, d -> balance.addAndGet(d.amount))
+        .on(Audited.class, a -> "audited " + balance.get())
+        .otherwise(message -> "otherwise " + message));
+
+    assertThat(context.<Long>send(actor, new Deposit(3)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(3L);
+    assertThat(context.<Long>send(actor, new Bonus(4)).get(10, TimeUnit.SECONDS))
+        .isEqualTo(7L);
+    assertThat(context.<String>send(actor, new Audit()).get(10, TimeUnit.SECONDS))
+        .isEqualTo("audited 7");
+    assertThat(context.<String>send(actor, 42).get(10, TimeUnit.SECONDS))
+        .isEqualTo("otherwise 42");
+    assertThat(context.<MessageHandlers>object(actor).types()).hasSize(2);
+    context.stop();
+  }
+
+  @Test
+  public void invalidHandlersAreRejected() throws Exception {
+    final Context context =
+        Configuration.newConfiguration().disableThreadManagement().buildContext();
+    expectThrows(IllegalArgumentException.class,
+        () -> context.newActor("invalid", new Invalid()));
+    expectThrows(IllegalArgumentException.class, () -> MessageHandlers.newBuilder()
+        .on(Deposit.class, d -> d).on(Deposit.class, d -> d));
+    context.stop();
+  }
+
+}
@@ -0,0 +1,86 @@
+package abs.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers and resolves many actors in a {@link LocalNotary}
+ * from many threads. Every thread registers its share of the
+ * actors and then resolves all of them in both directions. It
+ * reports the throughput of every phase and the heap that the
+ * notary retains per actor next to the references and objects.
+ *
+ * <pre>
+ * java -Xmx8g abs.api.NotaryBenchmark [actors] [threads]
+ * </pre>
+ */
+public class NotaryBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    final int actors = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    final int threads =
+        args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    final int share = actors / threads;
+
+    final Reference[][] refs = new Reference[threads][share];
+    final Object[][] objects = new Object[threads][share];
+    for (int t = 0; t < threads; ++t) {
+      for (int i = 0; i < share; ++i) {
+        refs[t][i] = Reference.from("abs://actor-" + t + "-" + i);
+        objects[t][i] = new Object();
+      }
+    }
+    final long heap0 = usedHeap();
+    final LocalNotary notary = new LocalNotary();
+
+    run("register", threads, share, (t, i) -> notary.add(refs[t][i], objects[t][i]));
+    final long heap1 = usedHeap();
+    run("resolve-object", threads, share, (t, i) -> {
+      if (notary.get(refs[t][i]) != objects[t][i]) {
+        throw new IllegalStateException("Unresolved: " + refs[t][i]);
+      }
+    });
+    run("resolve-reference", threads, share, (t, i) -> {
+      if (notary.get(objects[t][i]) != refs[t][i]) {
+        throw new IllegalStateException("Unresolved: " + refs[t][i]);
+      }
+    });
+    System.out.println(String.format("actors=%d threads=%d: %.1f bytes/actor retained",
+        (long) share * threads, threads, (double) (heap1 - heap0) / ((long) share * threads)));
+    run("remove", threads, share, (t, i) -> notary.remove(refs[t][i]));
+    System.out.println("size after remove: " + notary.size());
+  }
+
+  interface Op {
+    void apply(int thread, int index);
+  }
+
+  static void run(String name, int threads, int share, Op op) throws Exception {
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long t0 = System.nanoTime();
+    for (int t = 0; t < threads; ++t) {
+      final int id = t;
+      new Thread(() -> {
+        for (int i = 0; i < share; ++i) {
+          op.apply(id, i);
+        }
+        done.countDown();
+      }).start();
+    }
+    done.await();
+    final long elapsed = System.nanoTime() - t0;
+    final long total = (long) threads * share;
+    System.out.println(String.format("%s: %.0f ops/s", name,
+        (double) total / elapsed * TimeUnit.SECONDS.toNanos(1)));
+  }
+
+  static long usedHeap() throws InterruptedException {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
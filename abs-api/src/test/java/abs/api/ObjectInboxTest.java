@@ -0,0 +1,182 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around scheduling an {@link ObjectInbox}.
+ */
+public class ObjectInboxTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class CountingExecutor extends ThreadPoolExecutor {
+    private final AtomicInteger executions = new AtomicInteger(0);
+
+    CountingExecutor() {
+      super(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      executions.incrementAndGet();
+      super.execute(command);
+    }
+  }
+
+  static class Receiver implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  @Test
+  public void inboxIsScheduledOnceUntilItIsDrained() throws Exception {
+    final CountingExecutor executor = new CountingExecutor();
+    final Context context = Configuration.newConfiguration().withExecutorService(executor)
+        .disableThreadManagement().buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("inbox-receiver", receiver);
+    final ObjectInbox inbox = new ObjectInbox(receiver, executor);
+    inbox.bind(context);
+
+    // Keep the only executor thread busy
+    final CountDownLatch blocker = new CountDownLatch(1);
+    executor.submit(() -> {
+      blocker.await();
+      return null;
+    });
+    final int base = executor.executions.get();
+
+    final List<Envelope> envelopes = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      Envelope envelope = new SimpleEnvelope(Actor.NOBODY, actor, (Runnable) () -> {
+      });
+      envelopes.add(envelope);
+      inbox.post(envelope, receiver);
+      inbox.schedule();
+    }
+    assertThat(executor.executions.get() - base).isEqualTo(1);
+
+    blocker.countDown();
+    for (Envelope envelope : envelopes) {
+      envelope.response().get(10, TimeUnit.SECONDS);
+    }
+    while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+      Thread.sleep(1);
+    }
+    // Nothing more to run: no re-submission of an empty inbox
+    inbox.schedule();
+    assertThat(executor.executions.get() - base).isEqualTo(1);
+
+    Envelope envelope = new SimpleEnvelope(Actor.NOBODY, actor, (Runnable) () -> {
+    });
+    inbox.post(envelope, receiver);
+    inbox.schedule();
+    envelope.response().get(10, TimeUnit.SECONDS);
+    assertThat(executor.executions.get() - base).isEqualTo(2);
+  }
+
+  @Test
+  public void inboxYieldsItsThreadAfterItsThroughput() throws Exception {
+    final CountingExecutor executor = new CountingExecutor();
+    final Context context = Configuration.newConfiguration().withExecutorService(executor)
+        .disableThreadManagement().buildContext();
+    final Receiver receiver = new Receiver();
+    final Actor actor = context.newActor("throughput-receiver", receiver);
+    final ObjectInbox inbox = new ObjectInbox(receiver, executor, Mailbox.lockFree(), 3);
+    inbox.bind(context);
+
+    final CountDownLatch blocker = new CountDownLatch(1);
+    executor.submit(() -> {
+      blocker.await();
+      return null;
+    });
+    final int base = executor.executions.get();
+
+    final List<Envelope> envelopes = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      Envelope envelope = new SimpleEnvelope(Actor.NOBODY, actor, (Runnable) () -> {
+      });
+      envelopes.add(envelope);
+      inbox.post(envelope, receiver);
+    }
+    inbox.schedule();
+    blocker.countDown();
+    for (Envelope envelope : envelopes) {
+      envelope.response().get(10, TimeUnit.SECONDS);
+    }
+    // 10 envelopes in turns of at most 3
+    assertThat(executor.executions.get() - base).isEqualTo(4);
+  }
+
+  @Test
+  public void actorWithItsOwnThroughputProcessesAllMessagesInOrder() throws Exception {
+    final CountingExecutor executor = new CountingExecutor();
+    final Context context = Configuration.newConfiguration().withExecutorService(executor)
+        .disableThreadManagement().withThroughput(1000).buildContext();
+    final Receiver receiver = new Receiver();
+    context.newActor("own-throughput", receiver, ActorOptions.newOptions().withThroughput(1));
+    // Hold the only executor thread so that the messages queue up
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch released = new CountDownLatch(1);
+    context.send(receiver, (Runnable) () -> {
+      started.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    final int base = executor.executions.get();
+    final List<Integer> received = new ArrayList<>();
+    Response<Object> last = null;
+    for (int i = 0; i < 100; ++i) {
+      final int n = i;
+      last = context.send(receiver, (Runnable) () -> received.add(n));
+    }
+    released.countDown();
+    last.get(10, TimeUnit.SECONDS);
+    assertThat(received).hasSize(100);
+    for (int i = 0; i < 100; ++i) {
+      assertThat(received.get(i)).isEqualTo(i);
+    }
+    // A quota of one envelope takes a turn on the executor per
+    // envelope rather than one turn of the context's throughput
+    assertThat(executor.executions.get() - base).isGreaterThan(99);
+    context.stop();
+  }
+
+  @Test
+  public void onlyInboxesWithEnvelopesAreSubmitted() throws Exception {
+    final CountingExecutor executor = new CountingExecutor();
+    final Context context = Configuration.newConfiguration().withExecutorService(executor)
+        .disableThreadManagement().buildContext();
+    final List<Actor> actors = new ArrayList<>();
+    for (int i = 0; i < 10_000; ++i) {
+      actors.add(context.newActor("registered-" + i, new Receiver()));
+    }
+    final int base = executor.executions.get();
+    for (int i = 0; i < 10; ++i) {
+      context.send(actors.get(i * 1000), (Runnable) () -> {
+      }).get(10, TimeUnit.SECONDS);
+    }
+    assertThat(executor.executions.get() - base).isEqualTo(10);
+
+    // Idle inboxes are never visited again
+    Thread.sleep(50);
+    assertThat(executor.executions.get() - base).isEqualTo(10);
+    assertThat(((ContextInbox) context.inbox(null)).size()).isEqualTo(10);
+  }
+
+}
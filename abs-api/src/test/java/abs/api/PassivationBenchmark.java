@@ -0,0 +1,130 @@
+package abs.api;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap of many mostly-idle actors. Every actor
+ * receives one message and then stays idle; the benchmark
+ * reports the used heap per actor once all of them have an
+ * inbox, after their inboxes are passivated and, with a
+ * releasing {@link Passivator}, after the actor objects are
+ * released or spilled to a {@link MappedActorStore}. Finally, a
+ * share of the actors receives again to show the cost of
+ * re-materialization.
+ *
+ * <pre>
+ * java -Xmx4g abs.api.PassivationBenchmark [actors] [ttl-ms] [keep|release|store]
+ * </pre>
+ */
+public class PassivationBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Idle implements Actor {
+    private static final long serialVersionUID = 1L;
+    // Some state that a released actor gives back
+    private final long[] state = new long[4];
+  }
+
+  /**
+   * Keeps no released object; an activation creates a new one.
+   */
+  static class Recreating implements Passivator {
+    private final Map<Reference, Boolean> released = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean passivate(Reference reference, Object object) {
+      released.put(reference, Boolean.TRUE);
+      return true;
+    }
+
+    @Override
+    public Object activate(Reference reference) {
+      return released.remove(reference) == null ? null : new Idle();
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int actors = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    final long ttl = args.length > 1 ? Long.parseLong(args[1]) : 30_000;
+    final String mode = args.length > 2 ? args[2] : "keep";
+    final Passivator passivator;
+    if ("release".equals(mode)) {
+      passivator = new Recreating();
+    } else if ("store".equals(mode)) {
+      final Path file = Files.createTempFile("jabs-store", ".bin");
+      file.toFile().deleteOnExit();
+      passivator = new MappedActorStore(file, Passivator.Eviction.LRU, 1);
+    } else {
+      passivator = Passivator.NONE;
+    }
+
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(ttl), passivator).buildContext();
+    final ContextInbox inbox = (ContextInbox) context.inbox(null);
+    final Actor[] refs = new Actor[actors];
+    final long heap0 = usedHeap();
+    for (int i = 0; i < actors; ++i) {
+      refs[i] = context.newActor("idle-" + i, new Idle());
+    }
+    final long heap1 = usedHeap();
+    report("registered", actors, heap1 - heap0);
+
+    final long t0 = System.nanoTime();
+    sendAll(context, refs, actors);
+    final long elapsed = System.nanoTime() - t0;
+    report("with inboxes", actors, usedHeap() - heap0);
+
+    while (inbox.size() > 0) {
+      Thread.sleep(ttl);
+    }
+    report("passivated (" + mode + ")", actors, usedHeap() - heap0);
+
+    final int share = actors / 10;
+    final long t1 = System.nanoTime();
+    sendAll(context, refs, share);
+    final long reactivated = System.nanoTime() - t1;
+    System.out.println(String.format(
+        "first message: %.0f ns/actor, after passivation: %.0f ns/actor (%d actors)",
+        (double) elapsed / actors, (double) reactivated / share, share));
+    if (passivator instanceof MappedActorStore) {
+      final MappedActorStore store = (MappedActorStore) passivator;
+      System.out.println(String.format("%s hit-rate=%.3f miss-rate=%.3f", store,
+          store.getHitRate(), store.getMissRate()));
+    }
+    System.exit(0);
+  }
+
+  static void sendAll(Context context, Actor[] refs, int count) throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(count);
+    for (int i = 0; i < count; ++i) {
+      context.tell(refs[i], (Runnable) done::countDown);
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+  }
+
+  static void report(String phase, int actors, long bytes) {
+    System.out.println(String.format("%s: %.1f MB, %.1f bytes/actor", phase,
+        bytes / 1024.0 / 1024.0, (double) bytes / actors));
+  }
+
+  static long usedHeap() throws InterruptedException {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
@@ -0,0 +1,204 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around passivation of idle actors.
+ */
+public class PassivationTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Counter implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private int count = 0;
+    private int unordered = 0;
+    private final int[] last = new int[16];
+
+    Integer increment() {
+      return ++count;
+    }
+
+    boolean next(int sender, int sequence) {
+      final boolean ordered = sequence == last[sender] + 1;
+      if (!ordered) {
+        unordered++;
+      }
+      last[sender] = sequence;
+      count++;
+      return ordered;
+    }
+  }
+
+  static class StashingPassivator implements Passivator {
+    private final Map<Reference, Object> stash = new ConcurrentHashMap<>();
+    private final AtomicInteger activations = new AtomicInteger();
+
+    @Override
+    public boolean passivate(Reference reference, Object object) {
+      stash.put(reference, object);
+      return true;
+    }
+
+    @Override
+    public Object activate(Reference reference) {
+      activations.incrementAndGet();
+      return stash.remove(reference);
+    }
+  }
+
+  @Test
+  public void idleInboxesArePassivatedAndCreatedAgain() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(20)).buildContext();
+    final ContextInbox inbox = (ContextInbox) context.inbox(null);
+    final List<Actor> actors = new ArrayList<>();
+    final List<Counter> counters = new ArrayList<>();
+    for (int i = 0; i < 100; ++i) {
+      Counter counter = new Counter();
+      counters.add(counter);
+      actors.add(context.newActor("idle-" + i, counter));
+    }
+    for (int i = 0; i < actors.size(); ++i) {
+      Counter counter = counters.get(i);
+      context.send(actors.get(i), (Callable<Integer>) counter::increment).get(10,
+          TimeUnit.SECONDS);
+    }
+    awaitPassivation(inbox);
+
+    // The actors are kept and receive again
+    for (int i = 0; i < actors.size(); ++i) {
+      Counter counter = counters.get(i);
+      assertThat(context.object(actors.get(i))).isSameAs(counter);
+      Integer count = context.<Integer>send(actors.get(i), (Callable<Integer>) counter::increment)
+          .get(10, TimeUnit.SECONDS);
+      assertThat(count).isEqualTo(2);
+    }
+    context.stop();
+  }
+
+  @Test
+  public void releasedActorsAreActivatedOnTheNextMessage() throws Exception {
+    final StashingPassivator passivator = new StashingPassivator();
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(20), passivator).buildContext();
+    final ContextInbox inbox = (ContextInbox) context.inbox(null);
+    final Counter counter = new Counter();
+    final Actor actor = context.newActor("released", counter);
+    context.send(actor, (Callable<Integer>) counter::increment).get(10, TimeUnit.SECONDS);
+    awaitPassivation(inbox);
+    assertThat(context.notary().get(actor)).isNull();
+
+    final List<Response<Integer>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      responses.add(context.send(actor, (Callable<Integer>) counter::increment));
+    }
+    for (int i = 0; i < responses.size(); ++i) {
+      assertThat(responses.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i + 2);
+    }
+    assertThat(passivator.activations.get()).isEqualTo(1);
+    assertThat(context.notary().get(actor)).isSameAs(counter);
+    context.stop();
+  }
+
+  @Test
+  public void envelopesRacingWithPassivationAreKeptInOrder() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withPassivation(Duration.ofMillis(1)).buildContext();
+    final ContextInbox inbox = (ContextInbox) context.inbox(null);
+    final int receivers = 8;
+    final List<Actor> actors = new ArrayList<>();
+    final List<Counter> counters = new ArrayList<>();
+    for (int i = 0; i < receivers; ++i) {
+      Counter counter = new Counter();
+      counters.add(counter);
+      actors.add(context.newActor("racing-" + i, counter));
+    }
+
+    // Passivate as often as possible next to the senders
+    final AtomicBoolean sending = new AtomicBoolean(true);
+    final Thread passivating = new Thread(() -> {
+      while (sending.get()) {
+        inbox.passivateIdle();
+      }
+    });
+    passivating.start();
+
+    final int senders = 4;
+    final int messages = 5_000;
+    final AtomicInteger failures = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(senders);
+    for (int s = 0; s < senders; ++s) {
+      final int sender = s;
+      new Thread(() -> {
+        try {
+          List<Response<Boolean>> last = new ArrayList<>();
+          for (int i = 1; i <= messages; ++i) {
+            final int sequence = i;
+            last.clear();
+            for (int r = 0; r < receivers; ++r) {
+              final Counter counter = counters.get(r);
+              last.add(context.send(actors.get(r),
+                  (Callable<Boolean>) () -> counter.next(sender, sequence)));
+            }
+            if (i % 100 == 0) {
+              // Let the receivers go idle
+              for (Response<Boolean> response : last) {
+                response.get(10, TimeUnit.SECONDS);
+              }
+              Thread.sleep(2);
+            }
+          }
+        } catch (Exception e) {
+          failures.incrementAndGet();
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    assertThat(done.await(1, TimeUnit.MINUTES)).isTrue();
+
+    // All envelopes are processed once and in the order of their
+    // sender
+    for (int r = 0; r < receivers; ++r) {
+      final Counter counter = counters.get(r);
+      final int[] sequences = context
+          .<int[]>send(actors.get(r), (Callable<int[]>) () -> counter.last.clone())
+          .get(10, TimeUnit.SECONDS);
+      for (int s = 0; s < senders; ++s) {
+        assertThat(sequences[s]).isEqualTo(messages);
+      }
+      assertThat(counter.count).isEqualTo(senders * messages);
+      assertThat(counter.unordered).isEqualTo(0);
+    }
+    sending.set(false);
+    passivating.join();
+    assertThat(failures.get()).isEqualTo(0);
+    context.stop();
+  }
+
+  private static void awaitPassivation(ContextInbox inbox) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (inbox.size() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(inbox.size()).isEqualTo(0);
+  }
+
+}
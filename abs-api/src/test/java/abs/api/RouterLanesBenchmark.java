@@ -0,0 +1,84 @@
+package abs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the message throughput of a context for an
+ * increasing number of routing lanes. Every producer thread
+ * sends messages round-robin to a set of actors.
+ *
+ * <pre>
+ * java abs.api.RouterLanesBenchmark [producers] [actors] [messages-per-producer]
+ * </pre>
+ */
+public class RouterLanesBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Sink implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int cpus = Runtime.getRuntime().availableProcessors();
+    final int producers = args.length > 0 ? Integer.parseInt(args[0]) : cpus;
+    final int actors = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+    final int messages = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+    for (int lanes = 1; lanes <= Math.max(2 * cpus, 2); lanes *= 2) {
+      // Warm up once and then measure
+      run(lanes, producers, actors, messages / 10);
+      double throughput = run(lanes, producers, actors, messages);
+      System.out.println(String.format("lanes=%d producers=%d actors=%d: %.0f msg/s", lanes,
+          producers, actors, throughput));
+    }
+    System.exit(0);
+  }
+
+  static double run(int lanes, int producers, int actors, int messages) throws Exception {
+    final Context context = Configuration.newConfiguration().withRoutingLanes(lanes)
+        .disableThreadManagement().buildContext();
+    final List<Sink> sinks = new ArrayList<>(actors);
+    for (int i = 0; i < actors; ++i) {
+      Sink sink = new Sink();
+      context.newActor("sink-" + lanes + "-" + i, sink);
+      sinks.add(sink);
+    }
+    final CountDownLatch done = new CountDownLatch(producers * messages);
+    final Runnable msg = done::countDown;
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(producers);
+    for (int p = 0; p < producers; ++p) {
+      final int offset = p;
+      Thread t = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < messages; ++i) {
+          context.send(sinks.get((offset + i) % actors), msg);
+        }
+      }, "producer-" + p);
+      t.start();
+      threads.add(t);
+    }
+    final long t0 = System.nanoTime();
+    start.countDown();
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    for (Thread t : threads) {
+      t.join();
+    }
+    context.stop();
+    return (double) producers * messages / elapsed * TimeUnit.SECONDS.toNanos(1);
+  }
+
+}
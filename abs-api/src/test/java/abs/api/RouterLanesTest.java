@@ -0,0 +1,133 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around ordered routing lanes.
+ */
+public class RouterLanesTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Recorder implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+    public void record(int i) {
+      received.add(i);
+    }
+  }
+
+  @Test
+  public void tasksWithTheSameKeyRunInOrder() throws Exception {
+    RouterLanes lanes = new RouterLanes(4);
+    final int size = 1000;
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch done = new CountDownLatch(size);
+    for (int i = 0; i < size; ++i) {
+      final int n = i;
+      lanes.execute(42, () -> {
+        order.add(n);
+        done.countDown();
+      });
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(order).hasSize(size);
+    assertThat(order).isStrictlyOrdered();
+    lanes.stop();
+  }
+
+  @Test
+  public void messagesToTheSameReceiverKeepTheirOrder() throws Exception {
+    Context context = Configuration.newConfiguration().withRoutingLanes(4).buildContext();
+    final Recorder recorder = new Recorder();
+    context.newActor("recorder", recorder);
+    final int size = 1000;
+    Response<Object> last = null;
+    for (int i = 0; i < size; ++i) {
+      final int n = i;
+      Runnable msg = () -> recorder.record(n);
+      last = context.send(recorder, msg);
+    }
+    last.get(10, TimeUnit.SECONDS);
+    assertThat(recorder.received).hasSize(size);
+    assertThat(recorder.received).isStrictlyOrdered();
+  }
+
+  @Test
+  public void multicastKeepsTheOrderWithEarlierMessages() throws Exception {
+    Context context = Configuration.newConfiguration().withRoutingLanes(4).buildContext();
+    final Recorder recorder = new Recorder();
+    context.newActor("multicast-recorder", recorder);
+    final List<Recorder> receivers = Arrays.asList(recorder, recorder);
+    final int size = 1000;
+    final List<Integer> expected = new ArrayList<>();
+    Response<List<Object>> last = null;
+    for (int i = 1; i <= size; ++i) {
+      final int n = i;
+      context.send(recorder, (Runnable) () -> recorder.record(-n));
+      last = context.multicast(receivers, (Runnable) () -> recorder.record(n));
+      expected.addAll(Arrays.asList(-n, n, n));
+    }
+    assertThat(last.get(10, TimeUnit.SECONDS)).hasSize(receivers.size());
+    assertThat(recorder.received).containsExactlyElementsIn(expected).inOrder();
+  }
+
+  @Test
+  public void directRoutingRoutesOnTheSendingContextThread() throws Exception {
+    final AtomicInteger direct = new AtomicInteger(0);
+    final Router router = new LocalRouter() {
+      @Override
+      public void route(Envelope envelope) {
+        if (Thread.currentThread() instanceof ContextThread) {
+          direct.incrementAndGet();
+        }
+        super.route(envelope);
+      }
+    };
+    Context context = Configuration.newConfiguration().withEnvelopeRouter(router)
+        .withRoutingLanes(2).enableDirectRouting().buildContext();
+    // The lane of the sender is busy until the burst is routed;
+    // the receiver needs a lane of its own to stay idle.
+    final RouterLanes lanes = new RouterLanes(2);
+    final int senderLane = lanes.index(ReferenceFactory.DEFAULT.create("sender").name().hashCode());
+    String name = "recorder";
+    for (int i = 0; lanes.index(ReferenceFactory.DEFAULT.create(name).name().hashCode()) == senderLane; ++i) {
+      name = "recorder-" + i;
+    }
+    final Recorder recorder = new Recorder();
+    context.newActor(name, recorder);
+    final Recorder sender = new Recorder();
+    context.newActor("sender", sender);
+    final int size = 1000;
+    Callable<Response<Object>> burst = () -> {
+      Response<Object> last = null;
+      for (int i = 0; i < size; ++i) {
+        final int n = i;
+        Runnable msg = () -> recorder.record(n);
+        last = sender.send(recorder, msg);
+      }
+      return last;
+    };
+    Response<Response<Object>> r = context.send(sender, burst);
+    r.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+    assertThat(direct.get()).isEqualTo(size);
+    assertThat(recorder.received).hasSize(size);
+    assertThat(recorder.received).isStrictlyOrdered();
+  }
+
+}
@@ -0,0 +1,94 @@
+package abs.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends to a small active share of many registered actors. An
+ * inbox is only submitted when it is signaled; thus, the cost
+ * of scheduling should follow the number of active actors and
+ * not the number of registered ones. It reports the throughput,
+ * the submissions to the executor per message and the number of
+ * inboxes for every number of registered actors; once with an
+ * active share of the registered actors and once with the same
+ * number of active actors.
+ *
+ * <pre>
+ * java -Xmx4g abs.api.SchedulingBenchmark [registered] [active-percent] [messages]
+ * </pre>
+ */
+public class SchedulingBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Idle implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int max = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    final int percent = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    final int messages = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+    for (int registered = max / 100; registered <= max; registered *= 10) {
+      run(registered, Math.max(1, registered * percent / 100), messages);
+    }
+    final int active = Math.max(1, max / 100 * percent / 100);
+    for (int registered = max / 100; registered <= max; registered *= 10) {
+      run(registered, active, messages);
+    }
+    System.exit(0);
+  }
+
+  static void run(int registered, int active, int messages) throws Exception {
+    final LongAdder submissions = new LongAdder();
+    final ExecutorService executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+        TimeUnit.SECONDS, new SynchronousQueue<>(),
+        Executors.defaultThreadFactory()) {
+      @Override
+      public void execute(Runnable command) {
+        submissions.increment();
+        super.execute(command);
+      }
+    };
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withExecutorService(executor).buildContext();
+    final Actor[] actors = new Actor[registered];
+    for (int i = 0; i < registered; ++i) {
+      actors[i] = context.newActor("idle-" + i, new Idle());
+    }
+    // Spread the active actors over all registered ones
+    final int stride = registered / active;
+
+    // Warm up once and then measure
+    send(context, actors, active, stride, messages / 10);
+    submissions.reset();
+    final long t0 = System.nanoTime();
+    send(context, actors, active, stride, messages);
+    final long elapsed = System.nanoTime() - t0;
+    System.out.println(String.format(
+        "registered=%d active=%d: %.0f msg/s, %.3f submissions/msg, %d inboxes", registered,
+        active, (double) messages / elapsed * TimeUnit.SECONDS.toNanos(1),
+        submissions.doubleValue() / messages, ((ContextInbox) context.inbox(null)).size()));
+    context.stop();
+  }
+
+  static void send(Context context, Actor[] actors, int active, int stride, int messages)
+      throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(messages);
+    final Runnable msg = done::countDown;
+    for (int i = 0; i < messages; ++i) {
+      context.tell(actors[(i % active) * stride], msg);
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+  }
+
+}
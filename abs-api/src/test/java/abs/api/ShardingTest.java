@@ -0,0 +1,103 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around running actors on the thread of their shard.
+ */
+public class ShardingTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Player implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    private final Set<Thread> threads = new HashSet<>();
+
+    void play(Player other, int left, CountDownLatch done) {
+      threads.add(Thread.currentThread());
+      if (left == 0) {
+        done.countDown();
+        return;
+      }
+      tell(other, (Runnable) () -> other.play(this, left - 1, done));
+    }
+  }
+
+  @Test
+  public void actorsRunOnTheThreadOfTheirShard() throws Exception {
+    final int shards = 4;
+    final LocalContext context = (LocalContext) Configuration.newConfiguration()
+        .disableThreadManagement().withSharding(shards).buildContext();
+    final int pairs = 16;
+    final List<Player> players = new ArrayList<>();
+    final List<Actor> actors = new ArrayList<>();
+    for (int i = 0; i < 2 * pairs; ++i) {
+      final Player player = new Player();
+      players.add(player);
+      actors.add(context.newActor("player-" + i, player));
+    }
+    final CountDownLatch done = new CountDownLatch(pairs);
+    for (int i = 0; i < pairs; ++i) {
+      final Player ping = players.get(2 * i);
+      final Player pong = players.get(2 * i + 1);
+      context.tell(ping, (Runnable) () -> ping.play(pong, 2_000, done));
+    }
+    assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+
+    // Actors of the same shard share one thread and no other
+    final Thread[] threads = new Thread[shards];
+    for (int i = 0; i < players.size(); ++i) {
+      final Set<Thread> used = players.get(i).threads;
+      assertThat(used.size()).isEqualTo(1);
+      final int shard = ShardedExecutor.shard(actors.get(i).name().hashCode(), shards);
+      final Thread t = used.iterator().next();
+      if (threads[shard] == null) {
+        threads[shard] = t;
+      }
+      assertThat(t).isSameAs(threads[shard]);
+    }
+    assertThat(new HashSet<>(Arrays.asList(threads)).size()).isGreaterThan(1);
+    context.stop();
+  }
+
+  @Test
+  public void messagesWithinAShardAreNotHandedOff() throws Exception {
+    final Configuration configuration =
+        Configuration.newConfiguration().disableThreadManagement().withSharding(2).build();
+    final ShardedExecutor executor = (ShardedExecutor) configuration.getExecutorService();
+    final Context context = new LocalContext(configuration);
+    final Player ping = new Player();
+    final Player pong = new Player();
+    final int shard = shard("ping", 2);
+    int i = 0;
+    while (shard("pong-" + i, 2) != shard) {
+      i++;
+    }
+    context.newActor("ping", ping);
+    context.newActor("pong-" + i, pong);
+    final CountDownLatch done = new CountDownLatch(1);
+    context.tell(ping, (Runnable) () -> ping.play(pong, 1_000, done));
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.getCrossSubmissions()).isEqualTo(0L);
+    assertThat(executor.getLocalSubmissions()).isGreaterThan(500L);
+    context.stop();
+  }
+
+  private static int shard(String name, int shards) {
+    return ShardedExecutor.shard(ReferenceFactory.DEFAULT.create(name).name().hashCode(), shards);
+  }
+
+}
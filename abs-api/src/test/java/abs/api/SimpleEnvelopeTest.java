@@ -0,0 +1,174 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.gen5.api.Assertions.expectThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around sequences, responses and pooling of
+ * {@link SimpleEnvelope}.
+ */
+public class SimpleEnvelopeTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  @Test
+  public void everySenderHasItsOwnSequence() throws Exception {
+    Context context = Configuration.newConfiguration().buildContext();
+    Reference s1 = context.newActor("sequence-sender-1", new Object());
+    Reference s2 = context.newActor("sequence-sender-2", new Object());
+    Reference r = context.newActor("sequence-receiver", new Object());
+
+    for (long i = 1; i <= 10; ++i) {
+      assertThat(new SimpleEnvelope(s1, r, "m").sequence()).isEqualTo(i);
+    }
+    assertThat(new SimpleEnvelope(s2, r, "m").sequence()).isEqualTo(1L);
+    assertThat(new AwaitEnvelope(s1, r, "m").sequence()).isEqualTo(11L);
+  }
+
+  @Test
+  public void envelopesWithoutSenderUseTheSequenceOfTheirThread() throws Exception {
+    Reference r = Reference.from("abs://sequence-receiver");
+    long first = new SimpleEnvelope(null, r, "m").sequence();
+    assertThat(new SimpleEnvelope(null, r, "m").sequence()).isEqualTo(first + 1);
+
+    final AtomicLong other = new AtomicLong();
+    Thread t = new Thread(() -> other.set(new SimpleEnvelope(null, r, "m").sequence()));
+    t.start();
+    t.join();
+    assertThat(other.get()).isEqualTo(1L);
+    assertThat(new SimpleEnvelope(null, r, "m").sequence()).isEqualTo(first + 2);
+  }
+
+  @Test
+  public void responseIsCompletedWithTheOutcomeIfRequestedLate() throws Exception {
+    Reference r = Reference.from("abs://response-receiver");
+    SimpleEnvelope ok = new SimpleEnvelope(null, r, "m");
+    ok.complete("done", null);
+    assertThat(ok.<String>response().getValue()).isEqualTo("done");
+
+    SimpleEnvelope failed = new SimpleEnvelope(null, r, "m");
+    failed.complete(null, new IllegalStateException("failed"));
+    assertThat(failed.response().isCompletedExceptionally()).isTrue();
+
+    SimpleEnvelope early = new SimpleEnvelope(null, r, "m");
+    Response<Object> response = early.response();
+    early.complete(null, null);
+    assertThat(response.isDone()).isTrue();
+    assertThat(early.response()).isSameAs(response);
+  }
+
+  @Test
+  public void oneWayEnvelopeDropsTheOutcome() throws Exception {
+    Reference r = Reference.from("abs://one-way-receiver");
+    SimpleEnvelope e = new SimpleEnvelope(null, r, "m", true);
+    assertThat(e.isOneWay()).isTrue();
+    assertThat(SimpleEnvelope.<Object>requestedResponse(e)).isNull();
+    e.complete("done", null);
+    Response<Object> response = e.response();
+    assertThat(response.isDone()).isTrue();
+    assertThat(response.getValue()).isNull();
+  }
+
+  @Test
+  public void onlyPooledEnvelopesAreRecycled() throws Exception {
+    Reference r = Reference.from("abs://pooled-receiver");
+    SimpleEnvelope e = SimpleEnvelope.pooled(null, r, "m", false);
+    e.recycle();
+    assertThat(e.to()).isNull();
+    SimpleEnvelope next = SimpleEnvelope.pooled(null, r, "n", false);
+    assertThat(next).isSameAs(e);
+    assertThat(next.message()).isEqualTo("n");
+
+    SimpleEnvelope plain = new SimpleEnvelope(null, r, "m");
+    plain.recycle();
+    assertThat(plain.to()).isEqualTo(r);
+  }
+
+  @Test
+  public void pooledContextCompletesEveryResponse() throws Exception {
+    Context context =
+        Configuration.newConfiguration().enableEnvelopePooling().buildContext();
+    Object receiver = new Object();
+    context.newActor("pooled-context-receiver", receiver);
+    final int messages = 10_000;
+    final CountDownLatch done = new CountDownLatch(messages);
+    final AtomicLong sum = new AtomicLong();
+    for (int i = 0; i < messages; ++i) {
+      final long value = i;
+      Response<Long> response = context.send(receiver, (Callable<Long>) () -> value);
+      response.thenAccept(v -> {
+        sum.addAndGet(v);
+        done.countDown();
+      });
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(sum.get()).isEqualTo((long) messages * (messages - 1) / 2);
+  }
+
+  @Test
+  public void lazyResponseKeepsTheOutcomeUntilItsFirstUse() throws Exception {
+    LazyResponse<String> ok = new LazyResponse<>();
+    assertThat(ok.isDone()).isFalse();
+    assertThat(ok.complete("done")).isTrue();
+    assertThat(ok.complete("again")).isFalse();
+    assertThat(ok.isDone()).isTrue();
+    assertThat(ok.isCompleted()).isTrue();
+    assertThat(ok.toCompletableFuture().get()).isEqualTo("done");
+    assertThat(ok.complete("again")).isFalse();
+
+    LazyResponse<String> failed = new LazyResponse<>();
+    failed.completeExceptionally(new IllegalStateException("failed"));
+    assertThat(failed.isCompletedExceptionally()).isTrue();
+    ExecutionException e = expectThrows(ExecutionException.class, () -> failed.get());
+    assertThat(e.getCause().getMessage()).isEqualTo("failed");
+
+    LazyResponse<String> used = new LazyResponse<>();
+    CompletableFuture<String> future = used.toCompletableFuture();
+    assertThat(used.complete("late")).isTrue();
+    assertThat(future.get()).isEqualTo("late");
+
+    LazyResponse<String> cancelled = new LazyResponse<>();
+    assertThat(cancelled.cancel(true)).isTrue();
+    assertThat(cancelled.isCancelled()).isTrue();
+  }
+
+  @Test
+  public void pooledContextCompletesEveryMulticast() throws Exception {
+    Context context =
+        Configuration.newConfiguration().enableEnvelopePooling().buildContext();
+    List<Object> receivers = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      Object receiver = new Object();
+      context.newActor("pooled-multicast-receiver-" + i, receiver);
+      receivers.add(receiver);
+    }
+    final AtomicInteger counter = new AtomicInteger();
+    Response<List<Integer>> ok = context.multicast(receivers,
+        (Callable<Integer>) counter::incrementAndGet);
+    List<Integer> values = ok.get(10, TimeUnit.SECONDS);
+    assertThat(values).hasSize(receivers.size());
+    assertThat(values).containsNoDuplicates();
+
+    Response<List<Object>> failed = context.multicast(receivers, (Callable<Object>) () -> {
+      throw new IllegalStateException("failed");
+    });
+    ExecutionException e = expectThrows(ExecutionException.class,
+        () -> failed.get(10, TimeUnit.SECONDS));
+    assertThat(e.getCause().getMessage()).isEqualTo("failed");
+  }
+
+}
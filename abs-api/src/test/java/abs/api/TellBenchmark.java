@@ -0,0 +1,101 @@
+package abs.api;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Actor#send(Object, Object)} with
+ * {@link Actor#tell(Object, Object)} when the sender never
+ * reads the response. Every sender is an actor that sends its
+ * messages to its own sink from its own envelope. Next to the
+ * throughput, it reports the bytes allocated by all threads per
+ * message.
+ *
+ * <pre>
+ * java abs.api.TellBenchmark [senders] [messages-per-sender] [rounds]
+ * </pre>
+ */
+public class TellBenchmark {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Sink implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  static class Sender implements Actor {
+    private static final long serialVersionUID = 1L;
+
+    void fire(Sink sink, int messages, CountDownLatch done, boolean tell) {
+      final Runnable msg = done::countDown;
+      for (int i = 0; i < messages; ++i) {
+        if (tell) {
+          tell(sink, msg);
+        } else {
+          send(sink, msg);
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int senders = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    final int messages = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    for (boolean tell : new boolean[] {false, true}) {
+      final Context context = Configuration.newConfiguration().disableThreadManagement()
+          .enableDirectRouting().buildContext();
+      // Warm up once and then measure
+      run(context, senders, messages / 10, threads, tell, false);
+      for (int i = 0; i < rounds; ++i) {
+        run(context, senders, messages, threads, tell, true);
+      }
+    }
+    System.exit(0);
+  }
+
+  static void run(Context context, int senders, int messages,
+      com.sun.management.ThreadMXBean threads, boolean tell, boolean report)
+      throws Exception {
+    final long id = System.nanoTime();
+    final List<Sender> actors = new ArrayList<>(senders);
+    final List<Sink> sinks = new ArrayList<>(senders);
+    for (int i = 0; i < senders; ++i) {
+      Sender sender = new Sender();
+      Sink sink = new Sink();
+      context.newActor("sender-" + id + "-" + i, sender);
+      context.newActor("sink-" + id + "-" + i, sink);
+      actors.add(sender);
+      sinks.add(sink);
+    }
+    final CountDownLatch done = new CountDownLatch(senders * messages);
+    final long bytes0 = AllocationBenchmark.allocated(threads);
+    final long t0 = System.nanoTime();
+    for (int i = 0; i < senders; ++i) {
+      final Sender sender = actors.get(i);
+      final Sink sink = sinks.get(i);
+      context.tell(sender, (Runnable) () -> sender.fire(sink, messages, done, tell));
+    }
+    if (!done.await(5, TimeUnit.MINUTES)) {
+      throw new IllegalStateException("Timed out: " + done.getCount() + " messages left");
+    }
+    final long elapsed = System.nanoTime() - t0;
+    final long bytes1 = AllocationBenchmark.allocated(threads);
+    final long total = (long) senders * messages;
+    if (report) {
+      System.out.println(String.format("%s messages=%d: %.0f msg/s, %.1f bytes/op",
+          tell ? "tell" : "send", total, (double) total / elapsed * TimeUnit.SECONDS.toNanos(1),
+          (double) (bytes1 - bytes0) / total));
+    }
+  }
+
+}
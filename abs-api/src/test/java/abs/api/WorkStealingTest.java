@@ -0,0 +1,144 @@
+package abs.api;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.gen5.api.Test;
+
+/**
+ * Tests around running actors on work-stealing worker deques.
+ */
+public class WorkStealingTest {
+
+  static {
+    System.setProperty(Configuration.PROPERTY_THREAD_MANAGEMENT, "false");
+  }
+
+  static class Relay implements Actor {
+    private static final long serialVersionUID = 1L;
+  }
+
+  @Test
+  public void anActorSignaledOnAWorkerRunsOnThatWorker() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withWorkStealing(2).buildContext();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch released = new CountDownLatch(1);
+    context.send(context.newActor("busy", new Relay()), (Runnable) () -> {
+      started.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // A chain of messages from actor to actor on the free worker
+    final int hops = 10;
+    final Actor[] relays = new Actor[hops];
+    for (int i = 0; i < hops; ++i) {
+      relays[i] = context.newActor("relay-" + i, new Relay());
+    }
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+    final List<Integer> queued = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(1);
+    context.send(relays[0], hop(relays, 0, threads, queued, done));
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    released.countDown();
+
+    assertThat(threads.size()).isEqualTo(hops);
+    assertThat(threads.get(0) instanceof ForkJoinWorkerThread).isTrue();
+    for (Thread t : threads) {
+      assertThat(t).isSameAs(threads.get(0));
+    }
+    // Every receiver is pushed onto the deque of its sender
+    for (Integer q : queued) {
+      assertThat(q).isEqualTo(1);
+    }
+    context.stop();
+  }
+
+  @Test
+  public void aBlockingActorDoesNotStarveTheWorkers() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withWorkStealing(1).buildContext();
+    final Actor caller = context.newActor("caller", new Relay());
+    final Actor callee = context.newActor("callee", new Relay());
+    final Response<Integer> response = context.send(caller, (Callable<Integer>) () -> {
+      Response<Integer> r = context.send(callee, (Callable<Integer>) () -> 42);
+      // Blocks the only worker until the callee runs
+      return r.getValue();
+    });
+    assertThat(response.get(10, TimeUnit.SECONDS)).isEqualTo(42);
+    context.stop();
+  }
+
+  @Test
+  public void workersKeepTheCurrentEnvelopeLikeContextThreads() throws Exception {
+    final Context context = Configuration.newConfiguration().disableThreadManagement()
+        .withWorkStealing(1).buildContext();
+    final Actor actor = context.newActor("worker", new Relay());
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+    final AtomicReference<Reference> to = new AtomicReference<>();
+    context.send(actor, (Runnable) () -> {
+      thread.set(Thread.currentThread());
+      to.set(ContextThread.currentEnvelope().to());
+    }).get(10, TimeUnit.SECONDS);
+    assertThat(thread.get() instanceof WorkStealingExecutor.Worker).isTrue();
+    assertThat(thread.get().getName().startsWith("jabs-")).isTrue();
+    assertThat(to.get().name()).isEqualTo(actor.name());
+    context.stop();
+  }
+
+  @Test
+  public void failuresOfTasksReachTheUncaughtExceptionHandler() throws Exception {
+    final WorkStealingExecutor executor = new WorkStealingExecutor(1, false);
+    final List<Throwable> failures = new CopyOnWriteArrayList<>();
+    final CountDownLatch failed = new CountDownLatch(2);
+    final Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler((t, e) -> {
+      failures.add(e);
+      failed.countDown();
+    });
+    try {
+      // Once from outside and once forked on the worker
+      executor.execute(() -> {
+        executor.execute(() -> {
+          throw new IllegalStateException("forked");
+        });
+        throw new IllegalStateException("submitted");
+      });
+      assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      Thread.setDefaultUncaughtExceptionHandler(handler);
+      executor.shutdownNow();
+    }
+    assertThat(failures).hasSize(2);
+    for (Throwable e : failures) {
+      assertThat(e instanceof IllegalStateException).isTrue();
+    }
+  }
+
+  private static Runnable hop(Actor[] relays, int i, List<Thread> threads,
+      List<Integer> queued, CountDownLatch done) {
+    return () -> {
+      threads.add(Thread.currentThread());
+      if (i + 1 == relays.length) {
+        done.countDown();
+        return;
+      }
+      relays[i].send(relays[i + 1], hop(relays, i + 1, threads, queued, done));
+      queued.add(ForkJoinTask.getQueuedTaskCount());
+    };
+  }
+
+}